@@ -21,7 +21,6 @@ import android.os.Bundle
 import java.io.IOException
 import java.util.HashMap
 import java.util.concurrent.ExecutorService
-import java.util.concurrent.Executors
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException
 import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableLocalReader
@@ -33,6 +32,7 @@ import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableState.Mon
 import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableState.MonitoringState.WAIT_FOR_START_DETECTION
 import org.eclipse.keyple.core.seproxy.plugin.reader.CardAbsentPingMonitoringJob
 import org.eclipse.keyple.core.seproxy.plugin.reader.ObservableReaderStateService
+import org.eclipse.keyple.core.seproxy.plugin.reader.ReaderMonitoringScheduler
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartRemovalMonitoringJob
 import org.eclipse.keyple.core.seproxy.plugin.reader.WaitForSeInsertion
 import org.eclipse.keyple.core.seproxy.plugin.reader.WaitForSeProcessing
@@ -119,7 +119,7 @@ internal object AndroidNfcReaderImpl : AbstractObservableLocalReader(AndroidNfcR
     init {
         Timber.i("Init NFC Reader")
 
-        executorService = Executors.newSingleThreadExecutor()
+        executorService = ReaderMonitoringScheduler.getDefault().executorService
 
         stateService = initStateService()
     }
@@ -138,7 +138,7 @@ internal object AndroidNfcReaderImpl : AbstractObservableLocalReader(AndroidNfcR
 
     private fun initWaitForRemoval(): WaitForSeRemoval {
         return if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) {
-            WaitForSeRemoval(this, CardAbsentPingMonitoringJob(this), executorService)
+            WaitForSeRemoval(this, CardAbsentPingMonitoringJob(this), ReaderMonitoringScheduler.getDefault().pollingExecutorService)
         } else {
             // this.waitForCardAbsentNative will only be used on API>= N
             WaitForSeRemoval(this, SmartRemovalMonitoringJob(this), executorService)
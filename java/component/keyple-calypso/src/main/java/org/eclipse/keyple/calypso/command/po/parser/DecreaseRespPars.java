@@ -85,9 +85,9 @@ public final class DecreaseRespPars extends AbstractPoResponseParser {
    * @return the new value
    */
   public int getNewValue() {
-    byte[] newValueBuffer = getApduResponse().getDataOut();
-    if (newValueBuffer.length == 3) {
-      return ByteArrayUtil.threeBytesToInt(newValueBuffer, 0);
+    ApduResponse response = getApduResponse();
+    if (response.getDataOutLength() == 3) {
+      return ByteArrayUtil.threeBytesToInt(response.getBytes(), 0);
     } else {
       throw new IllegalStateException(
           "No counter value available in response to the Decrease command.");
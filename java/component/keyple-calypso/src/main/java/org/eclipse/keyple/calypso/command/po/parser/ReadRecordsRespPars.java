@@ -91,8 +91,9 @@ public final class ReadRecordsRespPars extends AbstractPoResponseParser {
     if (((ReadRecordsCmdBuild) builder).getReadMode() == ReadRecordsCmdBuild.ReadMode.ONE_RECORD) {
       records.put(((ReadRecordsCmdBuild) builder).getFirstRecordNumber(), response.getDataOut());
     } else {
-      byte[] apdu = response.getDataOut();
-      int apduLen = apdu.length;
+      // the records are copied directly from the response buffer
+      byte[] apdu = response.getBytes();
+      int apduLen = response.getDataOutLength();
       int index = 0;
       while (apduLen > 0) {
         byte recordNb = apdu[index++];
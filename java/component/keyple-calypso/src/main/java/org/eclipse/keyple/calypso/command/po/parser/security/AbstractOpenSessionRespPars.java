@@ -93,9 +93,8 @@ public abstract class AbstractOpenSessionRespPars extends AbstractPoResponsePars
       AbstractOpenSessionCmdBuild<AbstractOpenSessionRespPars> builder,
       PoRevision revision) {
     super(response, builder);
-    byte[] dataOut = response.getDataOut();
-    if (dataOut.length > 0) {
-      this.secureSession = toSecureSession(dataOut);
+    if (response.getDataOutLength() > 0) {
+      this.secureSession = toSecureSession(response.getDataOut());
     }
   }
 
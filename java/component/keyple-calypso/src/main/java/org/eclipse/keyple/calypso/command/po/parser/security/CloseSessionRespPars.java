@@ -70,19 +70,19 @@ public final class CloseSessionRespPars extends AbstractPoResponseParser {
    */
   public CloseSessionRespPars(ApduResponse response, CloseSessionCmdBuild builder) {
     super(response, builder);
-    parse(response.getDataOut());
+    parse(response.getBytes(), response.getDataOutLength());
   }
 
-  private void parse(byte[] response) {
-    if (response.length == 8) {
+  private void parse(byte[] response, int length) {
+    if (length == 8) {
       signatureLo = Arrays.copyOfRange(response, 4, 8);
       postponedData = Arrays.copyOfRange(response, 1, 4);
-    } else if (response.length == 4) {
+    } else if (length == 4) {
       signatureLo = Arrays.copyOfRange(response, 0, 4);
     } else {
-      if (response.length != 0) {
+      if (length != 0) {
         throw new IllegalArgumentException(
-            "Unexpected length in response to CloseSecureSession command: " + response.length);
+            "Unexpected length in response to CloseSecureSession command: " + length);
       }
     }
   }
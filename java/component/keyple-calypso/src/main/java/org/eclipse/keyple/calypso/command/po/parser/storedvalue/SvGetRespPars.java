@@ -77,10 +77,12 @@ public final class SvGetRespPars extends AbstractPoResponseParser {
    */
   public SvGetRespPars(byte[] svCommandHeader, ApduResponse response, SvGetCmdBuild builder) {
     super(response, builder);
-    byte[] poResponse = response.getDataOut();
+    // the data is read in place, the log records share the response buffer
+    byte[] poResponse = response.getBytes();
+    int poResponseLength = response.getDataOutLength();
     // keep the command header
     this.svCommandHeader = svCommandHeader;
-    switch (poResponse.length) {
+    switch (poResponseLength) {
       case 0x21: /* Compatibility mode, Reload */
       case 0x1E: /* Compatibility mode, Debit or Undebit */
         challengeOut = new byte[2];
@@ -91,7 +93,7 @@ public final class SvGetRespPars extends AbstractPoResponseParser {
         challengeOut[0] = poResponse[6];
         challengeOut[1] = poResponse[7];
         balance = ByteArrayUtil.threeBytesSignedToInt(poResponse, 8);
-        if (poResponse.length == 0x21) {
+        if (poResponseLength == 0x21) {
           /* Reload */
           loadLog = new SvLoadLogRecord(poResponse, 11);
           debitLog = null;
@@ -104,9 +104,8 @@ public class SvUndebitRespPars extends AbstractPoResponseParser {
   public SvUndebitRespPars(ApduResponse response, SvUndebitCmdBuild builder) {
     super(response, builder);
     /* the permitted lengths are 0 (in session), 3 (not 3.2) or 6 (3.2) */
-    if (response.getDataOut().length != 0
-        && response.getDataOut().length != 3
-        && response.getDataOut().length != 6) {
+    int dataOutLength = response.getDataOutLength();
+    if (dataOutLength != 0 && dataOutLength != 3 && dataOutLength != 6) {
       throw new IllegalStateException("Bad length in response to SV Undebit command.");
     }
   }
@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.calypso.command.sam.builder.security;
 
+import java.util.List;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamCommandBuilder;
 import org.eclipse.keyple.calypso.command.sam.CalypsoSamCommand;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
@@ -18,8 +19,10 @@ import org.eclipse.keyple.calypso.command.sam.parser.security.DigestUpdateMultip
 import org.eclipse.keyple.core.seproxy.message.ApduResponse;
 
 /**
- * This class provides the dedicated constructor to build the SAM Digest Update Multiple APDU
+ * This class provides the dedicated constructors to build the SAM Digest Update Multiple APDU
  * command.
+ *
+ * <p>The incoming data is a sequence of digest buffers, each one preceded by its length byte.
  */
 public class DigestUpdateMultipleCmdBuild
     extends AbstractSamCommandBuilder<DigestUpdateMultipleRespPars> {
@@ -27,12 +30,16 @@ public class DigestUpdateMultipleCmdBuild
   /** The command. */
   private static final CalypsoSamCommand command = CalypsoSamCommand.DIGEST_UPDATE_MULTIPLE;
 
+  /** The maximum length of the incoming data */
+  public static final int MAX_DIGEST_DATA_LENGTH = 255;
+
   /**
    * Instantiates a new DigestUpdateMultipleCmdBuild.
    *
    * @param revision the revision
    * @param encryptedSession the encrypted session flag, true if encrypted
-   * @param digestData the digest data
+   * @param digestData the digest data, already formatted as a sequence of length/data blocks
+   * @throws IllegalArgumentException - if the digest data is null or has a length &gt; 255
    */
   public DigestUpdateMultipleCmdBuild(
       SamRevision revision, boolean encryptedSession, byte[] digestData) {
@@ -41,16 +48,61 @@ public class DigestUpdateMultipleCmdBuild
       this.defaultRevision = revision;
     }
     byte cla = this.defaultRevision.getClassByte();
-    byte p1 = (byte) 0x00;
+    byte p1 = (byte) 0x80;
     byte p2 = encryptedSession ? (byte) 0x80 : (byte) 0x00;
 
-    if (digestData == null || digestData.length > 255) {
+    if (digestData == null || digestData.length > MAX_DIGEST_DATA_LENGTH) {
       throw new IllegalArgumentException("Digest data null or too long!");
     }
 
     request = setApduRequest(cla, command, p1, p2, digestData, null);
   }
 
+  /**
+   * Instantiates a new DigestUpdateMultipleCmdBuild from a list of digest buffers.
+   *
+   * <p>Each buffer is preceded by its length in the resulting incoming data.
+   *
+   * @param revision the revision
+   * @param encryptedSession the encrypted session flag, true if encrypted
+   * @param digestDataList the digest buffers (PO commands and responses)
+   * @throws IllegalArgumentException - if the list is null or empty or if the resulting data has a
+   *     length &gt; 255
+   */
+  public DigestUpdateMultipleCmdBuild(
+      SamRevision revision, boolean encryptedSession, List<byte[]> digestDataList) {
+    this(revision, encryptedSession, formatDigestData(digestDataList));
+  }
+
+  /**
+   * Concatenates the provided digest buffers, each one preceded by its length.
+   *
+   * @param digestDataList the digest buffers
+   * @return the formatted digest data
+   * @throws IllegalArgumentException - if the list is null or empty or if the resulting data has a
+   *     length &gt; 255
+   */
+  private static byte[] formatDigestData(List<byte[]> digestDataList) {
+    if (digestDataList == null || digestDataList.isEmpty()) {
+      throw new IllegalArgumentException("Digest data list null or empty!");
+    }
+    int length = 0;
+    for (byte[] digestData : digestDataList) {
+      length += 1 + digestData.length;
+    }
+    if (length > MAX_DIGEST_DATA_LENGTH) {
+      throw new IllegalArgumentException("Digest data too long!");
+    }
+    byte[] formattedDigestData = new byte[length];
+    int offset = 0;
+    for (byte[] digestData : digestDataList) {
+      formattedDigestData[offset++] = (byte) digestData.length;
+      System.arraycopy(digestData, 0, formattedDigestData, offset, digestData.length);
+      offset += digestData.length;
+    }
+    return formattedDigestData;
+  }
+
   @Override
   public DigestUpdateMultipleRespPars createResponseParser(ApduResponse apduResponse) {
     return new DigestUpdateMultipleRespPars(apduResponse, this);
@@ -108,12 +108,6 @@ final class CalypsoPoUtils {
   public static final int SV_DEBIT_LOG_FILE_NB_REC = 3;
   public static final int SV_LOG_FILE_REC_LENGTH = 29;
 
-  private static byte[] poChallenge;
-  private static byte svKvc;
-  private static byte[] svGetHeader;
-  private static byte[] svGetData;
-  private static byte[] svOperationSignature;
-
   /** Private constructor */
   private CalypsoPoUtils() {}
 
@@ -356,21 +350,24 @@ final class CalypsoPoUtils {
 
   /**
    * Parses the response to a Get Challenge command received from the PO <br>
-   * The PO challenge value is stored in {@link CalypsoPoUtils} and made available through a
-   * dedicated getters for later use
+   * The PO challenge value is stored in the {@link PoTransactionContext} and made available
+   * through a dedicated getter for later use
    *
+   * @param poTransactionContext the context of the current transaction
    * @param poGetChallengeCmdBuild the Get Challenge command builder
    * @param apduResponse the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static PoGetChallengeRespPars updateCalypsoPoGetChallenge(
-      PoGetChallengeCmdBuild poGetChallengeCmdBuild, ApduResponse apduResponse) {
+      PoTransactionContext poTransactionContext,
+      PoGetChallengeCmdBuild poGetChallengeCmdBuild,
+      ApduResponse apduResponse) {
     PoGetChallengeRespPars poGetChallengeRespPars =
         poGetChallengeCmdBuild.createResponseParser(apduResponse);
 
     poGetChallengeRespPars.checkStatus();
 
-    poChallenge = apduResponse.getDataOut();
+    poTransactionContext.setPoChallenge(apduResponse.getDataOut());
 
     return poGetChallengeRespPars;
   }
@@ -410,16 +407,20 @@ final class CalypsoPoUtils {
   /**
    * Updates the {@link CalypsoPo} object with the response to an SV Get command received from the
    * PO <br>
-   * The SV Data values (KVC, command header, response data) are stored in {@link CalypsoPoUtils}
-   * and made available through a dedicated getters for later use<br>
+   * The SV Data values (KVC, command header, response data) are stored in the {@link
+   * PoTransactionContext} and made available through a dedicated getters for later use<br>
    *
    * @param calypsoPo the {@link CalypsoPo} object to update
+   * @param poTransactionContext the context of the current transaction
    * @param svGetCmdBuild the SV Get command builder
    * @param apduResponse the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static SvGetRespPars updateCalypsoPoSvGet(
-      CalypsoPo calypsoPo, SvGetCmdBuild svGetCmdBuild, ApduResponse apduResponse) {
+      CalypsoPo calypsoPo,
+      PoTransactionContext poTransactionContext,
+      SvGetCmdBuild svGetCmdBuild,
+      ApduResponse apduResponse) {
     SvGetRespPars svGetRespPars = svGetCmdBuild.createResponseParser(apduResponse);
 
     svGetRespPars.checkStatus();
@@ -430,9 +431,10 @@ final class CalypsoPoUtils {
         svGetRespPars.getLoadLog(),
         svGetRespPars.getDebitLog());
 
-    svKvc = svGetRespPars.getCurrentKVC();
-    svGetHeader = svGetRespPars.getSvGetCommandHeader();
-    svGetData = svGetRespPars.getApduResponse().getBytes();
+    poTransactionContext.setSvGetData(
+        svGetRespPars.getCurrentKVC(),
+        svGetRespPars.getSvGetCommandHeader(),
+        svGetRespPars.getApduResponse().getBytes());
 
     return svGetRespPars;
   }
@@ -442,12 +444,14 @@ final class CalypsoPoUtils {
    * the PO<br>
    * Keep the PO SV signature if any (command executed outside a secure session).
    *
+   * @param poTransactionContext the context of the current transaction
    * @param svOperationCmdBuild the SV Operation command builder (SvReloadCmdBuild, SvDebitCmdBuild
    *     or SvUndebitCmdBuild)
    * @param apduResponse the response received
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   private static AbstractPoResponseParser updateCalypsoPoSvOperation(
+      PoTransactionContext poTransactionContext,
       AbstractPoCommandBuilder<? extends AbstractPoResponseParser> svOperationCmdBuild,
       ApduResponse apduResponse) {
     AbstractPoResponseParser svOperationRespPars =
@@ -455,7 +459,8 @@ final class CalypsoPoUtils {
 
     svOperationRespPars.checkStatus();
 
-    svOperationSignature = svOperationRespPars.getApduResponse().getDataOut();
+    poTransactionContext.setSvOperationSignature(
+        svOperationRespPars.getApduResponse().getDataOut());
 
     return svOperationRespPars;
   }
@@ -613,12 +618,15 @@ final class CalypsoPoUtils {
    * Fills the CalypsoPo with the PO's response to a single command
    *
    * @param calypsoPo the {@link CalypsoPo} object to fill with the provided response from the PO
+   * @param poTransactionContext the context of the current transaction, receives the data not
+   *     stored in the {@link CalypsoPo}
    * @param commandBuilder the builder of the command that get the response
    * @param apduResponse the APDU response returned by the PO to the command
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   static AbstractPoResponseParser updateCalypsoPo(
       CalypsoPo calypsoPo,
+      PoTransactionContext poTransactionContext,
       AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder,
       ApduResponse apduResponse) {
     switch (commandBuilder.getCommandRef()) {
@@ -650,15 +658,17 @@ final class CalypsoPoUtils {
       case CLOSE_SESSION:
         return updateCalypsoPoCloseSession((CloseSessionCmdBuild) commandBuilder, apduResponse);
       case GET_CHALLENGE:
-        return updateCalypsoPoGetChallenge((PoGetChallengeCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoGetChallenge(
+            poTransactionContext, (PoGetChallengeCmdBuild) commandBuilder, apduResponse);
       case VERIFY_PIN:
         return updateCalypsoVerifyPin(calypsoPo, (VerifyPinCmdBuild) commandBuilder, apduResponse);
       case SV_GET:
-        return updateCalypsoPoSvGet(calypsoPo, (SvGetCmdBuild) commandBuilder, apduResponse);
+        return updateCalypsoPoSvGet(
+            calypsoPo, poTransactionContext, (SvGetCmdBuild) commandBuilder, apduResponse);
       case SV_RELOAD:
       case SV_DEBIT:
       case SV_UNDEBIT:
-        return updateCalypsoPoSvOperation(commandBuilder, apduResponse);
+        return updateCalypsoPoSvOperation(poTransactionContext, commandBuilder, apduResponse);
       case INVALIDATE:
       case REHABILITATE:
         return updateCalypsoInvalidateRehabilitate(commandBuilder, apduResponse);
@@ -676,12 +686,15 @@ final class CalypsoPoUtils {
    * Fills the CalypsoPo with the PO's responses to a list of commands
    *
    * @param calypsoPo the {@link CalypsoPo} object to fill with the provided response from the PO
+   * @param poTransactionContext the context of the current transaction, receives the data not
+   *     stored in the {@link CalypsoPo}
    * @param commandBuilders the list of builders that get the responses
    * @param apduResponses the APDU responses returned by the PO to all commands
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   static void updateCalypsoPo(
       CalypsoPo calypsoPo,
+      PoTransactionContext poTransactionContext,
       List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> commandBuilders,
       List<ApduResponse> apduResponses) {
     Iterator<ApduResponse> responseIterator = apduResponses.iterator();
@@ -690,7 +703,7 @@ final class CalypsoPoUtils {
       for (AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder :
           commandBuilders) {
         ApduResponse apduResponse = responseIterator.next();
-        updateCalypsoPo(calypsoPo, commandBuilder, apduResponse);
+        updateCalypsoPo(calypsoPo, poTransactionContext, commandBuilder, apduResponse);
       }
     }
   }
@@ -736,55 +749,4 @@ final class CalypsoPoUtils {
   static SelectFileCmdBuild prepareSelectFile(PoClass poClass, SelectFileControl selectControl) {
     return new SelectFileCmdBuild(poClass, selectControl);
   }
-
-  /**
-   * (package-private)<br>
-   * Gets the challenge received from the PO
-   *
-   * @return an array of bytes containing the challenge bytes (variable length according to the
-   *     revision of the PO). May be null if the challenge is not available.
-   */
-  static byte[] getPoChallenge() {
-    return poChallenge;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the SV KVC from the PO
-   *
-   * @return the SV KVC byte.
-   */
-  static byte getSvKvc() {
-    return svKvc;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the SV Get command header
-   *
-   * @return a byte array containing the SV Get command header.
-   */
-  static byte[] getSvGetHeader() {
-    return svGetHeader;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the SV Get command response data
-   *
-   * @return a byte array containing the SV Get command response data.
-   */
-  static byte[] getSvGetData() {
-    return svGetData;
-  }
-
-  /**
-   * (package-private)<br>
-   * Gets the last SV Operation signature (SV Reload, Debit or Undebit)
-   *
-   * @return a byte array containing the SV Operation signature or null if not available.
-   */
-  static byte[] getSvOperationSignature() {
-    return svOperationSignature;
-  }
 }
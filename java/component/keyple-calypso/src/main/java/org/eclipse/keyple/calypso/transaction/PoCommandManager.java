@@ -38,6 +38,12 @@ class PoCommandManager {
   private final List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poCommands =
       new ArrayList<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>>();
 
+  /**
+   * The position in the list of the first command to be executed after the closing of the secure
+   * session, -1 if no session end has been marked
+   */
+  private int sessionEndIndex = -1;
+
   private CalypsoPoCommand svLastCommand;
   private PoTransaction.SvSettings.Operation svOperation;
   private boolean svOperationComplete = false;
@@ -122,6 +128,46 @@ class PoCommandManager {
    */
   void notifyCommandsProcessed() {
     poCommands.clear();
+    sessionEndIndex = -1;
+  }
+
+  /**
+   * (package-private)<br>
+   * Marks the end of the secure session in the list of commands.
+   *
+   * <p>The commands added afterwards are intended to be executed after the closing of the secure
+   * session.
+   */
+  void markSessionEnd() {
+    sessionEndIndex = poCommands.size();
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the AbstractPoCommandBuilder list of the commands to be executed within the secure
+   *     session (all commands if no session end has been marked)
+   */
+  List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>>
+      getPoCommandBuildersBeforeSessionEnd() {
+    if (sessionEndIndex < 0) {
+      return poCommands;
+    }
+    return poCommands.subList(0, sessionEndIndex);
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the AbstractPoCommandBuilder list of the commands to be executed after the closing of
+   *     the secure session (empty if no session end has been marked)
+   */
+  List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>>
+      getPoCommandBuildersAfterSessionEnd() {
+    if (sessionEndIndex < 0) {
+      return new ArrayList<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>>();
+    }
+    return poCommands.subList(sessionEndIndex, poCommands.size());
   }
 
   /**
@@ -15,6 +15,7 @@ import static org.eclipse.keyple.calypso.transaction.PoTransaction.SessionSettin
 
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import org.eclipse.keyple.calypso.KeyReference;
 import org.eclipse.keyple.core.selection.SeResource;
 
@@ -43,6 +44,9 @@ public class PoSecuritySettings {
   private final KeyReference defaultPinCipheringKey;
   private final PoTransaction.SvSettings.LogRead svGetLogReadMode;
   private final PoTransaction.SvSettings.NegativeBalance svNegativeBalance;
+  private final ExecutorService digestExecutorService;
+  private final boolean digestUpdateMultipleEnabled;
+  private final SamChallengePrefetcher samChallengePrefetcher;
 
   public static final ModificationMode defaultSessionModificationMode = ModificationMode.ATOMIC;
   public static final RatificationMode defaultRatificationMode = RatificationMode.CLOSE_RATIFIED;
@@ -67,6 +71,13 @@ public class PoSecuritySettings {
     this.defaultPinCipheringKey = builder.defaultPinCipheringKey;
     this.svGetLogReadMode = builder.svGetLogReadMode;
     this.svNegativeBalance = builder.svNegativeBalance;
+    this.digestExecutorService = builder.digestExecutorService;
+    this.digestUpdateMultipleEnabled = builder.digestUpdateMultipleEnabled;
+    this.samChallengePrefetcher =
+        builder.challengePrefetchExecutorService != null
+            ? new SamChallengePrefetcher(
+                builder.samResource, builder.challengePrefetchExecutorService)
+            : null;
   }
 
   /** Builder pattern */
@@ -90,6 +101,9 @@ public class PoSecuritySettings {
     KeyReference defaultPinCipheringKey = nullPinCipheringKey;
     PoTransaction.SvSettings.LogRead svGetLogReadMode = defaultSvGetLogReadMode;
     PoTransaction.SvSettings.NegativeBalance svNegativeBalance = defaultSvNegativeBalance;
+    ExecutorService digestExecutorService;
+    boolean digestUpdateMultipleEnabled;
+    ExecutorService challengePrefetchExecutorService;
 
     /**
      * Constructor
@@ -234,6 +248,67 @@ public class PoSecuritySettings {
       return this;
     }
 
+    /**
+     * Enables the pipelined digest computation
+     *
+     * <p>By default, the data exchanged with the PO during a secure session are kept until the
+     * session closing, at which point all the digest commands are sent to the SAM at once.
+     *
+     * <p>When an executor is provided, the Digest Init and Digest Update commands are sent to the
+     * SAM by the executor as soon as each PO response is received, while the application goes on
+     * with the PO. The session closing then only needs the Digest Close command.
+     *
+     * <p>The executor is not managed by the PO transaction and can be shared by several
+     * transactions.
+     *
+     * @param digestExecutorService the executor used to send the digest commands to the SAM
+     * @return the builder instance
+     */
+    public PoSecuritySettingsBuilder pipelinedDigest(ExecutorService digestExecutorService) {
+      this.digestExecutorService = digestExecutorService;
+      return this;
+    }
+
+    /**
+     * Enables the use of the Digest Update Multiple SAM command
+     *
+     * <p>When enabled and supported by the SAM (revision C1), consecutive digest data are grouped
+     * in Digest Update Multiple commands instead of being sent with one Digest Update command
+     * each, thus reducing the number of APDUs exchanged with the SAM.
+     *
+     * <p>Disabled by default.
+     *
+     * @param digestUpdateMultipleEnabled true to enable the Digest Update Multiple command
+     * @return the builder instance
+     */
+    public PoSecuritySettingsBuilder digestUpdateMultiple(boolean digestUpdateMultipleEnabled) {
+      this.digestUpdateMultipleEnabled = digestUpdateMultipleEnabled;
+      return this;
+    }
+
+    /**
+     * Enables the prefetch of the SAM challenge
+     *
+     * <p>By default, the SAM Get Challenge command is sent when the session is opened, delaying the
+     * Open Secure Session command sent to the PO.
+     *
+     * <p>When an executor is provided, a new challenge is requested from the SAM by the executor
+     * at the end of each secure session, the next session opening can then send the Open Secure
+     * Session command to the PO right away. The first session (or any session following a SAM
+     * operation that invalidates the prefetched challenge) gets its challenge synchronously.
+     *
+     * <p>The SAM resource of these settings must then be dedicated to one transaction at a time.
+     *
+     * @param challengePrefetchExecutorService the executor used to send the Get Challenge command
+     *     to the SAM
+     * @return the builder instance
+     */
+    public PoSecuritySettingsBuilder samChallengePrefetch(
+        ExecutorService challengePrefetchExecutorService) {
+      this.challengePrefetchExecutorService = challengePrefetchExecutorService;
+      return this;
+    }
+
     /**
      * Build a new {@code PoSecuritySettings}.
      *
@@ -353,4 +428,32 @@ public class PoSecuritySettings {
   PoTransaction.SvSettings.NegativeBalance getSvNegativeBalance() {
     return svNegativeBalance;
   }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the executor used for the pipelined digest computation, null if the digest computation
+   *     is deferred until the session closing
+   */
+  ExecutorService getDigestExecutorService() {
+    return digestExecutorService;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return true if the Digest Update Multiple command can be used
+   */
+  boolean isDigestUpdateMultipleEnabled() {
+    return digestUpdateMultipleEnabled;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the SAM challenge prefetcher, null if the challenge prefetch is not enabled
+   */
+  SamChallengePrefetcher getSamChallengePrefetcher() {
+    return samChallengePrefetcher;
+  }
 }
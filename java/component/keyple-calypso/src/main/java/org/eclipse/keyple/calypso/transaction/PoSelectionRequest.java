@@ -120,7 +120,8 @@ public class PoSelectionRequest
     CalypsoPo calypsoPo = new CalypsoPo(seResponse);
 
     if (!commandBuilders.isEmpty()) {
-      CalypsoPoUtils.updateCalypsoPo(calypsoPo, commandBuilders, apduResponses);
+      CalypsoPoUtils.updateCalypsoPo(
+          calypsoPo, new PoTransactionContext(), commandBuilders, apduResponses);
     }
 
     return calypsoPo;
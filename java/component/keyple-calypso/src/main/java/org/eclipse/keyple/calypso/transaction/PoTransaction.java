@@ -14,6 +14,7 @@ package org.eclipse.keyple.calypso.transaction;
 import static org.eclipse.keyple.calypso.command.po.CalypsoPoCommand.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -111,6 +112,8 @@ public class PoTransaction {
   private SvSettings.Action svAction;
   /** The {@link ChannelControl} action */
   private ChannelControl channelControl;
+  /** The data received from the PO and kept for the duration of the transaction */
+  private final PoTransactionContext poTransactionContext;
 
   /**
    * PoTransaction with PO and SAM readers.
@@ -152,6 +155,8 @@ public class PoTransaction {
 
     poCommandManager = new PoCommandManager();
 
+    poTransactionContext = new PoTransactionContext();
+
     channelControl = ChannelControl.KEEP_OPEN;
   }
 
@@ -263,7 +268,8 @@ public class PoTransaction {
     // the parser used for an internal usage here.
     AbstractOpenSessionRespPars poOpenSessionPars =
         (AbstractOpenSessionRespPars)
-            CalypsoPoUtils.updateCalypsoPo(calypsoPo, openSessionCmdBuild, poApduResponses.get(0));
+            CalypsoPoUtils.updateCalypsoPo(
+                calypsoPo, poTransactionContext, openSessionCmdBuild, poApduResponses.get(0));
     // Build the Digest Init command from PO Open Session
     // the session challenge is needed for the SAM digest computation
     byte[] sessionCardChallenge = poOpenSessionPars.getPoChallenge();
@@ -304,7 +310,7 @@ public class PoTransaction {
     poApduResponses.remove(0);
 
     // update CalypsoPo with the received data
-    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poCommands, poApduResponses);
+    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poTransactionContext, poCommands, poApduResponses);
 
     sessionState = SessionState.SESSION_OPEN;
   }
@@ -373,7 +379,8 @@ public class PoTransaction {
       samCommandProcessor.pushPoExchangeDataList(poApduRequests, poApduResponses, 0);
     }
 
-    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poCommands, poSeResponse.getApduResponses());
+    CalypsoPoUtils.updateCalypsoPo(
+        calypsoPo, poTransactionContext, poCommands, poSeResponse.getApduResponses());
   }
 
   /**
@@ -417,8 +424,14 @@ public class PoTransaction {
    * The method is marked as deprecated because the advanced variant defined below must be used at
    * the application level.
    *
+   * <p>The optional poCommandsAfterClosing are sent in the same exchange with the PO, right after
+   * the Close Session command (and the ratification command), as a second SeRequest of a request
+   * script.
+   *
    * @param poModificationCommands a list of commands that can modify the PO memory content
    * @param poAnticipatedResponses a list of anticipated PO responses to the modification commands
+   * @param poCommandsAfterClosing a list of commands to be executed after the session closing
+   *     (may be null)
    * @param ratificationMode the ratification mode tells if the session is closed ratified or not
    * @param channelControl indicates if the SE channel of the PO reader must be closed after the
    *     last command
@@ -430,6 +443,7 @@ public class PoTransaction {
   private void processAtomicClosing(
       List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poModificationCommands,
       List<ApduResponse> poAnticipatedResponses,
+      List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poCommandsAfterClosing,
       SessionSetting.RatificationMode ratificationMode,
       ChannelControl channelControl) {
 
@@ -443,7 +457,7 @@ public class PoTransaction {
       checkCommandsResponsesSynchronization(poApduRequests.size(), poAnticipatedResponses.size());
       // Add all commands data to the digest computation: commands and anticipated
       // responses.
-      samCommandProcessor.pushPoExchangeDataList(poApduRequests, poAnticipatedResponses, 0);
+      samCommandProcessor.pushPoClosingExchangeDataList(poApduRequests, poAnticipatedResponses);
     }
 
     // All SAM digest operations will now run at once.
@@ -473,31 +487,60 @@ public class PoTransaction {
       ratificationCommandAdded = false;
     }
 
+    // Get the PO ApduRequest List of the commands to be executed after the session closing
+    List<ApduRequest> poApduRequestsAfterClosing = getApduRequests(poCommandsAfterClosing);
+
     // Transfer PO commands
     SeRequest poSeRequest = new SeRequest(poApduRequests);
 
     SeResponse poSeResponse;
+    SeResponse poSeResponseAfterClosing = null;
+    KeypleReaderIOException afterClosingException = null;
     try {
-      poSeResponse = poReader.transmitSeRequest(poSeRequest, channelControl);
+      if (poApduRequestsAfterClosing.isEmpty()) {
+        poSeResponse = poReader.transmitSeRequest(poSeRequest, channelControl);
+      } else {
+        // a single exchange for the closing and the following commands
+        List<SeResponse> poSeResponses =
+            poReader.transmitSeRequestScript(
+                Arrays.asList(poSeRequest, new SeRequest(poApduRequestsAfterClosing)),
+                channelControl);
+        poSeResponse = poSeResponses.get(0);
+        poSeResponseAfterClosing = poSeResponses.get(1);
+      }
       // if the ratification command was added and no error occured then the response has been
       // received
       ratificationCommandResponseReceived = ratificationCommandAdded;
     } catch (KeypleReaderIOException ex) {
-      poSeResponse = ex.getSeResponse();
-      // The current exception may have been caused by a communication issue with the PO
-      // during the ratification command.
-      //
-      // In this case, we do not stop the process and consider the Secure Session close. We'll
-      // check the signature.
-      //
-      // We should have one response less than requests.
-      if (!ratificationCommandAdded
-          || poSeResponse == null
-          || poSeResponse.getApduResponses().size() != poApduRequests.size() - 1) {
-        throw new CalypsoPoIOException("PO IO Exception while transmitting commands.", ex);
+      if (ex.getSeResponses() != null && ex.getSeResponses().size() > 1) {
+        // The Close Session exchange has been completed, the failure occurred while executing
+        // the commands following the session closing. The session closing is processed before
+        // reporting it.
+        poSeResponse = ex.getSeResponses().get(0);
+        ratificationCommandResponseReceived = ratificationCommandAdded;
+        afterClosingException = ex;
+      } else {
+        poSeResponse = ex.getSeResponse();
+        // The current exception may have been caused by a communication issue with the PO
+        // during the ratification command.
+        //
+        // In this case, we do not stop the process and consider the Secure Session close. We'll
+        // check the signature.
+        //
+        // We should have one response less than requests.
+        if (!ratificationCommandAdded
+            || poSeResponse == null
+            || poSeResponse.getApduResponses().size() != poApduRequests.size() - 1) {
+          throw new CalypsoPoIOException("PO IO Exception while transmitting commands.", ex);
+        }
+        // we received all responses except the response to the ratification command
+        ratificationCommandResponseReceived = false;
+        if (!poApduRequestsAfterClosing.isEmpty()) {
+          // the script was stopped before the commands following the session closing, they are
+          // reported as not executed once the session closing is processed
+          afterClosingException = ex;
+        }
       }
-      // we received all responses except the response to the ratification command
-      ratificationCommandResponseReceived = false;
     }
 
     List<ApduResponse> poApduResponses = poSeResponse.getApduResponses();
@@ -505,7 +548,8 @@ public class PoTransaction {
     // Check the commands executed before closing the secure session (only responses to these
     // commands
     // will be taken into account)
-    CalypsoPoUtils.updateCalypsoPo(calypsoPo, poModificationCommands, poApduResponses);
+    CalypsoPoUtils.updateCalypsoPo(
+        calypsoPo, poTransactionContext, poModificationCommands, poApduResponses);
 
     // Check the PO's response to Close Secure Session
     CloseSessionRespPars poCloseSessionPars;
@@ -513,7 +557,10 @@ public class PoTransaction {
       poCloseSessionPars =
           (CloseSessionRespPars)
               CalypsoPoUtils.updateCalypsoPo(
-                  calypsoPo, closeSessionCmdBuild, poApduResponses.get(closeCommandIndex));
+                  calypsoPo,
+                  poTransactionContext,
+                  closeSessionCmdBuild,
+                  poApduResponses.get(closeCommandIndex));
     } catch (CalypsoPoSecurityDataException ex) {
       throw new CalypsoPoCloseSecureSessionException("Invalid PO session", ex);
     }
@@ -535,6 +582,9 @@ public class PoTransaction {
 
     sessionState = SessionState.SESSION_CLOSED;
 
+    // the SAM is now available to prepare the challenge of the next session
+    samCommandProcessor.prefetchNextSessionChallenge();
+
     if (ratificationCommandResponseReceived) { // NOSONAR: boolean change in catch
       // is not taken into account by
       // Sonar
@@ -544,6 +594,21 @@ public class PoTransaction {
 
     // Remove Close Secure Session response and create a new SeResponse
     poApduResponses.remove(poApduResponses.size() - 1);
+
+    if (afterClosingException != null) {
+      throw new CalypsoPoIOException(
+          "PO IO Exception while transmitting commands after the session closing.",
+          afterClosingException);
+    }
+
+    // Process the responses to the commands executed after the session closing
+    if (poSeResponseAfterClosing != null) {
+      List<ApduResponse> poApduResponsesAfterClosing = poSeResponseAfterClosing.getApduResponses();
+      checkCommandsResponsesSynchronization(
+          poApduRequestsAfterClosing.size(), poApduResponsesAfterClosing.size());
+      CalypsoPoUtils.updateCalypsoPo(
+          calypsoPo, poTransactionContext, poCommandsAfterClosing, poApduResponsesAfterClosing);
+    }
   }
 
   /**
@@ -564,7 +629,8 @@ public class PoTransaction {
       SessionSetting.RatificationMode ratificationMode,
       ChannelControl channelControl) {
     List<ApduResponse> poAnticipatedResponses = getAnticipatedResponses(poCommands);
-    processAtomicClosing(poCommands, poAnticipatedResponses, ratificationMode, channelControl);
+    processAtomicClosing(
+        poCommands, poAnticipatedResponses, null, ratificationMode, channelControl);
   }
 
   public static class SessionSetting {
@@ -880,7 +946,7 @@ public class PoTransaction {
 
     // If an SV transaction was performed, we check the signature returned by the PO here
     if (poCommandManager.isSvOperationCompleteOneTime()) {
-      samCommandProcessor.checkSvStatus(CalypsoPoUtils.getSvOperationSignature());
+      samCommandProcessor.checkSvStatus(poTransactionContext.getSvOperationSignature());
     }
   }
 
@@ -991,6 +1057,9 @@ public class PoTransaction {
    * command. On the contrary, if the communication mode is CONTACTS, no ratification command will
    * be sent to the PO and ratification will be requested in the Close Session command
    *
+   * <p>The commands prepared after a call to {@link #prepareSessionEnd()} are executed outside the
+   * secure session, within the same exchange with the PO as the Close Session command.
+   *
    * @throws CalypsoPoTransactionException if a functional error occurs (including PO and SAM IO
    *     errors)
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
@@ -999,6 +1068,17 @@ public class PoTransaction {
   public final void processClosing() {
     checkSessionIsOpen();
 
+    List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poCommandsAfterClosing =
+        poCommandManager.getPoCommandBuildersAfterSessionEnd();
+    for (AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder :
+        poCommandsAfterClosing) {
+      CalypsoPoCommand commandRef = commandBuilder.getCommandRef();
+      if (commandRef == SV_RELOAD || commandRef == SV_DEBIT || commandRef == SV_UNDEBIT) {
+        throw new CalypsoPoTransactionIllegalStateException(
+            "An SV operation cannot be executed after the session closing.");
+      }
+    }
+
     boolean atLeastOneReadCommand = false;
     boolean sessionPreviouslyClosed = false;
 
@@ -1008,7 +1088,7 @@ public class PoTransaction {
     List<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>> poAtomicCommands =
         new ArrayList<AbstractPoCommandBuilder<? extends AbstractPoResponseParser>>();
     for (AbstractPoCommandBuilder<? extends AbstractPoResponseParser> commandBuilder :
-        poCommandManager.getPoCommandBuilders()) {
+        poCommandManager.getPoCommandBuildersBeforeSessionEnd()) {
       // check if the command is a modifying one and get it status (overflow yes/no,
       // neededSessionBufferSpace)
       // if the command overflows the session buffer in atomic modification mode, an exception
@@ -1067,9 +1147,14 @@ public class PoTransaction {
       processAtomicOpening(currentAccessLevel, null);
     }
 
-    // Finally, close the session as requested
+    // Finally, close the session as requested and execute the commands prepared after the
+    // session end in the same exchange
     processAtomicClosing(
-        poAtomicCommands, poSecuritySettings.getRatificationMode(), channelControl);
+        poAtomicCommands,
+        getAnticipatedResponses(poAtomicCommands),
+        poCommandsAfterClosing,
+        poSecuritySettings.getRatificationMode(),
+        channelControl);
 
     // sets the flag indicating that the commands have been executed
     poCommandManager.notifyCommandsProcessed();
@@ -1087,6 +1172,11 @@ public class PoTransaction {
    * @throws CalypsoPoCommandException if a response from the PO was unexpected
    */
   public final void processCancel() {
+    // the pending digest commands of the aborted session must not reach the SAM
+    if (samCommandProcessor != null) {
+      samCommandProcessor.cancelPipelinedDigest();
+    }
+
     // PO ApduRequest List to hold Close Secure Session command
     List<ApduRequest> poApduRequests = new ArrayList<ApduRequest>();
 
@@ -1108,6 +1198,10 @@ public class PoTransaction {
     // session is now considered closed regardless the previous state or the result of the abort
     // session command sent to the PO.
     sessionState = SessionState.SESSION_CLOSED;
+
+    if (samCommandProcessor != null) {
+      samCommandProcessor.prefetchNextSessionChallenge();
+    }
   }
 
   /**
@@ -1158,7 +1252,8 @@ public class PoTransaction {
 
       // Get the encrypted PIN with the help of the SAM
       byte[] cipheredPin =
-          samCommandProcessor.getCipheredPinData(CalypsoPoUtils.getPoChallenge(), pin, null);
+          samCommandProcessor.getCipheredPinData(
+              poTransactionContext.getPoChallenge(), pin, null);
       poCommandManager.addRegularCommand(
           new VerifyPinCmdBuild(
               calypsoPo.getPoClass(), PinTransmissionMode.ENCRYPTED, cipheredPin));
@@ -1343,6 +1438,19 @@ public class PoTransaction {
     channelControl = ChannelControl.CLOSE_AFTER;
   }
 
+  /**
+   * Prepare the end of the secure session.<br>
+   * The PO commands prepared after this call are executed by {@link #processClosing()} outside the
+   * secure session, right after the Close Session command. They are transmitted to the PO reader
+   * together with the Close Session command in a single request script, saving a round trip when
+   * the PO reader is a remote one.<br>
+   * SV Reload, Debit and Undebit operations cannot be prepared after the session end.<br>
+   * This mark is ignored by the other "process" commands.
+   */
+  public final void prepareSessionEnd() {
+    poCommandManager.markSessionEnd();
+  }
+
   /**
    * Prepare a select file ApduRequest to be executed following the selection.
    *
@@ -1654,7 +1762,7 @@ public class PoTransaction {
             calypsoPo.getPoClass(),
             calypsoPo.getRevision(),
             amount,
-            CalypsoPoUtils.getSvKvc(),
+            poTransactionContext.getSvKvc(),
             date,
             time,
             free);
@@ -1662,7 +1770,9 @@ public class PoTransaction {
     // get the security data from the SAM
     byte[] svReloadComplementaryData =
         samCommandProcessor.getSvReloadComplementaryData(
-            svReloadCmdBuild, CalypsoPoUtils.getSvGetHeader(), CalypsoPoUtils.getSvGetData());
+            svReloadCmdBuild,
+            poTransactionContext.getSvGetHeader(),
+            poTransactionContext.getSvGetData());
 
     // finalize the SvReload command builder with the data provided by the SAM
     svReloadCmdBuild.finalizeBuilder(svReloadComplementaryData);
@@ -1709,14 +1819,16 @@ public class PoTransaction {
             calypsoPo.getPoClass(),
             calypsoPo.getRevision(),
             amount,
-            CalypsoPoUtils.getSvKvc(),
+            poTransactionContext.getSvKvc(),
             date,
             time);
 
     // get the security data from the SAM
     byte[] svDebitComplementaryData =
         samCommandProcessor.getSvDebitComplementaryData(
-            svDebitCmdBuild, CalypsoPoUtils.getSvGetHeader(), CalypsoPoUtils.getSvGetData());
+            svDebitCmdBuild,
+            poTransactionContext.getSvGetHeader(),
+            poTransactionContext.getSvGetData());
 
     // finalize the SvDebit command builder with the data provided by the SAM
     svDebitCmdBuild.finalizeBuilder(svDebitComplementaryData);
@@ -1743,14 +1855,16 @@ public class PoTransaction {
             calypsoPo.getPoClass(),
             calypsoPo.getRevision(),
             amount,
-            CalypsoPoUtils.getSvKvc(),
+            poTransactionContext.getSvKvc(),
             date,
             time);
 
     // get the security data from the SAM
     byte[] svDebitComplementaryData =
         samCommandProcessor.getSvUndebitComplementaryData(
-            svUndebitCmdBuild, CalypsoPoUtils.getSvGetHeader(), CalypsoPoUtils.getSvGetData());
+            svUndebitCmdBuild,
+            poTransactionContext.getSvGetHeader(),
+            poTransactionContext.getSvGetData());
 
     // finalize the SvUndebit command builder with the data provided by the SAM
     svUndebitCmdBuild.finalizeBuilder(svDebitComplementaryData);
@@ -0,0 +1,121 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+/**
+ * (package-private)<br>
+ * The PO transaction context holds the data received from the PO that is needed later in the
+ * transaction but is not part of the {@link CalypsoPo} image (PO challenge, SV Get data, SV
+ * operation signature).
+ *
+ * <p>Each {@link PoTransaction} owns its own context, it is filled by {@link
+ * CalypsoPoUtils#updateCalypsoPo} when parsing the PO responses. This allows several transactions
+ * to be processed concurrently.
+ */
+class PoTransactionContext {
+  private byte[] poChallenge;
+  private byte svKvc;
+  private byte[] svGetHeader;
+  private byte[] svGetData;
+  private byte[] svOperationSignature;
+
+  /**
+   * (package-private)<br>
+   * Constructor
+   */
+  PoTransactionContext() {}
+
+  /**
+   * (package-private)<br>
+   * Gets the challenge received from the PO
+   *
+   * @return an array of bytes containing the challenge bytes (variable length according to the
+   *     revision of the PO). May be null if the challenge is not available.
+   */
+  byte[] getPoChallenge() {
+    return poChallenge;
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the challenge received from the PO
+   *
+   * @param poChallenge the PO challenge
+   */
+  void setPoChallenge(byte[] poChallenge) {
+    this.poChallenge = poChallenge;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the SV KVC from the PO
+   *
+   * @return the SV KVC byte.
+   */
+  byte getSvKvc() {
+    return svKvc;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the SV Get command header
+   *
+   * @return a byte array containing the SV Get command header.
+   */
+  byte[] getSvGetHeader() {
+    return svGetHeader;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the SV Get command response data
+   *
+   * @return a byte array containing the SV Get command response data.
+   */
+  byte[] getSvGetData() {
+    return svGetData;
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the data obtained from the SV Get command
+   *
+   * @param svKvc the SV KVC
+   * @param svGetHeader the SV Get command header
+   * @param svGetData the SV Get command response data
+   */
+  void setSvGetData(byte svKvc, byte[] svGetHeader, byte[] svGetData) {
+    this.svKvc = svKvc;
+    this.svGetHeader = svGetHeader;
+    this.svGetData = svGetData;
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the last SV Operation signature (SV Reload, Debit or Undebit)
+   *
+   * @return a byte array containing the SV Operation signature or null if not available.
+   */
+  byte[] getSvOperationSignature() {
+    return svOperationSignature;
+  }
+
+  /**
+   * (package-private)<br>
+   * Sets the last SV Operation signature (SV Reload, Debit or Undebit)
+   *
+   * @param svOperationSignature the SV Operation signature
+   */
+  void setSvOperationSignature(byte[] svOperationSignature) {
+    this.svOperationSignature = svOperationSignature;
+  }
+}
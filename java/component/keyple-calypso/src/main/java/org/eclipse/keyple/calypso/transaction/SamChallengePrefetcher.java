@@ -0,0 +1,164 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.calypso.transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.eclipse.keyple.calypso.command.sam.builder.security.SamGetChallengeCmdBuild;
+import org.eclipse.keyple.calypso.command.sam.parser.security.SamGetChallengeRespPars;
+import org.eclipse.keyple.core.selection.SeResource;
+import org.eclipse.keyple.core.seproxy.message.*;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * (package-private)<br>
+ * The SAM challenge prefetcher keeps a terminal challenge ready for the next secure session.
+ *
+ * <p>The Get Challenge command does not depend on the PO: it is sent to the SAM asynchronously at
+ * the end of each secure session so that the next session opening only has to pick up the
+ * challenge. The SAM diversification is then deferred until the Digest Init command.
+ *
+ * <p>The challenge is the last one generated by the SAM, it is therefore discarded as soon as
+ * another SAM operation likely to change the SAM state is performed. If no challenge is available
+ * (first session, discarded challenge, different challenge length, communication error), the
+ * caller falls back to the regular synchronous Get Challenge.
+ *
+ * <p>A prefetcher is attached to a SAM resource through the {@link PoSecuritySettings}, the SAM
+ * resource must not be used concurrently by several transactions.
+ */
+class SamChallengePrefetcher {
+  private static final Logger logger = LoggerFactory.getLogger(SamChallengePrefetcher.class);
+
+  /** The SAM resource */
+  private final SeResource<CalypsoSam> samResource;
+  /** The executor sending the Get Challenge command */
+  private final ExecutorService executorService;
+  /** The pending or completed prefetch, null if no challenge is available */
+  private Future<byte[]> prefetchedChallenge;
+  /** The length of the prefetched challenge */
+  private byte prefetchedChallengeLength;
+
+  /**
+   * (package-private)<br>
+   * Constructor
+   *
+   * @param samResource the SAM resource
+   * @param executorService the executor used to send the Get Challenge command to the SAM
+   */
+  SamChallengePrefetcher(SeResource<CalypsoSam> samResource, ExecutorService executorService) {
+    this.samResource = samResource;
+    this.executorService = executorService;
+  }
+
+  /**
+   * (package-private)<br>
+   * Requests a new challenge from the SAM asynchronously.
+   *
+   * <p>Any previously prefetched challenge is discarded.
+   *
+   * @param challengeLength the expected challenge length
+   */
+  synchronized void prefetch(final byte challengeLength) {
+    discard();
+    prefetchedChallengeLength = challengeLength;
+    prefetchedChallenge =
+        executorService.submit(
+            new Callable<byte[]>() {
+              @Override
+              public byte[] call() {
+                return getChallenge(challengeLength);
+              }
+            });
+  }
+
+  /**
+   * (package-private)<br>
+   * Gets the prefetched challenge, waiting for its reception if necessary.
+   *
+   * <p>The challenge can only be taken once.
+   *
+   * @param challengeLength the expected challenge length
+   * @return the challenge or null if no challenge of the expected length is available
+   */
+  synchronized byte[] take(byte challengeLength) {
+    if (prefetchedChallenge == null) {
+      return null;
+    }
+    boolean lengthMatches = prefetchedChallengeLength == challengeLength;
+    byte[] challenge = waitForChallenge();
+    return lengthMatches ? challenge : null;
+  }
+
+  /**
+   * (package-private)<br>
+   * Discards the prefetched challenge, waiting for the end of the pending exchange with the SAM if
+   * necessary.
+   */
+  synchronized void discard() {
+    if (prefetchedChallenge != null) {
+      waitForChallenge();
+    }
+  }
+
+  /**
+   * Waits for the prefetch completion and releases it.
+   *
+   * @return the challenge or null if the prefetch failed
+   */
+  private byte[] waitForChallenge() {
+    try {
+      return prefetchedChallenge.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      logger.warn("SAM challenge prefetch failed: {}", e.getCause().getMessage());
+      return null;
+    } finally {
+      prefetchedChallenge = null;
+    }
+  }
+
+  /**
+   * Sends the Get Challenge command to the SAM.
+   *
+   * @param challengeLength the expected challenge length
+   * @return the challenge
+   */
+  private byte[] getChallenge(byte challengeLength) {
+    SamGetChallengeCmdBuild getChallengeCmdBuild =
+        new SamGetChallengeCmdBuild(samResource.getMatchingSe().getSamRevision(), challengeLength);
+
+    List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+    apduRequests.add(getChallengeCmdBuild.getApduRequest());
+
+    SeResponse samSeResponse =
+        ((ProxyReader) samResource.getSeReader())
+            .transmitSeRequest(new SeRequest(apduRequests), ChannelControl.KEEP_OPEN);
+
+    SamGetChallengeRespPars getChallengeRespPars =
+        getChallengeCmdBuild.createResponseParser(samSeResponse.getApduResponses().get(0));
+    getChallengeRespPars.checkStatus();
+
+    byte[] challenge = getChallengeRespPars.getChallenge();
+    if (logger.isDebugEnabled()) {
+      logger.debug("prefetch: TERMINALCHALLENGE = {}", ByteArrayUtil.toHex(challenge));
+    }
+    return challenge;
+  }
+}
@@ -14,6 +14,9 @@ package org.eclipse.keyple.calypso.transaction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import org.eclipse.keyple.calypso.KeyReference;
 import org.eclipse.keyple.calypso.command.po.PoRevision;
 import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvDebitCmdBuild;
@@ -21,6 +24,7 @@ import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvReloadCmdBuil
 import org.eclipse.keyple.calypso.command.po.builder.storedvalue.SvUndebitCmdBuild;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamCommandBuilder;
 import org.eclipse.keyple.calypso.command.sam.AbstractSamResponseParser;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.command.sam.builder.security.*;
 import org.eclipse.keyple.calypso.command.sam.exception.CalypsoSamCommandException;
 import org.eclipse.keyple.calypso.command.sam.parser.security.CardCipherPinRespPars;
@@ -48,6 +52,11 @@ import org.slf4j.LoggerFactory;
  *
  * <p>It also will integrate the SAM commands used for Stored Value and PIN/key management. In
  * session, these commands need to be carefully synchronized with the digest calculation.
+ *
+ * <p>By default, the digest data are kept until the session closing. When an executor is provided
+ * by the {@link PoSecuritySettings}, the digest commands are sent to the SAM by the executor as
+ * soon as the data are available (pipelined mode). In this case, any other SAM operation waits for
+ * the completion of the pending digest commands.
  */
 class SamCommandProcessor {
   private static final Logger logger = LoggerFactory.getLogger(SamCommandProcessor.class);
@@ -58,6 +67,11 @@ class SamCommandProcessor {
   private static final byte CHALLENGE_LENGTH_REV32 = (byte) 0x08;
   private static final byte SIGNATURE_LENGTH_REV_INF_32 = (byte) 0x04;
   private static final byte SIGNATURE_LENGTH_REV32 = (byte) 0x08;
+  /*
+   * Initial capacity of the digest data cache: the Digest Init buffer plus 15 PO command/response
+   * pairs, which covers the usual session sizes without reallocation.
+   */
+  private static final int DIGEST_DATA_CACHE_INITIAL_CAPACITY = 31;
 
   /** The SAM resource */
   private final SeResource<CalypsoSam> samResource;
@@ -70,9 +84,13 @@ class SamCommandProcessor {
   /*
    * The digest data cache stores all PO data to be send to SAM during a Secure Session. The 1st
    * buffer is the data buffer to be provided with Digest Init. The following buffers are PO
-   * command/response pairs
+   * command/response pairs.
+   *
+   * <p>The cache is specific to each instance (i.e. to each PoTransaction) so that several secure
+   * sessions can be processed concurrently.
    */
-  private static final List<byte[]> poDigestDataCache = new ArrayList<byte[]>();
+  private final List<byte[]> poDigestDataCache =
+      new ArrayList<byte[]>(DIGEST_DATA_CACHE_INITIAL_CAPACITY);
   private boolean sessionEncryption;
   private boolean verificationMode;
   private byte workKeyRecordNumber;
@@ -81,6 +99,22 @@ class SamCommandProcessor {
   private boolean isDiversificationDone;
   private boolean isDigestInitDone;
   private boolean isDigesterInitialized;
+  /** The executor sending the digest commands in pipelined mode, null otherwise */
+  private final ExecutorService digestExecutorService;
+  /** Indicates whether the digest data can be grouped in Digest Update Multiple commands */
+  private final boolean digestUpdateMultipleAllowed;
+  /** The SAM challenge prefetcher, null if the challenge prefetch is not enabled */
+  private final SamChallengePrefetcher samChallengePrefetcher;
+  /** The length of the challenge of the current session */
+  private byte sessionChallengeLength;
+  /** The digest tasks submitted to the executor and not yet awaited */
+  private final List<Future<?>> pendingDigestTasks = new ArrayList<Future<?>>();
+  /** Lock ensuring that the pipelined digest commands are sent to the SAM in order */
+  private final Object digestTransmitLock = new Object();
+  /** The error raised by a pipelined digest task, if any */
+  private volatile RuntimeException pipelinedDigestException;
+  /** Incremented when the digest computation is cancelled, the older digest tasks do nothing */
+  private volatile int digestGeneration;
 
   /**
    * Constructor
@@ -93,6 +127,11 @@ class SamCommandProcessor {
     this.poSecuritySettings = poSecuritySettings;
     this.samResource = poSecuritySettings.getSamResource();
     samReader = (ProxyReader) this.samResource.getSeReader();
+    this.digestExecutorService = poSecuritySettings.getDigestExecutorService();
+    this.digestUpdateMultipleAllowed =
+        poSecuritySettings.isDigestUpdateMultipleEnabled()
+            && samResource.getMatchingSe().getSamRevision() == SamRevision.C1;
+    this.samChallengePrefetcher = poSecuritySettings.getSamChallengePrefetcher();
   }
 
   /**
@@ -104,6 +143,9 @@ class SamCommandProcessor {
    *
    * <p>If the key diversification is already done, the Select Diversifier command is omitted.
    *
+   * <p>When a challenge has been prefetched, it is returned without any exchange with the SAM, the
+   * key diversification is then deferred until the Digest Init command.
+   *
    * <p>The length of the challenge varies from one PO revision to another. This information can be
    * found in the SeResource class field.
    *
@@ -113,6 +155,28 @@ class SamCommandProcessor {
    * @throws CalypsoSamCommandException if the SAM has responded with an error status
    */
   byte[] getSessionTerminalChallenge() {
+    // a new session is about to start, the digest commands of a previous session are no longer
+    // relevant
+    cancelPipelinedDigest();
+
+    byte challengeLength =
+        poResource.getMatchingSe().isConfidentialSessionModeSupported()
+            ? CHALLENGE_LENGTH_REV32
+            : CHALLENGE_LENGTH_REV_INF_32;
+    sessionChallengeLength = challengeLength;
+
+    if (samChallengePrefetcher != null) {
+      byte[] prefetchedChallenge = samChallengePrefetcher.take(challengeLength);
+      if (prefetchedChallenge != null) {
+        if (logger.isDebugEnabled()) {
+          logger.debug(
+              "identification: TERMINALCHALLENGE = {} (prefetched)",
+              ByteArrayUtil.toHex(prefetchedChallenge));
+        }
+        return prefetchedChallenge;
+      }
+    }
+
     List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
 
     // diversify only if this has not already been done.
@@ -130,11 +194,6 @@ class SamCommandProcessor {
     }
 
     // build the SAM Get Challenge command
-    byte challengeLength =
-        poResource.getMatchingSe().isConfidentialSessionModeSupported()
-            ? CHALLENGE_LENGTH_REV32
-            : CHALLENGE_LENGTH_REV_INF_32;
-
     AbstractSamCommandBuilder<? extends AbstractSamResponseParser> getChallengeCmdBuild =
         new SamGetChallengeCmdBuild(samResource.getMatchingSe().getSamRevision(), challengeLength);
 
@@ -206,7 +265,8 @@ class SamCommandProcessor {
    *
    * <p>Keeps the session parameters, sets the KIF if not defined
    *
-   * <p>Note: there is no communication with the SAM here.
+   * <p>Note: there is no communication with the SAM here, except in pipelined mode where the Digest
+   * Init command is scheduled for transmission.
    *
    * @param sessionEncryption true if the session is encrypted
    * @param verificationMode true if the verification mode is active
@@ -250,14 +310,18 @@ class SamCommandProcessor {
           ByteArrayUtil.toHex(digestData));
     }
 
-    // Clear data cache
-    poDigestDataCache.clear();
+    synchronized (poDigestDataCache) {
+      // Clear data cache
+      poDigestDataCache.clear();
 
-    // Build Digest Init command as first ApduRequest of the digest computation process
-    poDigestDataCache.add(digestData);
+      // Build Digest Init command as first ApduRequest of the digest computation process
+      poDigestDataCache.add(digestData);
+
+      isDigestInitDone = false;
+      isDigesterInitialized = true;
+    }
 
-    isDigestInitDone = false;
-    isDigesterInitialized = true;
+    schedulePendingDigestCommands();
   }
 
   /**
@@ -297,9 +361,171 @@ class SamCommandProcessor {
    */
   void pushPoExchangeDataList(
       List<ApduRequest> requests, List<ApduResponse> responses, int startIndex) {
-    for (int i = startIndex; i < requests.size(); i++) {
-      // Add requests and responses to the digest processor
-      pushPoExchangeData(requests.get(i), responses.get(i));
+    synchronized (poDigestDataCache) {
+      for (int i = startIndex; i < requests.size(); i++) {
+        // Add requests and responses to the digest processor
+        pushPoExchangeData(requests.get(i), responses.get(i));
+      }
+    }
+
+    schedulePendingDigestCommands();
+  }
+
+  /**
+   * Appends the list of PO exchanges anticipated at the session closing to the digest data cache.
+   *
+   * <p>Unlike {@link #pushPoExchangeDataList(List, List, int)}, no digest command is scheduled in
+   * pipelined mode: the data are sent to the SAM along with the Digest Close command by {@link
+   * #getTerminalSignature()}, in a single exchange.
+   *
+   * @param requests PO request list
+   * @param responses PO anticipated response list
+   */
+  void pushPoClosingExchangeDataList(List<ApduRequest> requests, List<ApduResponse> responses) {
+    synchronized (poDigestDataCache) {
+      for (int i = 0; i < requests.size(); i++) {
+        pushPoExchangeData(requests.get(i), responses.get(i));
+      }
+    }
+  }
+
+  /**
+   * Submits to the executor the transmission of the data currently in the digest cache.
+   *
+   * <p>Does nothing if the pipelined mode is not enabled.
+   */
+  private void schedulePendingDigestCommands() {
+    if (digestExecutorService == null) {
+      return;
+    }
+    final int generation = digestGeneration;
+    pendingDigestTasks.add(
+        digestExecutorService.submit(
+            new Runnable() {
+              @Override
+              public void run() {
+                transmitPendingDigestCommands(generation);
+              }
+            }));
+  }
+
+  /**
+   * Sends to the SAM the digest commands corresponding to the data currently in the digest cache.
+   *
+   * <p>Executed by the executor in pipelined mode. The transmission lock guarantees that the digest
+   * commands are sent in the order of the data, whatever the number of threads of the executor.
+   *
+   * <p>Any error is kept and reported by the next SAM operation of the transaction.
+   *
+   * @param generation the digest generation at the time the task was submitted
+   */
+  private void transmitPendingDigestCommands(int generation) {
+    synchronized (digestTransmitLock) {
+      if (generation != digestGeneration) {
+        // the digest computation has been cancelled since the submission
+        return;
+      }
+      if (pipelinedDigestException != null) {
+        // the digest computation has already failed
+        return;
+      }
+      try {
+        List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands;
+        synchronized (poDigestDataCache) {
+          if (poDigestDataCache.isEmpty()) {
+            // the data have already been sent by a previous task
+            return;
+          }
+          samCommands = getPendingSamCommands(false);
+        }
+        transmitSamCommands(samCommands);
+      } catch (RuntimeException e) {
+        logger.debug("Pipelined digest computation failed: {}", e.getMessage());
+        pipelinedDigestException = e;
+      }
+    }
+  }
+
+  /**
+   * Waits for the completion of all pending digest tasks (pipelined mode).
+   *
+   * <p>Must be called before any other SAM operation.
+   *
+   * @param discardErrors true if the errors raised by the digest tasks must be ignored
+   * @throws CalypsoSamIOException if the communication with the SAM has failed.
+   * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
+   * @throws CalypsoSamCommandException if the SAM has responded with an error status
+   */
+  private void waitForPipelinedDigest(boolean discardErrors) {
+    if (pendingDigestTasks.isEmpty()) {
+      return;
+    }
+    try {
+      for (Future<?> pendingDigestTask : pendingDigestTasks) {
+        pendingDigestTask.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CalypsoSamIOException("Interrupted while waiting for the digest computation.", e);
+    } catch (ExecutionException e) {
+      throw new CalypsoSamIOException("Digest computation failed.", e.getCause());
+    } finally {
+      pendingDigestTasks.clear();
+    }
+    RuntimeException exception = pipelinedDigestException;
+    pipelinedDigestException = null;
+    if (exception != null && !discardErrors) {
+      throw exception;
+    }
+  }
+
+  /**
+   * Cancels the digest computation of the current session.
+   *
+   * <p>In pipelined mode, the digest tasks not yet started are cancelled and the one currently
+   * sending commands to the SAM, if any, is awaited: once this method returns, no digest command of
+   * the session is sent to the SAM anymore. The errors raised by the digest tasks are ignored.
+   *
+   * <p>The digest data cache is cleared, a new session requires a new initialization.
+   */
+  void cancelPipelinedDigest() {
+    for (Future<?> pendingDigestTask : pendingDigestTasks) {
+      pendingDigestTask.cancel(false);
+    }
+    pendingDigestTasks.clear();
+    synchronized (digestTransmitLock) {
+      digestGeneration++;
+      pipelinedDigestException = null;
+      synchronized (poDigestDataCache) {
+        poDigestDataCache.clear();
+        isDigestInitDone = false;
+        isDigesterInitialized = false;
+      }
+    }
+  }
+
+  /**
+   * Requests the prefetch of the challenge for the next secure session.
+   *
+   * <p>Must be called once the current secure session is closed. Does nothing if the challenge
+   * prefetch is not enabled.
+   */
+  void prefetchNextSessionChallenge() {
+    if (samChallengePrefetcher != null && sessionChallengeLength != 0) {
+      // the pending digest commands of an aborted session are no longer relevant
+      waitForPipelinedDigest(true);
+      samChallengePrefetcher.prefetch(sessionChallengeLength);
+    }
+  }
+
+  /**
+   * Discards the prefetched challenge, if any, before a SAM operation likely to change it.
+   *
+   * <p>Also guarantees that the prefetch exchange with the SAM is over.
+   */
+  private void discardPrefetchedChallenge() {
+    if (samChallengePrefetcher != null) {
+      samChallengePrefetcher.discard();
     }
   }
 
@@ -311,7 +537,8 @@ class SamCommandProcessor {
    *
    * <ul>
    *   <li>Starts with a Digest Init command if not already done,
-   *   <li>Adds as many Digest Update commands as there are packages in the cache,
+   *   <li>Adds as many Digest Update commands as there are packages in the cache (or fewer Digest
+   *       Update Multiple commands when allowed),
    *   <li>Appends a Digest Close command if the addDigestClose flag is set to true.
    * </ul>
    *
@@ -320,12 +547,12 @@ class SamCommandProcessor {
    */
   private List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>
       getPendingSamCommands(boolean addDigestClose) {
-    // TODO optimization with the use of Digest Update Multiple whenever possible.
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
 
-    // sanity checks
-    if (poDigestDataCache.isEmpty()) {
+    // sanity checks: the cache may be empty only if its content has already been sent to the SAM
+    // (after the Digest Init)
+    if (!isDigestInitDone && poDigestDataCache.isEmpty()) {
       logger.debug("getSamDigestRequest: no data in cache.");
       throw new IllegalStateException("Digest data cache is empty.");
     }
@@ -338,6 +565,15 @@ class SamCommandProcessor {
       throw new IllegalStateException("Digest data cache is inconsistent.");
     }
 
+    if (!isDiversificationDone) {
+      // the diversification has been deferred (prefetched challenge)
+      samCommands.add(
+          new SelectDiversifierCmdBuild(
+              samResource.getMatchingSe().getSamRevision(),
+              poResource.getMatchingSe().getApplicationSerialNumberBytes()));
+      isDiversificationDone = true;
+    }
+
     if (!isDigestInitDone) {
       // Build and append Digest Init command as first ApduRequest of the digest computation
       // process. The Digest Init command comes from the Open Secure Session response from the
@@ -358,12 +594,16 @@ class SamCommandProcessor {
     }
 
     // Build and append Digest Update commands
-    for (int i = 0; i < poDigestDataCache.size(); i++) {
-      samCommands.add(
-          new DigestUpdateCmdBuild(
-              samResource.getMatchingSe().getSamRevision(),
-              sessionEncryption,
-              poDigestDataCache.get(i)));
+    if (digestUpdateMultipleAllowed) {
+      addDigestUpdateMultipleCommands(samCommands);
+    } else {
+      for (int i = 0; i < poDigestDataCache.size(); i++) {
+        samCommands.add(
+            new DigestUpdateCmdBuild(
+                samResource.getMatchingSe().getSamRevision(),
+                sessionEncryption,
+                poDigestDataCache.get(i)));
+      }
     }
 
     // clears cached commands once they have been processed
@@ -382,6 +622,67 @@ class SamCommandProcessor {
     return samCommands;
   }
 
+  /**
+   * Appends to the provided list the commands needed to send the content of the digest cache,
+   * grouping consecutive buffers in Digest Update Multiple commands.
+   *
+   * <p>A buffer too long to be part of a Digest Update Multiple command, or alone in its group, is
+   * sent with a Digest Update command.
+   *
+   * @param samCommands the list of SAM commands to complete
+   */
+  private void addDigestUpdateMultipleCommands(
+      List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands) {
+    List<byte[]> digestDataGroup = new ArrayList<byte[]>();
+    int digestDataGroupLength = 0;
+    for (byte[] digestData : poDigestDataCache) {
+      // each buffer is preceded by its length in the Digest Update Multiple command
+      int blockLength = 1 + digestData.length;
+      if (blockLength > DigestUpdateMultipleCmdBuild.MAX_DIGEST_DATA_LENGTH) {
+        addDigestUpdateGroupCommand(samCommands, digestDataGroup);
+        digestDataGroupLength = 0;
+        samCommands.add(
+            new DigestUpdateCmdBuild(
+                samResource.getMatchingSe().getSamRevision(), sessionEncryption, digestData));
+        continue;
+      }
+      if (digestDataGroupLength + blockLength
+          > DigestUpdateMultipleCmdBuild.MAX_DIGEST_DATA_LENGTH) {
+        addDigestUpdateGroupCommand(samCommands, digestDataGroup);
+        digestDataGroupLength = 0;
+      }
+      digestDataGroup.add(digestData);
+      digestDataGroupLength += blockLength;
+    }
+    addDigestUpdateGroupCommand(samCommands, digestDataGroup);
+  }
+
+  /**
+   * Appends to the provided list the command needed to send a group of digest buffers and empties
+   * the group.
+   *
+   * @param samCommands the list of SAM commands to complete
+   * @param digestDataGroup the group of buffers (may be empty)
+   */
+  private void addDigestUpdateGroupCommand(
+      List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands,
+      List<byte[]> digestDataGroup) {
+    if (digestDataGroup.size() == 1) {
+      samCommands.add(
+          new DigestUpdateCmdBuild(
+              samResource.getMatchingSe().getSamRevision(),
+              sessionEncryption,
+              digestDataGroup.get(0)));
+    } else if (digestDataGroup.size() > 1) {
+      samCommands.add(
+          new DigestUpdateMultipleCmdBuild(
+              samResource.getMatchingSe().getSamRevision(),
+              sessionEncryption,
+              new ArrayList<byte[]>(digestDataGroup)));
+    }
+    digestDataGroup.clear();
+  }
+
   /**
    * Gets the terminal signature from the SAM
    *
@@ -395,11 +696,45 @@ class SamCommandProcessor {
    */
   byte[] getTerminalSignature() {
 
+    // In pipelined mode, the digest commands already scheduled must be completed first. The data
+    // pushed since then are sent below with the Digest Close command.
+    waitForPipelinedDigest(false);
+
     // All remaining SAM digest operations will now run at once.
     // Get the SAM Digest request including Digest Close from the cache manager
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         getPendingSamCommands(true);
 
+    List<ApduResponse> samApduResponses = transmitSamCommands(samCommands);
+
+    // Get Terminal Signature from the latest response
+    DigestCloseRespPars digestCloseRespPars =
+        (DigestCloseRespPars)
+            samCommands
+                .get(samCommands.size() - 1)
+                .createResponseParser(samApduResponses.get(samCommands.size() - 1));
+
+    byte[] sessionTerminalSignature = digestCloseRespPars.getSignature();
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("SIGNATURE = {}", ByteArrayUtil.toHex(sessionTerminalSignature));
+    }
+
+    return sessionTerminalSignature;
+  }
+
+  /**
+   * Transmits a list of SAM commands in a single request and checks the status of all responses.
+   *
+   * @param samCommands the SAM commands to transmit
+   * @return the list of responses
+   * @throws CalypsoSamIOException if the communication with the SAM has failed.
+   * @throws CalypsoDesynchronizedExchangesException if the APDU SAM exchanges are out of sync
+   * @throws CalypsoSamCommandException if the SAM has responded with an error status
+   */
+  private List<ApduResponse> transmitSamCommands(
+      List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands) {
+
     SeRequest samSeRequest = new SeRequest(getApduRequests(samCommands));
 
     // Transmit SeRequest and get SeResponse
@@ -426,20 +761,7 @@ class SamCommandProcessor {
       samCommands.get(i).createResponseParser(samApduResponses.get(i)).checkStatus();
     }
 
-    // Get Terminal Signature from the latest response
-    DigestCloseRespPars digestCloseRespPars =
-        (DigestCloseRespPars)
-            samCommands
-                .get(samCommands.size() - 1)
-                .createResponseParser(samApduResponses.get(samCommands.size() - 1));
-
-    byte[] sessionTerminalSignature = digestCloseRespPars.getSignature();
-
-    if (logger.isDebugEnabled()) {
-      logger.debug("SIGNATURE = {}", ByteArrayUtil.toHex(sessionTerminalSignature));
-    }
-
-    return sessionTerminalSignature;
+    return samApduResponses;
   }
 
   /**
@@ -453,6 +775,8 @@ class SamCommandProcessor {
    * @throws CalypsoSamCommandException if the SAM has responded with an error status
    */
   void authenticatePoSignature(byte[] poSignatureLo) {
+    waitForPipelinedDigest(false);
+
     // Check the PO signature part with the SAM
     // Build and send SAM Digest Authenticate command
     DigestAuthenticateCmdBuild digestAuthenticateCmdBuild =
@@ -515,6 +839,9 @@ class SamCommandProcessor {
    * @throws CalypsoSamCommandException if the SAM has responded with an error status
    */
   byte[] getCipheredPinData(byte[] poChallenge, byte[] currentPin, byte[] newPin) {
+    waitForPipelinedDigest(false);
+    discardPrefetchedChallenge();
+
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
     KeyReference pinCipheringKey;
@@ -592,6 +919,9 @@ class SamCommandProcessor {
    */
   private byte[] getSvComplementaryData(
       AbstractSamCommandBuilder<? extends AbstractSamResponseParser> svPrepareCmdBuild) {
+    waitForPipelinedDigest(false);
+    discardPrefetchedChallenge();
+
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
 
@@ -736,6 +1066,9 @@ class SamCommandProcessor {
    * @throws CalypsoSamCommandException if the SAM has responded with an error status
    */
   void checkSvStatus(byte[] svOperationResponseData) {
+    waitForPipelinedDigest(false);
+    discardPrefetchedChallenge();
+
     List<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>> samCommands =
         new ArrayList<AbstractSamCommandBuilder<? extends AbstractSamResponseParser>>();
 
@@ -29,6 +29,8 @@ public class SamIdentifier {
   SamRevision samRevision;
   String serialNumber;
   String groupReference;
+  /* the serial number regular expression, compiled on first use */
+  private volatile Pattern serialNumberPattern;
 
   /** Private constructor */
   private SamIdentifier(SamIdentifierBuilder builder) {
@@ -139,8 +141,7 @@ public class SamIdentifier {
       return false;
     }
     if (samIdentifier.getSerialNumber() != null && !samIdentifier.getSerialNumber().isEmpty()) {
-      Pattern p = Pattern.compile(samIdentifier.getSerialNumber());
-      if (!p.matcher(serialNumber).matches()) {
+      if (!samIdentifier.getSerialNumberPattern().matcher(serialNumber).matches()) {
         return false;
       }
     }
@@ -150,4 +151,20 @@ public class SamIdentifier {
     }
     return true;
   }
+
+  /**
+   * Gets the compiled serial number regular expression.
+   *
+   * <p>The pattern is compiled once and then reused for all the subsequent comparisons.
+   *
+   * @return the pattern (the serial number must be neither null nor empty)
+   */
+  private Pattern getSerialNumberPattern() {
+    Pattern pattern = serialNumberPattern;
+    if (pattern == null) {
+      pattern = Pattern.compile(serialNumber);
+      serialNumberPattern = pattern;
+    }
+    return pattern;
+  }
 }
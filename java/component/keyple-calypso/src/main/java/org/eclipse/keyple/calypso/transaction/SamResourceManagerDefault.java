@@ -14,6 +14,9 @@ package org.eclipse.keyple.calypso.transaction;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.exception.CalypsoNoSamResourceAvailableException;
@@ -44,9 +47,25 @@ public class SamResourceManagerDefault extends SamResourceManager {
   /* the maximum time (in milliseconds) during which the BLOCKING mode will wait */
   private final int maxBlockingTime;
   /*
-   * the sleep time between two tries (in milliseconds) during which the BLOCKING mode will wait
+   * the lock protecting the SAM resources status and the allocation queue, it is fair so that the
+   * threads freeing resources are not delayed by the allocating threads
    */
-  private final int sleepTime;
+  private final ReentrantLock allocationLock = new ReentrantLock(true);
+  /*
+   * the free SAM resources indexed by the group reference of their SAM identifier (null key for the
+   * resources matching any group), guarded by allocationLock
+   */
+  private final Map<String, Set<ManagedSamResource>> freeSamResourcesByGroup =
+      new HashMap<String, Set<ManagedSamResource>>();
+  /* the pending BLOCKING allocations, in arrival order */
+  private final LinkedList<PendingAllocation> pendingAllocations =
+      new LinkedList<PendingAllocation>();
+  /* allocation statistics, guarded by allocationLock */
+  private int maxQueueDepth;
+  private long allocationCount;
+  private long timeoutCount;
+  private long totalWaitTime;
+  private long maxWaitTime;
 
   /**
    * Protected constructor, use the {@link SamResourceManagerFactory}
@@ -54,9 +73,10 @@ public class SamResourceManagerDefault extends SamResourceManager {
    * @param readerPlugin the plugin through which SAM readers are accessible
    * @param samReaderFilter the regular expression defining how to identify SAM readers among
    *     others.
-   * @param maxBlockingTime the maximum duration for which the allocateSamResource method will
-   *     attempt to allocate a new reader by retrying (in milliseconds)
-   * @param sleepTime the duration to wait between two retries
+   * @param maxBlockingTime the maximum duration for which the allocateSamResource method will wait
+   *     for a SAM resource to be freed (in milliseconds)
+   * @param sleepTime the duration to wait between two retries (no longer used, a waiting
+   *     allocation is resumed as soon as a matching SAM resource is freed)
    * @throws KeypleReaderException thrown if an error occurs while getting the readers list.
    */
   protected SamResourceManagerDefault(
@@ -70,7 +90,6 @@ public class SamResourceManagerDefault extends SamResourceManager {
     if (maxBlockingTime < 1) {
       throw new IllegalArgumentException("Max Blocking Time must be greater than 0");
     }
-    this.sleepTime = sleepTime;
     this.maxBlockingTime = maxBlockingTime;
     this.samReaderPlugin = readerPlugin;
 
@@ -112,82 +131,286 @@ public class SamResourceManagerDefault extends SamResourceManager {
    * @param samReader the SAM reader of the resource to remove from the list.
    */
   protected void removeResource(SeReader samReader) {
-    ManagedSamResource managedSamResource = localManagedSamResources.get(samReader.getName());
-    if (managedSamResource != null) {
-      localManagedSamResources.remove(samReader.getName());
-      if (logger.isInfoEnabled()) {
-        logger.trace(
-            "Freed SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
-            samReader.getName(),
-            managedSamResource.getMatchingSe().getSamRevision(),
-            ByteArrayUtil.toHex(managedSamResource.getMatchingSe().getSerialNumber()));
+    allocationLock.lock();
+    try {
+      ManagedSamResource managedSamResource = localManagedSamResources.get(samReader.getName());
+      if (managedSamResource != null) {
+        localManagedSamResources.remove(samReader.getName());
+        unindexFreeResource(managedSamResource);
+        if (logger.isInfoEnabled()) {
+          logger.trace(
+              "Freed SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
+              samReader.getName(),
+              managedSamResource.getMatchingSe().getSamRevision(),
+              ByteArrayUtil.toHex(managedSamResource.getMatchingSe().getSerialNumber()));
+        }
+      }
+    } finally {
+      allocationLock.unlock();
+    }
+  }
+
+  /**
+   * Adds a new SAM resource to the current list and hands it over to a pending allocation if any.
+   *
+   * <p>The SAM identifier of the resource must not be changed once it has been added.
+   *
+   * @param samReader the SAM reader of the resource
+   * @param managedSamResource the SAM resource
+   */
+  private void addResource(SeReader samReader, ManagedSamResource managedSamResource) {
+    allocationLock.lock();
+    try {
+      localManagedSamResources.put(samReader.getName(), managedSamResource);
+      releaseResource(managedSamResource);
+    } finally {
+      allocationLock.unlock();
+    }
+  }
+
+  /**
+   * Gets the group reference under which a SAM resource is indexed.
+   *
+   * @param managedSamResource the SAM resource
+   * @return the group reference of the resource or null if the resource matches any group
+   */
+  private static String getIndexGroupReference(ManagedSamResource managedSamResource) {
+    SamIdentifier samIdentifier = managedSamResource.getSamIdentifier();
+    return samIdentifier != null ? samIdentifier.getGroupReference() : null;
+  }
+
+  /**
+   * Marks a SAM resource as free and either hands it over to a pending allocation or makes it
+   * available for the next allocations.
+   *
+   * <p>Must be called with the allocation lock held.
+   *
+   * @param managedSamResource the SAM resource
+   */
+  private void releaseResource(ManagedSamResource managedSamResource) {
+    managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.FREE);
+    if (dispatchFreeResource(managedSamResource)) {
+      return;
+    }
+    String groupReference = getIndexGroupReference(managedSamResource);
+    Set<ManagedSamResource> freeSamResources = freeSamResourcesByGroup.get(groupReference);
+    if (freeSamResources == null) {
+      freeSamResources = new LinkedHashSet<ManagedSamResource>();
+      freeSamResourcesByGroup.put(groupReference, freeSamResources);
+    }
+    freeSamResources.add(managedSamResource);
+  }
+
+  /**
+   * Removes a SAM resource from the free resources index.
+   *
+   * <p>Must be called with the allocation lock held.
+   *
+   * @param managedSamResource the SAM resource
+   */
+  private void unindexFreeResource(ManagedSamResource managedSamResource) {
+    Set<ManagedSamResource> freeSamResources =
+        freeSamResourcesByGroup.get(getIndexGroupReference(managedSamResource));
+    if (freeSamResources != null) {
+      freeSamResources.remove(managedSamResource);
+    }
+  }
+
+  /**
+   * Looks for a free SAM resource matching the provided SAM identifier and marks it as busy.
+   *
+   * <p>Only the resources of the targeted group and the resources matching any group are
+   * examined.
+   *
+   * <p>Must be called with the allocation lock held.
+   *
+   * @param samIdentifier the targeted SAM identifier
+   * @return the SAM resource or null if no matching resource is free
+   */
+  private ManagedSamResource takeFreeResource(SamIdentifier samIdentifier) {
+    ManagedSamResource managedSamResource =
+        takeFreeResource(
+            freeSamResourcesByGroup.get(samIdentifier.getGroupReference()), samIdentifier);
+    if (managedSamResource == null && samIdentifier.getGroupReference() != null) {
+      managedSamResource = takeFreeResource(freeSamResourcesByGroup.get(null), samIdentifier);
+    }
+    return managedSamResource;
+  }
+
+  /**
+   * Looks for a SAM resource matching the provided SAM identifier in a set of free resources and
+   * marks it as busy.
+   *
+   * @param freeSamResources the free SAM resources (may be null)
+   * @param samIdentifier the targeted SAM identifier
+   * @return the SAM resource or null if no resource of the set matches
+   */
+  private static ManagedSamResource takeFreeResource(
+      Set<ManagedSamResource> freeSamResources, SamIdentifier samIdentifier) {
+    if (freeSamResources == null) {
+      return null;
+    }
+    Iterator<ManagedSamResource> iterator = freeSamResources.iterator();
+    while (iterator.hasNext()) {
+      ManagedSamResource managedSamResource = iterator.next();
+      if (managedSamResource.isSamMatching(samIdentifier)) {
+        iterator.remove();
+        managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.BUSY);
+        return managedSamResource;
       }
     }
+    return null;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>In BLOCKING mode, the pending allocations are served in their arrival order: a freed SAM
+   * resource is directly handed over to the oldest pending allocation it matches.
+   */
   @Override
   public SeResource<CalypsoSam> allocateSamResource(
       AllocationMode allocationMode, SamIdentifier samIdentifier) {
-    long maxBlockingDate = System.currentTimeMillis() + maxBlockingTime;
-    boolean noSamResourceLogged = false;
     logger.trace("Allocating SAM reader channel...");
-    while (true) {
-      synchronized (localManagedSamResources) {
-        for (Map.Entry<String, ManagedSamResource> entry : localManagedSamResources.entrySet()) {
-          ManagedSamResource managedSamResource = entry.getValue();
-          if (managedSamResource.isSamResourceFree()) {
-            if (managedSamResource.isSamMatching(samIdentifier)) {
-              managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.BUSY);
-              logger.debug("Allocation succeeded. SAM resource created.");
-              return managedSamResource;
-            }
-          }
-        }
+    long startTime = System.nanoTime();
+    allocationLock.lock();
+    try {
+      // a free resource matches none of the pending allocations, it can be taken right away
+      ManagedSamResource freeSamResource = takeFreeResource(samIdentifier);
+      if (freeSamResource != null) {
+        notifyAllocation(startTime);
+        logger.debug("Allocation succeeded. SAM resource created.");
+        return freeSamResource;
       }
 
-      // loop until MAX_BLOCKING_TIME in blocking mode, only once in non-blocking mode
       if (allocationMode == AllocationMode.NON_BLOCKING) {
         logger.trace("No SAM resources available at the moment.");
         throw new CalypsoNoSamResourceAvailableException(
             "No Sam resource could be allocated for samIdentifier +"
                 + samIdentifier.getGroupReference());
-      } else {
-        if (!noSamResourceLogged) {
-          /* log once the first time */
-          logger.trace("No SAM resources available at the moment.");
-          noSamResourceLogged = true;
-        }
-        try {
-          Thread.sleep(sleepTime);
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt(); // set interrupt flag
-          logger.error("Interrupt exception in Thread.sleep.");
-        }
-        if (System.currentTimeMillis() >= maxBlockingDate) {
-          logger.error(
-              "The allocation process failed. Timeout {} sec exceeded .",
-              (maxBlockingTime / 1000.0));
-          throw new CalypsoNoSamResourceAvailableException(
-              "No Sam resource could be allocated within timeout of "
-                  + maxBlockingTime
-                  + "ms for samIdentifier "
-                  + samIdentifier.getGroupReference());
-        }
       }
+
+      logger.trace("No SAM resources available at the moment.");
+      ManagedSamResource managedSamResource = waitForResource(samIdentifier);
+      if (managedSamResource == null) {
+        timeoutCount++;
+        logger.error(
+            "The allocation process failed. Timeout {} sec exceeded .",
+            (maxBlockingTime / 1000.0));
+        throw new CalypsoNoSamResourceAvailableException(
+            "No Sam resource could be allocated within timeout of "
+                + maxBlockingTime
+                + "ms for samIdentifier "
+                + samIdentifier.getGroupReference());
+      }
+      notifyAllocation(startTime);
+      logger.debug("Allocation succeeded. SAM resource created.");
+      return managedSamResource;
+    } finally {
+      allocationLock.unlock();
+    }
+  }
+
+  /**
+   * Queues a pending allocation and waits until a SAM resource is handed over to it.
+   *
+   * <p>Must be called with the allocation lock held.
+   *
+   * @param samIdentifier the targeted SAM identifier
+   * @return the allocated SAM resource or null if the maximum blocking time has elapsed
+   */
+  private ManagedSamResource waitForResource(SamIdentifier samIdentifier) {
+    PendingAllocation pendingAllocation =
+        new PendingAllocation(samIdentifier, allocationLock.newCondition());
+    pendingAllocations.addLast(pendingAllocation);
+    if (pendingAllocations.size() > maxQueueDepth) {
+      maxQueueDepth = pendingAllocations.size();
+    }
+    long remainingTime = TimeUnit.MILLISECONDS.toNanos(maxBlockingTime);
+    try {
+      while (pendingAllocation.samResource == null && remainingTime > 0) {
+        remainingTime = pendingAllocation.condition.awaitNanos(remainingTime);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt(); // set interrupt flag
+      logger.error("Interrupt exception while waiting for a SAM resource.");
+    } finally {
+      pendingAllocations.remove(pendingAllocation);
+    }
+    return pendingAllocation.samResource;
+  }
+
+  /**
+   * Hands over a free SAM resource to the oldest pending allocation it matches, if any.
+   *
+   * <p>Must be called with the allocation lock held.
+   *
+   * @param managedSamResource the free SAM resource
+   * @return true if the resource has been handed over
+   */
+  private boolean dispatchFreeResource(ManagedSamResource managedSamResource) {
+    for (PendingAllocation pendingAllocation : pendingAllocations) {
+      if (pendingAllocation.samResource == null
+          && managedSamResource.isSamMatching(pendingAllocation.samIdentifier)) {
+        managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.BUSY);
+        pendingAllocation.samResource = managedSamResource;
+        pendingAllocation.condition.signal();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Updates the allocation statistics.
+   *
+   * <p>Must be called with the allocation lock held.
+   *
+   * @param startTime the allocation start time (in nanoseconds)
+   */
+  private void notifyAllocation(long startTime) {
+    long waitTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    allocationCount++;
+    totalWaitTime += waitTime;
+    if (waitTime > maxWaitTime) {
+      maxWaitTime = waitTime;
     }
   }
 
   @Override
   public void freeSamResource(SeResource<CalypsoSam> samResource) {
-    synchronized (localManagedSamResources) {
+    allocationLock.lock();
+    try {
       ManagedSamResource managedSamResource =
           localManagedSamResources.get(samResource.getSeReader().getName());
       if (managedSamResource != null) {
         logger.trace("Freeing local SAM resource.");
-        managedSamResource.setSamResourceStatus(ManagedSamResource.SamResourceStatus.FREE);
+        releaseResource(managedSamResource);
       } else {
         logger.error("SAM resource not found while freeing.");
       }
+    } finally {
+      allocationLock.unlock();
+    }
+  }
+
+  /**
+   * Gets a snapshot of the allocation statistics.
+   *
+   * @return a not null {@link AllocationStatistics}
+   */
+  public AllocationStatistics getAllocationStatistics() {
+    allocationLock.lock();
+    try {
+      return new AllocationStatistics(
+          pendingAllocations.size(),
+          maxQueueDepth,
+          allocationCount,
+          timeoutCount,
+          totalWaitTime,
+          maxWaitTime);
+    } finally {
+      allocationLock.unlock();
     }
   }
 
@@ -323,7 +546,8 @@ public class SamResourceManagerDefault extends SamResourceManager {
       } catch (KeypleReaderNotFoundException e) {
         e.printStackTrace();
       }
-      synchronized (localManagedSamResources) {
+      allocationLock.lock();
+      try {
         switch (event.getEventType()) {
           case SE_MATCHED:
           case SE_INSERTED:
@@ -355,7 +579,7 @@ public class SamResourceManagerDefault extends SamResourceManager {
                     newSamResource.getMatchingSe().getSamRevision(),
                     ByteArrayUtil.toHex(newSamResource.getMatchingSe().getSerialNumber()));
               }
-              localManagedSamResources.put(samReader.getName(), newSamResource);
+              addResource(samReader, newSamResource);
             }
             break;
           case SE_REMOVED:
@@ -363,6 +587,8 @@ public class SamResourceManagerDefault extends SamResourceManager {
             removeResource(samReader);
             break;
         }
+      } finally {
+        allocationLock.unlock();
       }
     }
   }
@@ -382,9 +608,7 @@ public class SamResourceManagerDefault extends SamResourceManager {
       samReader.setParameter("mode", "shared");
       if (samReader.isSePresent()) {
         logger.trace("Create SAM resource: {}", samReader.getName());
-        synchronized (localManagedSamResources) {
-          localManagedSamResources.put(samReader.getName(), createSamResource(samReader));
-        }
+        addResource(samReader, createSamResource(samReader));
       }
     } catch (KeypleException e) {
       throw new IllegalArgumentException(
@@ -451,6 +675,15 @@ public class SamResourceManagerDefault extends SamResourceManager {
       this.samIdentifier = samIdentifier;
     }
 
+    /**
+     * Gets the {@link SamIdentifier} of the current {@link ManagedSamResource}
+     *
+     * @return the SAM identifier or null if not defined
+     */
+    public SamIdentifier getSamIdentifier() {
+      return samIdentifier;
+    }
+
     /**
      * Indicates whether the ManagedSamResource matches the provided SAM identifier.
      *
@@ -479,4 +712,76 @@ public class SamResourceManagerDefault extends SamResourceManager {
       this.samResourceStatus = samResourceStatus;
     }
   }
+
+  /** A BLOCKING allocation waiting for a SAM resource */
+  private static final class PendingAllocation {
+    private final SamIdentifier samIdentifier;
+    private final Condition condition;
+    /* the SAM resource handed over to this allocation, null while waiting */
+    private ManagedSamResource samResource;
+
+    private PendingAllocation(SamIdentifier samIdentifier, Condition condition) {
+      this.samIdentifier = samIdentifier;
+      this.condition = condition;
+    }
+  }
+
+  /**
+   * Snapshot of the allocation statistics of a {@link SamResourceManagerDefault}.
+   *
+   * <p>All durations are in milliseconds.
+   */
+  public static final class AllocationStatistics {
+    private final int queueDepth;
+    private final int maxQueueDepth;
+    private final long allocationCount;
+    private final long timeoutCount;
+    private final long totalWaitTime;
+    private final long maxWaitTime;
+
+    private AllocationStatistics(
+        int queueDepth,
+        int maxQueueDepth,
+        long allocationCount,
+        long timeoutCount,
+        long totalWaitTime,
+        long maxWaitTime) {
+      this.queueDepth = queueDepth;
+      this.maxQueueDepth = maxQueueDepth;
+      this.allocationCount = allocationCount;
+      this.timeoutCount = timeoutCount;
+      this.totalWaitTime = totalWaitTime;
+      this.maxWaitTime = maxWaitTime;
+    }
+
+    /** @return the number of allocations currently waiting for a SAM resource */
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    /** @return the highest number of allocations simultaneously waiting for a SAM resource */
+    public int getMaxQueueDepth() {
+      return maxQueueDepth;
+    }
+
+    /** @return the number of successful allocations */
+    public long getAllocationCount() {
+      return allocationCount;
+    }
+
+    /** @return the number of BLOCKING allocations that failed after the maximum blocking time */
+    public long getTimeoutCount() {
+      return timeoutCount;
+    }
+
+    /** @return the average time taken by the successful allocations */
+    public long getAverageWaitTime() {
+      return allocationCount == 0 ? 0 : totalWaitTime / allocationCount;
+    }
+
+    /** @return the longest time taken by a successful allocation */
+    public long getMaxWaitTime() {
+      return maxWaitTime;
+    }
+  }
 }
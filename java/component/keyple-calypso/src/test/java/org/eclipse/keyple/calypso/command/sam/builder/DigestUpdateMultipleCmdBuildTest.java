@@ -14,6 +14,8 @@ package org.eclipse.keyple.calypso.command.sam.builder;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 import static org.assertj.core.api.Java6Assertions.shouldHaveThrown;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.command.sam.builder.security.DigestUpdateMultipleCmdBuild;
 import org.eclipse.keyple.calypso.command.sam.parser.security.DigestUpdateMultipleRespPars;
@@ -30,9 +32,13 @@ public class DigestUpdateMultipleCmdBuildTest {
   private static final String DIGEST_DATA = "112233445566778899AA";
   private static final String SW1SW2_OK = "9000";
   private static final byte LENGTH_4 = (byte) 0x04;
-  private static final String APDU_CLA_80 = "808C00000A" + DIGEST_DATA;
-  private static final String APDU_CLA_80_ENCRYPTED_SESSION = "808C00800A" + DIGEST_DATA;
-  private static final String APDU_CLA_94 = "948C00000A" + DIGEST_DATA;
+  private static final String APDU_CLA_80 = "808C80000A" + DIGEST_DATA;
+  private static final String APDU_CLA_80_ENCRYPTED_SESSION = "808C80800A" + DIGEST_DATA;
+  private static final String APDU_CLA_94 = "948C80000A" + DIGEST_DATA;
+  private static final String DIGEST_DATA_1 = "00B2013C00";
+  private static final String DIGEST_DATA_2 = "11229000";
+  private static final String APDU_CLA_80_DIGEST_DATA_LIST =
+      "808C80000B" + "05" + DIGEST_DATA_1 + "04" + DIGEST_DATA_2;
 
   @Test
   public void digestUpdateMultipleCmdBuild_defaultRevision_createParser() {
@@ -81,7 +87,7 @@ public class DigestUpdateMultipleCmdBuildTest {
 
   @Test(expected = IllegalArgumentException.class)
   public void digestUpdateMultipleCmdBuild_digestDataNull() {
-    new DigestUpdateMultipleCmdBuild(null, ENCRYPTED_SESSION_FALSE, null);
+    new DigestUpdateMultipleCmdBuild(null, ENCRYPTED_SESSION_FALSE, (byte[]) null);
     shouldHaveThrown(IllegalArgumentException.class);
   }
 
@@ -96,4 +102,32 @@ public class DigestUpdateMultipleCmdBuildTest {
         null, ENCRYPTED_SESSION_FALSE, ByteArrayUtil.fromHex(digestData));
     shouldHaveThrown(IllegalArgumentException.class);
   }
+
+  @Test
+  public void digestUpdateMultipleCmdBuild_digestDataList() {
+    List<byte[]> digestDataList = new ArrayList<byte[]>();
+    digestDataList.add(ByteArrayUtil.fromHex(DIGEST_DATA_1));
+    digestDataList.add(ByteArrayUtil.fromHex(DIGEST_DATA_2));
+    DigestUpdateMultipleCmdBuild digestUpdateMultipleCmdBuild =
+        new DigestUpdateMultipleCmdBuild(SamRevision.C1, ENCRYPTED_SESSION_FALSE, digestDataList);
+    assertThat(digestUpdateMultipleCmdBuild.getApduRequest().getBytes())
+        .isEqualTo(ByteArrayUtil.fromHex(APDU_CLA_80_DIGEST_DATA_LIST));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void digestUpdateMultipleCmdBuild_emptyDigestDataList() {
+    new DigestUpdateMultipleCmdBuild(
+        SamRevision.C1, ENCRYPTED_SESSION_FALSE, new ArrayList<byte[]>());
+    shouldHaveThrown(IllegalArgumentException.class);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void digestUpdateMultipleCmdBuild_digestDataListTooLong() {
+    List<byte[]> digestDataList = new ArrayList<byte[]>();
+    // 2 x (1 + 127) = 256 bytes
+    digestDataList.add(new byte[127]);
+    digestDataList.add(new byte[127]);
+    new DigestUpdateMultipleCmdBuild(SamRevision.C1, ENCRYPTED_SESSION_FALSE, digestDataList);
+    shouldHaveThrown(IllegalArgumentException.class);
+  }
 }
@@ -18,8 +18,12 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.when;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.keyple.calypso.CalypsoBaseTest;
 import org.eclipse.keyple.calypso.command.sam.SamRevision;
 import org.eclipse.keyple.calypso.exception.CalypsoNoSamResourceAvailableException;
@@ -103,6 +107,80 @@ public class ManagedSamResourceManagerDefaultTest extends CalypsoBaseTest {
     Assert.assertTrue(stop - start < MAX_BLOCKING_TIME);
   }
 
+  @Test
+  public void samResourceWithoutGroupMatchesAnyGroup() {
+
+    // init SamResourceManager with a single SAM (no SAM identifier defined)
+    SamResourceManagerDefault srmSpy = srmSpy(".*");
+
+    // test
+    SeResource<CalypsoSam> first =
+        srmSpy.allocateSamResource(
+            SamResourceManager.AllocationMode.NON_BLOCKING,
+            SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("groupA").build());
+    Boolean exceptionThrown = false;
+    try {
+      srmSpy.allocateSamResource(
+          SamResourceManager.AllocationMode.NON_BLOCKING,
+          SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("groupA").build());
+    } catch (CalypsoNoSamResourceAvailableException e) {
+      exceptionThrown = true;
+    }
+    srmSpy.freeSamResource(first);
+    SeResource<CalypsoSam> second =
+        srmSpy.allocateSamResource(
+            SamResourceManager.AllocationMode.NON_BLOCKING,
+            SamIdentifier.builder().samRevision(SamRevision.AUTO).groupReference("groupB").build());
+
+    // assert the busy SAM is not allocated twice and is allocated again once freed
+    Assert.assertNotNull(first);
+    Assert.assertTrue(exceptionThrown);
+    Assert.assertSame(first, second);
+  }
+
+  @Test
+  public void freedSamResourceIsHandedOverToWaitingAllocation() throws Exception {
+
+    // init SamResourceManager with a single SAM
+    final SamResourceManagerDefault srmSpy = srmSpy(".*");
+    final SamIdentifier samIdentifier =
+        SamIdentifier.builder().samRevision(SamRevision.AUTO).build();
+
+    final SeResource<CalypsoSam> first =
+        srmSpy.allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+
+    // a second allocation waits for the SAM
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+    Future<SeResource<CalypsoSam>> second =
+        executorService.submit(
+            new Callable<SeResource<CalypsoSam>>() {
+              @Override
+              public SeResource<CalypsoSam> call() {
+                return srmSpy.allocateSamResource(
+                    SamResourceManager.AllocationMode.BLOCKING, samIdentifier);
+              }
+            });
+    while (srmSpy.getAllocationStatistics().getQueueDepth() == 0) {
+      Thread.sleep(1);
+    }
+
+    // test
+    long start = System.currentTimeMillis();
+    srmSpy.freeSamResource(first);
+    SeResource<CalypsoSam> out = second.get();
+    long stop = System.currentTimeMillis();
+    executorService.shutdown();
+
+    // assert the SAM has been handed over without waiting for the timeout
+    Assert.assertSame(first, out);
+    Assert.assertTrue(stop - start < MAX_BLOCKING_TIME);
+    SamResourceManagerDefault.AllocationStatistics statistics = srmSpy.getAllocationStatistics();
+    Assert.assertEquals(0, statistics.getQueueDepth());
+    Assert.assertEquals(1, statistics.getMaxQueueDepth());
+    Assert.assertEquals(2, statistics.getAllocationCount());
+    Assert.assertEquals(0, statistics.getTimeoutCount());
+  }
+
   /*
    * Helpers
    */
@@ -21,6 +21,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.calypso.SelectFileControl;
 import org.eclipse.keyple.calypso.command.po.exception.CalypsoPoCommandException;
 import org.eclipse.keyple.calypso.transaction.exception.CalypsoAtomicTransactionException;
@@ -45,6 +52,7 @@ import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -259,6 +267,8 @@ public class PoTransactionTest {
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI7_REC1_RSP =
       "808C00001F" + FILE7_REC1_29B + SW1SW2_OK;
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD = "808C00000500B2014400";
+  private static final String SAM_DIGEST_UPDATE_MULTIPLE_READ_REC_SFI8_REC1_CMD =
+      "808C800026" + "0500B2014400" + "1F" + FILE8_REC1_29B + "9000";
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI10_REC1_CMD = "808C00000500B2018C00";
   private static final String SAM_DIGEST_UPDATE_READ_REC_SFI10_REC1_RSP_CMD =
       "808C000024001122000000000000000000000000000000000000000000000000000000000000009000";
@@ -1128,6 +1138,480 @@ public class PoTransactionTest {
     assertThat(true).isTrue();
   }
 
+  /* Commands prepared after the session end: sent in the same exchange as the Close Session */
+  @Test
+  public void testProcessClosing_commandsAfterSessionEnd() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .ratificationMode(PoTransaction.SessionSetting.RatificationMode.CLOSE_NOT_RATIFIED) //
+            .build();
+
+    poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_NOT_RATIFIED_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    poTransaction.prepareSessionEnd();
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processClosing();
+
+    // the Close Session and the read command are sent in a single script
+    ArgumentCaptor<List> poSeRequests = ArgumentCaptor.forClass(List.class);
+    verify((ProxyReader) poReader)
+        .transmitSeRequestScript(poSeRequests.capture(), any(ChannelControl.class));
+    assertThat(poSeRequests.getValue()).hasSize(2);
+    assertThat(calypsoPoRev31.getFileBySfi(FILE8).getData().getContent())
+        .isEqualTo(FILE8_REC1_29B_BYTES);
+  }
+
+  /* Commands prepared after the session end, the ratification fails: they are reported as failed */
+  @Test
+  public void testProcessClosing_commandsAfterSessionEnd_ratificationFail() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .build();
+
+    poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+    // no response to the ratification command (PO removed)
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    poTransaction.prepareSessionEnd();
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.prepareReleasePoChannel();
+    try {
+      poTransaction.processClosing();
+    } catch (CalypsoPoIOException ex) {
+      // expected exception: the read command has not been executed
+      try {
+        assertThat(calypsoPoRev31.getFileBySfi(FILE8)).isNull();
+        shouldHaveThrown(NoSuchElementException.class);
+      } catch (NoSuchElementException e) {
+      }
+      // the session closing has been processed anyway
+      ArgumentCaptor<SeRequest> samSeRequests = ArgumentCaptor.forClass(SeRequest.class);
+      verify((ProxyReader) samResource.getSeReader(), atLeastOnce())
+          .transmitSeRequest(samSeRequests.capture(), any(ChannelControl.class));
+      SeRequest lastSamSeRequest =
+          samSeRequests.getAllValues().get(samSeRequests.getAllValues().size() - 1);
+      assertThat(ByteArrayUtil.toHex(lastSamSeRequest.getApduRequests().get(0).getBytes()))
+          .isEqualTo(SAM_DIGEST_AUTHENTICATE);
+      return;
+    }
+    fail("Unexpected behaviour");
+  }
+
+  /* Pipelined digest: the digest commands are sent before the closing, only Digest Close remains */
+  @Test
+  public void testProcessClosing_pipelinedDigest() {
+    ExecutorService digestExecutorService = Executors.newSingleThreadExecutor();
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .pipelinedDigest(digestExecutorService) //
+            .build();
+
+    poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_RSP_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processClosing();
+
+    digestExecutorService.shutdown();
+
+    // the request including the Digest Close command contains no other command
+    ArgumentCaptor<SeRequest> samSeRequests = ArgumentCaptor.forClass(SeRequest.class);
+    verify((ProxyReader) samResource.getSeReader(), atLeastOnce())
+        .transmitSeRequest(samSeRequests.capture(), any(ChannelControl.class));
+    boolean digestCloseFound = false;
+    for (SeRequest samSeRequest : samSeRequests.getAllValues()) {
+      List<ApduRequest> apduRequests = samSeRequest.getApduRequests();
+      if (ByteArrayUtil.toHex(apduRequests.get(apduRequests.size() - 1).getBytes())
+          .equals(SAM_DIGEST_CLOSE_CMD)) {
+        assertThat(apduRequests).hasSize(1);
+        digestCloseFound = true;
+      }
+    }
+    assertThat(digestCloseFound).isTrue();
+    assertThat(calypsoPoRev31.getFileBySfi(FILE8).getData().getContent())
+        .isEqualTo(FILE8_REC1_29B_BYTES);
+  }
+
+  /*
+   * Pipelined digest with a modification command: the digest data of the closing are sent with the
+   * Digest Close command, the closing costs a single SAM exchange before the PO authentication
+   */
+  @Test
+  public void testProcessClosing_pipelinedDigest_modification() throws Exception {
+    ExecutorService digestExecutorService = Executors.newSingleThreadExecutor();
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .pipelinedDigest(digestExecutorService) //
+            .build();
+
+    poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_UPDATE_REC_SFI7_REC1_4B_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_RSP_OK_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_UPDATE_REC_SFI7_REC1_4B_CMD, SW1SW2_OK_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    // the Digest Init command of the opening has been sent
+    digestExecutorService
+        .submit(
+            new Runnable() {
+              @Override
+              public void run() {}
+            })
+        .get();
+    ProxyReader samReader = (ProxyReader) samResource.getSeReader();
+    clearInvocations(samReader);
+
+    poTransaction.prepareUpdateRecord(FILE7, (byte) 1, ByteArrayUtil.fromHex(FILE7_REC1_4B));
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processClosing();
+
+    digestExecutorService.shutdown();
+
+    // Digest Update and Digest Close in a first exchange, Digest Authenticate in a second one
+    ArgumentCaptor<SeRequest> samSeRequests = ArgumentCaptor.forClass(SeRequest.class);
+    verify(samReader, times(2))
+        .transmitSeRequest(samSeRequests.capture(), any(ChannelControl.class));
+    List<ApduRequest> closingApduRequests = samSeRequests.getAllValues().get(0).getApduRequests();
+    assertThat(closingApduRequests).hasSize(3);
+    assertThat(ByteArrayUtil.toHex(closingApduRequests.get(0).getBytes()))
+        .isEqualTo(SAM_DIGEST_UPDATE_UPDATE_REC_SFI7_REC1_4B_CMD);
+    assertThat(ByteArrayUtil.toHex(closingApduRequests.get(2).getBytes()))
+        .isEqualTo(SAM_DIGEST_CLOSE_CMD);
+    assertThat(calypsoPoRev31.getFileBySfi(FILE7).getData().getContent(1))
+        .isEqualTo(ByteArrayUtil.fromHex(FILE7_REC1_4B));
+  }
+
+  /* Pipelined digest: the digest commands pending when the session is cancelled are dropped */
+  @Test
+  public void testProcessCancel_pipelinedDigest() throws Exception {
+    ExecutorService digestExecutorService = Executors.newSingleThreadExecutor();
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .pipelinedDigest(digestExecutorService) //
+            .build();
+
+    poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_READ_REC_SFI8_REC1_RSP_CMD, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+    poCommandsTestSet.put(PO_ABORT_SECURE_SESSION_CMD, SW1SW2_OK_RSP);
+
+    // the digest tasks of the session are queued behind a blocked task
+    final CountDownLatch digestExecutorBlocked = new CountDownLatch(1);
+    digestExecutorService.submit(
+        new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            digestExecutorBlocked.await();
+            return null;
+          }
+        });
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    poTransaction.processCancel();
+
+    digestExecutorBlocked.countDown();
+    digestExecutorService.shutdown();
+    assertThat(digestExecutorService.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+    // no digest command of the cancelled session has been sent to the SAM
+    ArgumentCaptor<SeRequest> samSeRequests = ArgumentCaptor.forClass(SeRequest.class);
+    verify((ProxyReader) samResource.getSeReader(), atLeastOnce())
+        .transmitSeRequest(samSeRequests.capture(), any(ChannelControl.class));
+    for (SeRequest samSeRequest : samSeRequests.getAllValues()) {
+      for (ApduRequest apduRequest : samSeRequest.getApduRequests()) {
+        assertThat(ByteArrayUtil.toHex(apduRequest.getBytes()))
+            .isNotEqualTo(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD);
+      }
+    }
+  }
+
+  /*
+   * SAM challenge prefetch: the challenge of the second session is requested at the end of the
+   * first one, the diversification is then sent with the Digest Init command
+   */
+  @Test
+  public void testProcessOpening_samChallengePrefetch() throws Exception {
+    ExecutorService challengeExecutorService = Executors.newSingleThreadExecutor();
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .samChallengePrefetch(challengeExecutorService) //
+            .build();
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+    for (int i = 0; i < 2; i++) {
+      poTransaction =
+          new PoTransaction(
+              new SeResource<CalypsoPo>(poReader, createCalypsoPo(FCI_REV31)), poSecuritySettings);
+      poTransaction.prepareReadRecordFile(FILE7, 1);
+      poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+      poTransaction.prepareReleasePoChannel();
+      poTransaction.processClosing();
+    }
+
+    challengeExecutorService.shutdown();
+    assertThat(challengeExecutorService.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+    ArgumentCaptor<SeRequest> samSeRequests = ArgumentCaptor.forClass(SeRequest.class);
+    verify((ProxyReader) samResource.getSeReader(), atLeastOnce())
+        .transmitSeRequest(samSeRequests.capture(), any(ChannelControl.class));
+    List<String> samApdus = new ArrayList<String>();
+    for (SeRequest samSeRequest : samSeRequests.getAllValues()) {
+      for (ApduRequest apduRequest : samSeRequest.getApduRequests()) {
+        samApdus.add(ByteArrayUtil.toHex(apduRequest.getBytes()));
+      }
+    }
+    // session 1: diversification and challenge at opening, signature at closing, prefetch
+    // session 2: diversification with the Digest Init, signature at closing, prefetch
+    assertThat(samApdus)
+        .containsExactly(
+            SAM_SELECT_DIVERSIFIER_CMD,
+            SAM_GET_CHALLENGE_CMD,
+            SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD,
+            SAM_DIGEST_CLOSE_CMD,
+            SAM_DIGEST_AUTHENTICATE,
+            SAM_GET_CHALLENGE_CMD,
+            SAM_SELECT_DIVERSIFIER_CMD,
+            SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD,
+            SAM_DIGEST_CLOSE_CMD,
+            SAM_DIGEST_AUTHENTICATE,
+            SAM_GET_CHALLENGE_CMD);
+  }
+
+  /* Digest Update Multiple: the PO command and response are sent to the SAM in a single APDU */
+  @Test
+  public void testProcessClosing_digestUpdateMultiple() {
+    CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+    PoSecuritySettings poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(samResource) //
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+            .sessionDefaultKeyRecordNumber(
+                AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT) //
+            .digestUpdateMultiple(true) //
+            .build();
+
+    poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPoRev31), poSecuritySettings);
+
+    samCommandsTestSet.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_SFI7_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_UPDATE_MULTIPLE_READ_REC_SFI8_REC1_CMD, SW1SW2_OK_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_CLOSE_CMD, SAM_DIGEST_CLOSE_RSP);
+    samCommandsTestSet.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+    poCommandsTestSet.put(
+        PO_OPEN_SECURE_SESSION_SFI7_REC1_CMD, PO_OPEN_SECURE_SESSION_SFI7_REC1_RSP);
+    poCommandsTestSet.put(PO_READ_REC_SFI8_REC1_CMD, PO_READ_REC_SFI8_REC1_RSP);
+    poCommandsTestSet.put(PO_CLOSE_SECURE_SESSION_CMD, PO_CLOSE_SECURE_SESSION_RSP);
+    poCommandsTestSet.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+    poTransaction.prepareReadRecordFile(FILE7, 1);
+    poTransaction.prepareReadRecordFile(FILE8, 1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processClosing();
+
+    // Digest Init + Digest Update Multiple + Digest Close instead of 4 commands
+    ArgumentCaptor<SeRequest> samSeRequests = ArgumentCaptor.forClass(SeRequest.class);
+    verify((ProxyReader) samResource.getSeReader(), atLeastOnce())
+        .transmitSeRequest(samSeRequests.capture(), any(ChannelControl.class));
+    boolean digestCloseFound = false;
+    for (SeRequest samSeRequest : samSeRequests.getAllValues()) {
+      List<ApduRequest> apduRequests = samSeRequest.getApduRequests();
+      if (ByteArrayUtil.toHex(apduRequests.get(apduRequests.size() - 1).getBytes())
+          .equals(SAM_DIGEST_CLOSE_CMD)) {
+        assertThat(apduRequests).hasSize(3);
+        digestCloseFound = true;
+      }
+    }
+    assertThat(digestCloseFound).isTrue();
+    assertThat(calypsoPoRev31.getFileBySfi(FILE8).getData().getContent())
+        .isEqualTo(FILE8_REC1_29B_BYTES);
+  }
+
+  /*
+   * Several secure sessions processed in parallel: each session has its own digest data and its
+   * own terminal signature, any mix between sessions would lead to an unknown SAM or PO command.
+   */
+  @Test
+  public void testProcessClosing_concurrentSessions() throws Exception {
+    final int nbSessions = 16;
+    final CountDownLatch startSignal = new CountDownLatch(1);
+    ExecutorService executorService = Executors.newFixedThreadPool(nbSessions);
+    List<Future<byte[]>> results = new ArrayList<Future<byte[]>>();
+    List<byte[]> expectedRecords = new ArrayList<byte[]>();
+
+    for (int i = 0; i < nbSessions; i++) {
+      final String record = String.format("%08X", 0xA5000000 + i);
+      String samSignature = String.format("%08X", 0x12340000 + i);
+
+      Map<String, String> poCommands = new HashMap<String, String>();
+      Map<String, String> samCommands = new HashMap<String, String>();
+
+      samCommands.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+      samCommands.put(SAM_GET_CHALLENGE_CMD, SAM_GET_CHALLENGE_RSP);
+      samCommands.put(SAM_DIGEST_INIT_OPEN_SECURE_SESSION_CMD, SW1SW2_OK_RSP);
+      samCommands.put("808C000009" + "00DC014404" + record, SW1SW2_OK_RSP);
+      samCommands.put(SAM_DIGEST_UPDATE_RSP_OK_CMD, SW1SW2_OK_RSP);
+      samCommands.put(SAM_DIGEST_CLOSE_CMD, samSignature + SW1SW2_OK);
+      samCommands.put(SAM_DIGEST_AUTHENTICATE, SW1SW2_OK_RSP);
+
+      poCommands.put(PO_OPEN_SECURE_SESSION_CMD, PO_OPEN_SECURE_SESSION_RSP);
+      poCommands.put("00DC014404" + record, SW1SW2_OK_RSP);
+      poCommands.put("008E800004" + samSignature + "00", PO_CLOSE_SECURE_SESSION_RSP);
+      poCommands.put(PO_RATIFICATION_CMD, PO_RATIFICATION_RSP);
+
+      SeReader sessionPoReader =
+          createMockReader("PO" + i, TransmissionMode.CONTACTLESS, poCommands);
+      SeReader sessionSamReader =
+          createMockReader("SAM" + i, TransmissionMode.CONTACTS, samCommands);
+
+      final CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+      PoSecuritySettings poSecuritySettings =
+          new PoSecuritySettings.PoSecuritySettingsBuilder(
+                  new SeResource<CalypsoSam>(sessionSamReader, createCalypsoSam())) //
+              .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KIF_DEBIT) //
+              .sessionDefaultKeyRecordNumber(
+                  AccessLevel.SESSION_LVL_DEBIT, DEFAULT_KEY_RECORD_NUMBER_DEBIT)
+              .build();
+
+      final PoTransaction sessionPoTransaction =
+          new PoTransaction(
+              new SeResource<CalypsoPo>(sessionPoReader, calypsoPoRev31), poSecuritySettings);
+
+      expectedRecords.add(ByteArrayUtil.fromHex(record));
+
+      results.add(
+          executorService.submit(
+              new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws Exception {
+                  startSignal.await();
+                  sessionPoTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+                  sessionPoTransaction.prepareUpdateRecord(
+                      FILE8, (byte) 1, ByteArrayUtil.fromHex(record));
+                  sessionPoTransaction.prepareReleasePoChannel();
+                  sessionPoTransaction.processClosing();
+                  return calypsoPoRev31.getFileBySfi(FILE8).getData().getContent(1);
+                }
+              }));
+    }
+
+    startSignal.countDown();
+
+    for (int i = 0; i < nbSessions; i++) {
+      assertThat(results.get(i).get(10, TimeUnit.SECONDS)).isEqualTo(expectedRecords.get(i));
+    }
+    executorService.shutdown();
+  }
+
   /* Session buffer overflow in atomic mode: the overflow happens at closing */
   @Test
   public void testTransaction_sessionBuffer_overflowAtomic() {
@@ -1593,6 +2077,80 @@ public class PoTransactionTest {
     assertThat(calypsoPoRev31.getSvDebitLogLastRecord()).isNotNull();
   }
 
+  /*
+   * SV debit and SV reload transactions processed in parallel: all SV Get commands are executed
+   * before any SV operation is prepared, so each transaction must use its own SV Get data.
+   */
+  @Test
+  public void testPrepareSvGet_concurrentDebitAndReload() throws Exception {
+    final int nbTransactions = 8;
+    final CyclicBarrier svGetDone = new CyclicBarrier(nbTransactions);
+    ExecutorService executorService = Executors.newFixedThreadPool(nbTransactions);
+    List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+
+    for (int i = 0; i < nbTransactions; i++) {
+      final boolean isReload = i % 2 == 0;
+
+      Map<String, String> poCommands = new HashMap<String, String>();
+      Map<String, String> samCommands = new HashMap<String, String>();
+
+      samCommands.put(SAM_SELECT_DIVERSIFIER_CMD, SW1SW2_OK_RSP);
+      samCommands.put(SAM_SV_CHECK_CMD, SW1SW2_OK);
+      if (isReload) {
+        samCommands.put(SAM_PREPARE_LOAD_CMD, SAM_PREPARE_LOAD_RSP);
+        poCommands.put(PO_SV_GET_RELOAD_CMD, PO_SV_GET_RELOAD_RSP);
+        poCommands.put(PO_SV_RELOAD_CMD, PO_SV_RELOAD_RSP);
+      } else {
+        samCommands.put(SAM_PREPARE_DEBIT_CMD, SAM_PREPARE_DEBIT_RSP);
+        poCommands.put(PO_SV_GET_DEBIT_CMD, PO_SV_GET_DEBIT_RSP);
+        poCommands.put(PO_SV_DEBIT_CMD, PO_SV_DEBIT_RSP);
+      }
+
+      SeReader sessionPoReader =
+          createMockReader("PO" + i, TransmissionMode.CONTACTLESS, poCommands);
+      SeReader sessionSamReader =
+          createMockReader("SAM" + i, TransmissionMode.CONTACTS, samCommands);
+
+      final CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_REV31);
+      PoSecuritySettings poSecuritySettings =
+          new PoSecuritySettings.PoSecuritySettingsBuilder(
+                  new SeResource<CalypsoSam>(sessionSamReader, createCalypsoSam()))
+              .build();
+      final PoTransaction svPoTransaction =
+          new PoTransaction(
+              new SeResource<CalypsoPo>(sessionPoReader, calypsoPoRev31), poSecuritySettings);
+
+      results.add(
+          executorService.submit(
+              new Callable<Integer>() {
+                @Override
+                public Integer call() throws Exception {
+                  svPoTransaction.prepareSvGet(
+                      isReload
+                          ? PoTransaction.SvSettings.Operation.RELOAD
+                          : PoTransaction.SvSettings.Operation.DEBIT,
+                      PoTransaction.SvSettings.Action.DO);
+                  svPoTransaction.processPoCommands();
+                  // wait until all transactions have received their SV Get response
+                  svGetDone.await(10, TimeUnit.SECONDS);
+                  if (isReload) {
+                    svPoTransaction.prepareSvReload(2);
+                  } else {
+                    svPoTransaction.prepareSvDebit(2);
+                  }
+                  svPoTransaction.prepareReleasePoChannel();
+                  svPoTransaction.processPoCommands();
+                  return calypsoPoRev31.getSvBalance();
+                }
+              }));
+    }
+
+    for (Future<Integer> result : results) {
+      assertThat(result.get(20, TimeUnit.SECONDS)).isEqualTo(SV_BALANCE);
+    }
+    executorService.shutdown();
+  }
+
   @Test
   public void testPrepareSvReadAllLogs() {
     CalypsoPo calypsoPoRev31 = createCalypsoPo(FCI_STORED_VALUE_REV31);
@@ -1704,7 +2262,7 @@ public class PoTransactionTest {
       final Map<String, String> commandTestSet) {
 
     // configure mock native reader
-    ProxyReader mockReader = Mockito.spy(ProxyReader.class);
+    final ProxyReader mockReader = Mockito.spy(ProxyReader.class);
     doReturn(name).when(mockReader).getName();
     doReturn(transmissionMode).when(mockReader).getTransmissionMode();
 
@@ -1735,6 +2293,29 @@ public class PoTransactionTest {
             })
         .when(mockReader)
         .transmitSeRequest(any(SeRequest.class), any(ChannelControl.class));
+
+    doAnswer(
+            new Answer<List<SeResponse>>() {
+              @Override
+              public List<SeResponse> answer(InvocationOnMock invocation) {
+                Object[] args = invocation.getArguments();
+                List<SeRequest> seRequests = (List<SeRequest>) args[0];
+                List<SeResponse> seResponses = new ArrayList<SeResponse>();
+                try {
+                  for (SeRequest seRequest : seRequests) {
+                    seResponses.add(
+                        mockReader.transmitSeRequest(seRequest, ChannelControl.KEEP_OPEN));
+                  }
+                } catch (KeypleReaderIOException ex) {
+                  seResponses.add(ex.getSeResponse());
+                  ex.setSeResponses(seResponses);
+                  throw ex;
+                }
+                return seResponses;
+              }
+            })
+        .when(mockReader)
+        .transmitSeRequestScript(any(List.class), any(ChannelControl.class));
     return mockReader;
   }
 
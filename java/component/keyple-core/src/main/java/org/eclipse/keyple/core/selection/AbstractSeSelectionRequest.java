@@ -12,6 +12,7 @@
 package org.eclipse.keyple.core.selection;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.eclipse.keyple.core.command.AbstractApduCommandBuilder;
 import org.eclipse.keyple.core.seproxy.SeSelector;
@@ -32,6 +33,9 @@ public abstract class AbstractSeSelectionRequest<T extends AbstractApduCommandBu
   /** optional command builder list of command to be executed following the selection process */
   private final List<T> commandBuilders = new ArrayList<T>();
 
+  /** selection SeRequest built at the first use, reset when a command builder is added */
+  private SeRequest selectionRequest;
+
   public AbstractSeSelectionRequest(SeSelector seSelector) {
     this.seSelector = seSelector;
   }
@@ -40,14 +44,21 @@ public abstract class AbstractSeSelectionRequest<T extends AbstractApduCommandBu
    * Returns a selection SeRequest built from the information provided in the constructor and
    * possibly completed with the commandBuilders list
    *
+   * <p>The SeRequest is built once and the same instance is returned until a new command builder
+   * is added, so that a selection processed at each SE insertion does not rebuild its requests.
+   *
    * @return the selection SeRequest
    */
   final SeRequest getSelectionRequest() {
-    List<ApduRequest> seSelectionApduRequests = new ArrayList<ApduRequest>();
-    for (T commandBuilder : commandBuilders) {
-      seSelectionApduRequests.add(commandBuilder.getApduRequest());
+    if (selectionRequest == null) {
+      List<ApduRequest> seSelectionApduRequests = new ArrayList<ApduRequest>();
+      for (T commandBuilder : commandBuilders) {
+        seSelectionApduRequests.add(commandBuilder.getApduRequest());
+      }
+      selectionRequest =
+          new SeRequest(seSelector, Collections.unmodifiableList(seSelectionApduRequests));
     }
-    return new SeRequest(seSelector, seSelectionApduRequests);
+    return selectionRequest;
   }
 
   public SeSelector getSeSelector() {
@@ -65,6 +76,7 @@ public abstract class AbstractSeSelectionRequest<T extends AbstractApduCommandBu
    */
   protected final void addCommandBuilder(T commandBuilder) {
     commandBuilders.add(commandBuilder);
+    selectionRequest = null;
   }
 
   /** @return the current command builder list */
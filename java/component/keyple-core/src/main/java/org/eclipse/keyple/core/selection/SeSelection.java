@@ -45,6 +45,13 @@ public final class SeSelection {
   private final MultiSeRequestProcessing multiSeRequestProcessing;
   private ChannelControl channelControl = ChannelControl.KEEP_OPEN;
 
+  /*
+   * selection SeRequests built from the selection requests and default selection request built
+   * from them, reused as long as the selection requests are unchanged
+   */
+  private List<SeRequest> selectionSeRequests;
+  private AbstractDefaultSelectionsRequest selectionOperation;
+
   /**
    * Constructor.
    *
@@ -75,6 +82,7 @@ public final class SeSelection {
     }
     /* keep the selection request */
     seSelectionRequests.add(seSelectionRequest);
+    selectionSeRequests = null;
     /* return the selection index (starting at 0) */
     return seSelectionRequests.size() - 1;
   }
@@ -87,6 +95,7 @@ public final class SeSelection {
    */
   public final void prepareReleaseSeChannel() {
     channelControl = ChannelControl.CLOSE_AFTER;
+    selectionOperation = null;
   }
 
   /**
@@ -190,11 +199,7 @@ public final class SeSelection {
    * @throws KeypleException if an error occurs during the selection process
    */
   public SelectionsResult processExplicitSelection(SeReader seReader) {
-    List<SeRequest> selectionRequests = new ArrayList<SeRequest>();
-    for (AbstractSeSelectionRequest<? extends AbstractApduCommandBuilder> seSelectionRequest :
-        seSelectionRequests) {
-      selectionRequests.add(seSelectionRequest.getSelectionRequest());
-    }
+    List<SeRequest> selectionRequests = getSelectionSeRequests();
     if (logger.isTraceEnabled()) {
       logger.trace("Transmit SELECTIONREQUEST ({} request(s))", selectionRequests.size());
     }
@@ -215,12 +220,37 @@ public final class SeSelection {
    * @return the {@link AbstractDefaultSelectionsRequest} previously prepared with prepareSelection
    */
   public AbstractDefaultSelectionsRequest getSelectionOperation() {
-    List<SeRequest> selectionRequests = new ArrayList<SeRequest>();
-    for (AbstractSeSelectionRequest<? extends AbstractApduCommandBuilder> seSelectionRequest :
-        seSelectionRequests) {
-      selectionRequests.add(seSelectionRequest.getSelectionRequest());
+    List<SeRequest> selectionRequests = getSelectionSeRequests();
+    if (selectionOperation == null) {
+      selectionOperation =
+          new DefaultSelectionsRequest(
+              selectionRequests, multiSeRequestProcessing, channelControl);
+    }
+    return selectionOperation;
+  }
+
+  /**
+   * Gets the list of selection SeRequests built from the prepared selection requests.
+   *
+   * <p>The list is built once and reused as long as none of the selection requests has been
+   * modified, in which case it is rebuilt and the default selection request is reset.
+   *
+   * @return an unmodifiable list of SeRequest
+   */
+  private List<SeRequest> getSelectionSeRequests() {
+    boolean upToDate = selectionSeRequests != null;
+    for (int i = 0; upToDate && i < seSelectionRequests.size(); i++) {
+      upToDate = selectionSeRequests.get(i) == seSelectionRequests.get(i).getSelectionRequest();
+    }
+    if (!upToDate) {
+      List<SeRequest> selectionRequests = new ArrayList<SeRequest>();
+      for (AbstractSeSelectionRequest<? extends AbstractApduCommandBuilder> seSelectionRequest :
+          seSelectionRequests) {
+        selectionRequests.add(seSelectionRequest.getSelectionRequest());
+      }
+      selectionSeRequests = Collections.unmodifiableList(selectionRequests);
+      selectionOperation = null;
     }
-    return new DefaultSelectionsRequest(
-        selectionRequests, multiSeRequestProcessing, channelControl);
+    return selectionSeRequests;
   }
 }
@@ -18,6 +18,14 @@ package org.eclipse.keyple.core.seproxy;
 public enum MultiSeRequestProcessing {
   /** The selection process stops as soon as a selection case is successful. */
   FIRST_MATCH,
+  /**
+   * Same as {@link #FIRST_MATCH} but the selection cases are tried starting with the ones that
+   * matched most often with SEs having the same ATR on this reader.
+   *
+   * <p>The responses are still provided at the index of their selection case; the responses of the
+   * selection cases that have not been tried are null.
+   */
+  FIRST_MATCH_ADAPTIVE,
   /** The selection process performs all the selection cases provided in the Set of SeRequest. */
   PROCESS_ALL
 }
@@ -17,6 +17,8 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.keyple.core.seproxy.exception.KeyplePluginInstantiationException;
 import org.eclipse.keyple.core.seproxy.exception.KeyplePluginNotFoundException;
+import org.eclipse.keyple.core.seproxy.metrics.ApduFlightRecorder;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +39,12 @@ public final class SeProxyService {
   // this is the object we will be synchronizing on ("the monitor")
   private final Object MONITOR = new Object();
 
+  /** the metrics to which the readers report their activity, null if not set */
+  private volatile ReaderMetrics readerMetrics;
+
+  /** the recorder of the APDU exchanges of the readers, null if not set */
+  private volatile ApduFlightRecorder apduFlightRecorder;
+
   /** Instantiates a new SeProxyService. */
   private SeProxyService() {}
 
@@ -132,6 +140,47 @@ public final class SeProxyService {
     }
   }
 
+  /**
+   * Sets the {@link ReaderMetrics} to which all the readers report their activity (transmission
+   * and APDU latencies, selections, channels, communication failures).
+   *
+   * <p>No metrics are recorded as long as no ReaderMetrics is set.
+   *
+   * @param readerMetrics the reader metrics, null to stop recording metrics
+   */
+  public void setReaderMetrics(ReaderMetrics readerMetrics) {
+    this.readerMetrics = readerMetrics;
+  }
+
+  /**
+   * Gets the {@link ReaderMetrics} to which the readers report their activity.
+   *
+   * @return the reader metrics or null if not set
+   */
+  public ReaderMetrics getReaderMetrics() {
+    return readerMetrics;
+  }
+
+  /**
+   * Sets the {@link ApduFlightRecorder} in which the local readers record their APDU exchanges.
+   *
+   * <p>No exchanges are recorded as long as no recorder is set.
+   *
+   * @param apduFlightRecorder the APDU flight recorder, null to stop recording
+   */
+  public void setApduFlightRecorder(ApduFlightRecorder apduFlightRecorder) {
+    this.apduFlightRecorder = apduFlightRecorder;
+  }
+
+  /**
+   * Gets the {@link ApduFlightRecorder} in which the local readers record their APDU exchanges.
+   *
+   * @return the APDU flight recorder or null if not set
+   */
+  public ApduFlightRecorder getApduFlightRecorder() {
+    return apduFlightRecorder;
+  }
+
   /**
    * Gets the version API, (the version of the sdk).
    *
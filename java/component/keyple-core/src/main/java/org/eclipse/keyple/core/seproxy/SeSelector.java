@@ -13,9 +13,9 @@ package org.eclipse.keyple.core.seproxy;
 
 import java.io.Serializable;
 import java.util.*;
-import java.util.regex.Pattern;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.HexRegexMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -263,13 +263,19 @@ public class SeSelector implements Serializable {
     /** Regular expression dedicated to handle SE logical channel opening based on ATR pattern */
     private String atrRegex;
 
+    /*
+     * Compiled regular expression, not serialized: compiled again on first use after
+     * deserialization
+     */
+    private transient volatile HexRegexMatcher atrMatcher;
+
     /**
      * Regular expression based filter
      *
      * @param atrRegex String hex regular expression
      */
     public AtrFilter(String atrRegex) {
-      this.atrRegex = atrRegex;
+      setAtrRegex(atrRegex);
     }
 
     /**
@@ -279,6 +285,8 @@ public class SeSelector implements Serializable {
      */
     public void setAtrRegex(String atrRegex) {
       this.atrRegex = atrRegex;
+      this.atrMatcher =
+          atrRegex != null && atrRegex.length() != 0 ? HexRegexMatcher.compile(atrRegex) : null;
     }
 
     /**
@@ -301,9 +309,12 @@ public class SeSelector implements Serializable {
     public boolean atrMatches(byte[] atr) {
       boolean m;
       if (atrRegex.length() != 0) {
-        Pattern p = Pattern.compile(atrRegex);
-        String atrString = ByteArrayUtil.toHex(atr);
-        m = p.matcher(atrString).matches();
+        HexRegexMatcher matcher = atrMatcher;
+        if (matcher == null) {
+          matcher = HexRegexMatcher.compile(atrRegex);
+          atrMatcher = matcher;
+        }
+        m = matcher.matches(atr);
       } else {
         m = true;
       }
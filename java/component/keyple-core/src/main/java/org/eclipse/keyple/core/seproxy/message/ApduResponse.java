@@ -11,7 +11,10 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.seproxy.message;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Set;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -19,6 +22,9 @@ import org.eclipse.keyple.core.util.ByteArrayUtil;
 /** Single APDU response wrapper */
 public final class ApduResponse implements Serializable {
 
+  /* computed from the fields of the first versions, kept for the serialization compatibility */
+  private static final long serialVersionUID = 810297489694603463L;
+
   /**
    * * the success result of the processed APDU command to allow chaining responses in a group of
    * APDUs
@@ -28,6 +34,9 @@ public final class ApduResponse implements Serializable {
   /** apdu response data buffer (including sw1sw2) */
   private final byte[] bytes;
 
+  /** status word (sw1sw2), precomputed from the buffer, not serialized */
+  private transient int statusCode;
+
   /**
    * Create a new ApduResponse from the provided byte array
    *
@@ -45,19 +54,14 @@ public final class ApduResponse implements Serializable {
     this.bytes = buffer;
     if (buffer == null) {
       this.successful = false;
+      this.statusCode = 0;
     } else {
       if (buffer.length < 2) {
         throw new IllegalArgumentException(
             "Building an ApduResponse with a illegal buffer (length must be > 2): "
                 + buffer.length);
       }
-      int statusCode =
-          ((buffer[buffer.length - 2] & 0x000000FF) << 8)
-              + (buffer[buffer.length - 1] & 0x000000FF);
-      // java is signed only
-      if (statusCode < 0) {
-        statusCode += -2 * Short.MIN_VALUE;
-      }
+      this.statusCode = getStatusCode(buffer);
       if (successfulStatusCodes != null) {
         this.successful = statusCode == 0x9000 || successfulStatusCodes.contains(statusCode);
       } else {
@@ -66,6 +70,23 @@ public final class ApduResponse implements Serializable {
     }
   }
 
+  /**
+   * Restores the status word from the deserialized buffer
+   *
+   * @param in the stream the object is read from
+   * @throws IOException if the stream cannot be read
+   * @throws ClassNotFoundException if the class of a serialized object cannot be found
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    statusCode = bytes == null ? 0 : getStatusCode(bytes);
+  }
+
+  private static int getStatusCode(byte[] buffer) {
+    return ((buffer[buffer.length - 2] & 0x000000FF) << 8)
+        + (buffer[buffer.length - 1] & 0x000000FF);
+  }
+
   /**
    * Checks if is successful.
    *
@@ -75,14 +96,13 @@ public final class ApduResponse implements Serializable {
     return successful;
   }
 
+  /**
+   * Gets the status word of the response
+   *
+   * @return the status code (sw1sw2) as an unsigned int value
+   */
   public int getStatusCode() {
-    int s = ((bytes[bytes.length - 2] & 0x000000FF) << 8) + (bytes[bytes.length - 1] & 0x000000FF);
-
-    // java is signed only
-    if (s < 0) {
-      s += -2 * Short.MIN_VALUE;
-    }
-    return s;
+    return statusCode;
   }
 
   public byte[] getBytes() {
@@ -98,6 +118,46 @@ public final class ApduResponse implements Serializable {
     return Arrays.copyOfRange(this.bytes, 0, this.bytes.length - 2);
   }
 
+  /**
+   * Get the length of the data before the statusCode
+   *
+   * <p>Unlike {@link #getDataOut()}, no copy of the buffer is made.
+   *
+   * @return the number of data bytes, 0 if the response only contains the status code
+   */
+  public int getDataOutLength() {
+    return this.bytes.length - 2;
+  }
+
+  /**
+   * Get a data byte before the statusCode
+   *
+   * <p>Unlike {@link #getDataOut()}, no copy of the buffer is made.
+   *
+   * @param index the index of the byte in the data (0 for the first byte)
+   * @return the data byte
+   * @throws IndexOutOfBoundsException if the index is outside the data
+   */
+  public byte getDataOutByte(int index) {
+    if (index < 0 || index >= getDataOutLength()) {
+      throw new IndexOutOfBoundsException("Bad data index: " + index);
+    }
+    return this.bytes[index];
+  }
+
+  /**
+   * Get a read-only view of the data before the statusCode
+   *
+   * <p>Unlike {@link #getDataOut()}, the returned buffer shares the response buffer, no copy of the
+   * data is made.
+   *
+   * @return a read-only {@link ByteBuffer} positioned on the first data byte and limited to the
+   *     data length
+   */
+  public ByteBuffer getDataOutBuffer() {
+    return ByteBuffer.wrap(this.bytes, 0, getDataOutLength()).slice().asReadOnlyBuffer();
+  }
+
   @Override
   public String toString() {
     String prefix;
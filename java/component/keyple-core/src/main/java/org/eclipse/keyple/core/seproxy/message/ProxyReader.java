@@ -86,4 +86,26 @@ public interface ProxyReader extends SeReader {
    * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
    */
   SeResponse transmitSeRequest(SeRequest seRequest, ChannelControl channelControl);
+
+  /**
+   * Transmits a script of {@link SeRequest} (list of {@link SeRequest}) to the SE application
+   * currently selected and get back the corresponding List of {@link SeResponse}.
+   *
+   * <p>The {@link SeRequest} are processed consecutively as with {@link
+   * #transmitSeRequest(SeRequest, ChannelControl)}, the logical channel is kept open between them
+   * and set according to the channelControl flag after the last one.
+   *
+   * <p>The whole script is handed over to the reader at once: a reader hosted by a remote terminal
+   * executes it in a single network exchange.
+   *
+   * <p>The processing stops at the first failing {@link SeRequest}, the exception then provides
+   * the responses received so far.
+   *
+   * @param seRequests the ordered {@link List} of requests to transmit
+   * @param channelControl a flag to tell if the channel has to be closed at the end
+   * @return the List of {@link SeResponse}, one for each {@link SeRequest}
+   * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
+   */
+  List<SeResponse> transmitSeRequestScript(
+      List<SeRequest> seRequests, ChannelControl channelControl);
 }
@@ -0,0 +1,198 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+
+/**
+ * In-memory recorder of the last APDU exchanges of all the readers.
+ *
+ * <p>Once registered with {@link SeProxyService#setApduFlightRecorder(ApduFlightRecorder)}, the
+ * local readers record each APDU exchange (raw command and response, time, duration) in a fixed
+ * size ring buffer, without any formatting; the oldest exchanges are overwritten. The exchanges
+ * are formatted only when a dump is requested, e.g. after an exception.
+ *
+ * <p>When a transmission fails with a communication error, the readers log a dump of their last
+ * exchanges (WARN level), if enabled in the constructor.
+ *
+ * <p>Recording is lock-free and can be done concurrently by several readers. The recorded byte
+ * arrays are not copied: the command and response buffers must not be modified once recorded.
+ */
+public final class ApduFlightRecorder {
+
+  private final int capacity;
+  private final int errorDumpSize;
+  private final AtomicReferenceArray<ApduExchange> exchanges;
+
+  /** sequence number of the next exchange */
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param capacity the maximum number of exchanges kept
+   * @param errorDumpSize the maximum number of exchanges of the reader logged when a transmission
+   *     fails, 0 to disable the dump
+   * @throws IllegalArgumentException if capacity is not strictly positive or errorDumpSize is
+   *     negative
+   */
+  public ApduFlightRecorder(int capacity, int errorDumpSize) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Bad capacity: " + capacity);
+    }
+    if (errorDumpSize < 0) {
+      throw new IllegalArgumentException("Bad error dump size: " + errorDumpSize);
+    }
+    this.capacity = capacity;
+    this.errorDumpSize = errorDumpSize;
+    this.exchanges = new AtomicReferenceArray<ApduExchange>(capacity);
+  }
+
+  /** @return the maximum number of exchanges of a reader to log when a transmission fails */
+  public int getErrorDumpSize() {
+    return errorDumpSize;
+  }
+
+  /**
+   * Records an APDU exchange.
+   *
+   * @param readerName the name of the reader
+   * @param command the command sent
+   * @param response the response received, null if the exchange failed
+   * @param durationNanos the duration of the exchange in nanoseconds
+   */
+  public void record(String readerName, byte[] command, byte[] response, long durationNanos) {
+    long sequenceNumber = sequence.getAndIncrement();
+    exchanges.set(
+        (int) (sequenceNumber % capacity),
+        new ApduExchange(
+            sequenceNumber,
+            System.currentTimeMillis(),
+            readerName,
+            command,
+            response,
+            durationNanos));
+  }
+
+  /**
+   * Gets the last recorded exchanges, all readers together or for a given reader.
+   *
+   * @param readerName the name of the reader, null for all readers
+   * @param count the maximum number of exchanges to return
+   * @return a list of exchanges, from the oldest to the most recent
+   */
+  public List<ApduExchange> getLastExchanges(String readerName, int count) {
+    List<ApduExchange> lastExchanges = new ArrayList<ApduExchange>();
+    long lastSequenceNumber = sequence.get() - 1;
+    long firstSequenceNumber = Math.max(0, lastSequenceNumber - capacity + 1);
+    for (long sequenceNumber = lastSequenceNumber;
+        sequenceNumber >= firstSequenceNumber && lastExchanges.size() < count;
+        sequenceNumber--) {
+      ApduExchange exchange = exchanges.get((int) (sequenceNumber % capacity));
+      // skip the slots overwritten or not yet written since the sequence was read
+      if (exchange != null
+          && exchange.sequenceNumber == sequenceNumber
+          && (readerName == null || readerName.equals(exchange.readerName))) {
+        lastExchanges.add(exchange);
+      }
+    }
+    Collections.reverse(lastExchanges);
+    return lastExchanges;
+  }
+
+  /**
+   * Formats the last recorded exchanges, one per line.
+   *
+   * @param readerName the name of the reader, null for all readers
+   * @param count the maximum number of exchanges to dump
+   * @return a not null String
+   */
+  public String dump(String readerName, int count) {
+    SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+    StringBuilder sb = new StringBuilder();
+    for (ApduExchange exchange : getLastExchanges(readerName, count)) {
+      sb.append(
+          String.format(
+              "#%d %s [%s] (%.1f ms) -> %s <- %s%n",
+              exchange.sequenceNumber,
+              timeFormat.format(new Date(exchange.timeMillis)),
+              exchange.readerName,
+              exchange.durationNanos / 1000000.0,
+              ByteArrayUtil.toHex(exchange.command),
+              exchange.response != null ? ByteArrayUtil.toHex(exchange.response) : "(none)"));
+    }
+    return sb.toString();
+  }
+
+  /** A recorded APDU exchange */
+  public static final class ApduExchange {
+    private final long sequenceNumber;
+    private final long timeMillis;
+    private final String readerName;
+    private final byte[] command;
+    private final byte[] response;
+    private final long durationNanos;
+
+    private ApduExchange(
+        long sequenceNumber,
+        long timeMillis,
+        String readerName,
+        byte[] command,
+        byte[] response,
+        long durationNanos) {
+      this.sequenceNumber = sequenceNumber;
+      this.timeMillis = timeMillis;
+      this.readerName = readerName;
+      this.command = command;
+      this.response = response;
+      this.durationNanos = durationNanos;
+    }
+
+    /** @return the sequence number of the exchange in the recorder */
+    public long getSequenceNumber() {
+      return sequenceNumber;
+    }
+
+    /** @return the time of the end of the exchange (milliseconds since the epoch) */
+    public long getTimeMillis() {
+      return timeMillis;
+    }
+
+    /** @return the name of the reader */
+    public String getReaderName() {
+      return readerName;
+    }
+
+    /** @return the command sent (not copied, must not be modified) */
+    public byte[] getCommand() {
+      return command;
+    }
+
+    /** @return the response received (not copied, must not be modified), null if none */
+    public byte[] getResponse() {
+      return response;
+    }
+
+    /** @return the duration of the exchange in nanoseconds */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link ReaderMetrics} implementation keeping, for each reader, latency histograms and counters.
+ *
+ * <p>The statistics of a reader are available through {@link #getReaderStatistics(String)} and
+ * can be read at any time, e.g. periodically by a component exporting them to a monitoring
+ * system.
+ */
+public final class HistogramReaderMetrics implements ReaderMetrics {
+
+  private final ConcurrentMap<String, ReaderStatistics> readerStatistics =
+      new ConcurrentHashMap<String, ReaderStatistics>();
+
+  /** @return the names of the readers that reported at least one event */
+  public Set<String> getReaderNames() {
+    return Collections.unmodifiableSet(readerStatistics.keySet());
+  }
+
+  /**
+   * Gets the statistics of a reader.
+   *
+   * @param readerName the name of the reader
+   * @return the statistics of the reader or null if the reader has not reported any event
+   */
+  public ReaderStatistics getReaderStatistics(String readerName) {
+    return readerStatistics.get(readerName);
+  }
+
+  @Override
+  public void recordSeRequestLatency(String readerName, long durationNanos) {
+    getOrCreateReaderStatistics(readerName).seRequestLatency.record(durationNanos);
+  }
+
+  @Override
+  public void recordApduLatency(String readerName, byte instructionByte, long durationNanos) {
+    getOrCreateReaderStatistics(readerName)
+        .getOrCreateApduLatency(instructionByte)
+        .record(durationNanos);
+  }
+
+  @Override
+  public void recordSelection(String readerName, boolean matched) {
+    ReaderStatistics statistics = getOrCreateReaderStatistics(readerName);
+    if (matched) {
+      statistics.matchingSelectionCount.incrementAndGet();
+    } else {
+      statistics.notMatchingSelectionCount.incrementAndGet();
+    }
+  }
+
+  @Override
+  public void recordChannelOpening(String readerName) {
+    getOrCreateReaderStatistics(readerName).channelOpeningCount.incrementAndGet();
+  }
+
+  @Override
+  public void recordChannelClosing(String readerName) {
+    getOrCreateReaderStatistics(readerName).channelClosingCount.incrementAndGet();
+  }
+
+  @Override
+  public void recordIoError(String readerName) {
+    getOrCreateReaderStatistics(readerName).ioErrorCount.incrementAndGet();
+  }
+
+  private ReaderStatistics getOrCreateReaderStatistics(String readerName) {
+    ReaderStatistics statistics = readerStatistics.get(readerName);
+    if (statistics == null) {
+      statistics = new ReaderStatistics();
+      ReaderStatistics existingStatistics = readerStatistics.putIfAbsent(readerName, statistics);
+      if (existingStatistics != null) {
+        statistics = existingStatistics;
+      }
+    }
+    return statistics;
+  }
+
+  /** The statistics of a reader */
+  public static final class ReaderStatistics {
+
+    private final LatencyHistogram seRequestLatency = new LatencyHistogram();
+
+    /** APDU latency histograms indexed by instruction byte, created at first use */
+    private final AtomicReferenceArray<LatencyHistogram> apduLatencies =
+        new AtomicReferenceArray<LatencyHistogram>(256);
+
+    private final AtomicLong matchingSelectionCount = new AtomicLong();
+    private final AtomicLong notMatchingSelectionCount = new AtomicLong();
+    private final AtomicLong channelOpeningCount = new AtomicLong();
+    private final AtomicLong channelClosingCount = new AtomicLong();
+    private final AtomicLong ioErrorCount = new AtomicLong();
+
+    private ReaderStatistics() {}
+
+    private LatencyHistogram getOrCreateApduLatency(byte instructionByte) {
+      int index = instructionByte & 0xFF;
+      LatencyHistogram histogram = apduLatencies.get(index);
+      if (histogram == null) {
+        apduLatencies.compareAndSet(index, null, new LatencyHistogram());
+        histogram = apduLatencies.get(index);
+      }
+      return histogram;
+    }
+
+    /** @return the histogram of the SeRequest transmission latencies (nanoseconds) */
+    public LatencyHistogram getSeRequestLatency() {
+      return seRequestLatency;
+    }
+
+    /**
+     * Gets the histogram of the APDU round-trip latencies (nanoseconds) for an instruction byte.
+     *
+     * @param instructionByte the instruction byte (INS)
+     * @return the histogram or null if no APDU with this instruction byte has been exchanged
+     */
+    public LatencyHistogram getApduLatency(byte instructionByte) {
+      return apduLatencies.get(instructionByte & 0xFF);
+    }
+
+    /** @return the number of selections for which the SE matched the selector */
+    public long getMatchingSelectionCount() {
+      return matchingSelectionCount.get();
+    }
+
+    /** @return the number of selections for which the SE did not match the selector */
+    public long getNotMatchingSelectionCount() {
+      return notMatchingSelectionCount.get();
+    }
+
+    /** @return the number of logical channel openings */
+    public long getChannelOpeningCount() {
+      return channelOpeningCount.get();
+    }
+
+    /** @return the number of logical channel closings */
+    public long getChannelClosingCount() {
+      return channelClosingCount.get();
+    }
+
+    /** @return the number of communication failures */
+    public long getIoErrorCount() {
+      return ioErrorCount.get();
+    }
+  }
+}
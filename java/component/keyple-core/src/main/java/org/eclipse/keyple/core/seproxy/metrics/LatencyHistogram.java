@@ -0,0 +1,142 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of positive long values (typically durations in nanoseconds).
+ *
+ * <p>The values are counted in log-linear buckets, in the manner of HdrHistogram: each power of two
+ * is split into 32 sub-buckets, which bounds the relative error of the reported values to about 3%
+ * over the whole long range. Recording a value is lock-free and does not allocate.
+ *
+ * <p>The statistics are computed from the counts at the time of the call; values recorded
+ * concurrently may or may not be taken into account.
+ */
+public final class LatencyHistogram {
+
+  /** number of bits of the sub-bucket index */
+  private static final int SUB_BUCKET_BITS = 5;
+
+  /** number of sub-buckets per power of two */
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  /** number of counters needed to cover the positive long range */
+  private static final int COUNTER_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(COUNTER_COUNT);
+  private final AtomicLong totalCount = new AtomicLong();
+  private final AtomicLong totalValue = new AtomicLong();
+  private final AtomicLong maxValue = new AtomicLong();
+
+  /**
+   * Records a value.
+   *
+   * @param value the value, negative values are recorded as 0
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.incrementAndGet(getIndex(value));
+    totalCount.incrementAndGet();
+    totalValue.addAndGet(value);
+    long max = maxValue.get();
+    while (value > max && !maxValue.compareAndSet(max, value)) {
+      max = maxValue.get();
+    }
+  }
+
+  /** @return the number of recorded values */
+  public long getCount() {
+    return totalCount.get();
+  }
+
+  /** @return the highest recorded value, 0 if no value was recorded */
+  public long getMax() {
+    return maxValue.get();
+  }
+
+  /** @return the mean of the recorded values, 0 if no value was recorded */
+  public double getMean() {
+    long count = totalCount.get();
+    return count == 0 ? 0 : (double) totalValue.get() / count;
+  }
+
+  /**
+   * Gets the value below which the provided percentage of the recorded values fall.
+   *
+   * <p>The returned value is the highest value of the bucket holding the percentile, bounded by
+   * the highest recorded value.
+   *
+   * @param percentile the percentile (e.g. 99.0 for the p99)
+   * @return the value at the percentile, 0 if no value was recorded
+   * @throws IllegalArgumentException if the percentile is not between 0 and 100
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Bad percentile: " + percentile);
+    }
+    long count = totalCount.get();
+    if (count == 0) {
+      return 0;
+    }
+    long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long cumulatedCount = 0;
+    for (int index = 0; index < COUNTER_COUNT; index++) {
+      cumulatedCount += counts.get(index);
+      if (cumulatedCount >= countAtPercentile) {
+        return Math.min(getHighestValue(index), maxValue.get());
+      }
+    }
+    return maxValue.get();
+  }
+
+  /** Clears all the recorded values. */
+  public void reset() {
+    for (int index = 0; index < COUNTER_COUNT; index++) {
+      counts.set(index, 0);
+    }
+    totalCount.set(0);
+    totalValue.set(0);
+    maxValue.set(0);
+  }
+
+  /**
+   * Gets the index of the counter of a value.
+   *
+   * <p>Values below 64 have their own counter; above, the counter is determined by the position of
+   * the most significant bit and the 5 bits following it.
+   */
+  private static int getIndex(long value) {
+    if (value < 2 * SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int msb = 63 - Long.numberOfLeadingZeros(value);
+    int bucket = msb - SUB_BUCKET_BITS + 1;
+    int subBucket = (int) (value >>> (msb - SUB_BUCKET_BITS)) - SUB_BUCKET_COUNT;
+    return bucket * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /** Gets the highest value counted by the counter having the provided index. */
+  private static long getHighestValue(int index) {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int bucket = index >>> SUB_BUCKET_BITS;
+    long subBucket = index & (SUB_BUCKET_COUNT - 1);
+    long lowestValue = (SUB_BUCKET_COUNT + subBucket) << (bucket - 1);
+    return lowestValue + (1L << (bucket - 1)) - 1;
+  }
+}
@@ -0,0 +1,74 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+
+/**
+ * The ReaderMetrics interface is the SPI through which the readers report their activity.
+ *
+ * <p>An implementation is registered with {@link SeProxyService#setReaderMetrics(ReaderMetrics)};
+ * all the readers then report to it, identified by their name. {@link HistogramReaderMetrics} is
+ * the implementation provided by Keyple, any other one can be used to feed a metrics library.
+ *
+ * <p>The methods are called by the reader threads during the exchanges with the SEs, they must be
+ * thread-safe, fast and must not throw exceptions.
+ */
+public interface ReaderMetrics {
+
+  /**
+   * Records the processing time of a transmission of SeRequests (single request, request list or
+   * request script).
+   *
+   * @param readerName the name of the reader
+   * @param durationNanos the processing duration in nanoseconds
+   */
+  void recordSeRequestLatency(String readerName, long durationNanos);
+
+  /**
+   * Records the round-trip time of an APDU exchanged with the SE.
+   *
+   * @param readerName the name of the reader
+   * @param instructionByte the instruction byte (INS) of the command
+   * @param durationNanos the round-trip duration in nanoseconds
+   */
+  void recordApduLatency(String readerName, byte instructionByte, long durationNanos);
+
+  /**
+   * Records the outcome of a selection attempt.
+   *
+   * @param readerName the name of the reader
+   * @param matched true if the SE matched the selector
+   */
+  void recordSelection(String readerName, boolean matched);
+
+  /**
+   * Records the opening of a logical channel (successful selection).
+   *
+   * @param readerName the name of the reader
+   */
+  void recordChannelOpening(String readerName);
+
+  /**
+   * Records the closing of a logical channel.
+   *
+   * @param readerName the name of the reader
+   */
+  void recordChannelClosing(String readerName);
+
+  /**
+   * Records a communication failure with the reader or the SE.
+   *
+   * @param readerName the name of the reader
+   */
+  void recordIoError(String readerName);
+}
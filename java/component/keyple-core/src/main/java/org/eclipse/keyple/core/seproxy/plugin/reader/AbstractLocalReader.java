@@ -13,13 +13,17 @@ package org.eclipse.keyple.core.seproxy.plugin.reader;
 
 import java.util.*;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
 import org.eclipse.keyple.core.seproxy.SeSelector;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.seproxy.message.*;
 import org.eclipse.keyple.core.seproxy.message.ChannelControl;
+import org.eclipse.keyple.core.seproxy.metrics.ApduFlightRecorder;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetrics;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.LazyLogArgument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +52,13 @@ public abstract class AbstractLocalReader extends AbstractReader {
   /** Timestamp recorder */
   private long before;
 
+  /** Select Application requests already built for the AID selectors, reused at each selection */
+  private final Map<SeSelector.AidSelector, ApduRequest> selectApplicationRequests =
+      Collections.synchronizedMap(new WeakHashMap<SeSelector.AidSelector, ApduRequest>());
+
+  /** Selection case match statistics used in FIRST_MATCH_ADAPTIVE mode */
+  private final SelectionCaseStatistics selectionCaseStatistics = new SelectionCaseStatistics();
+
   /** ==== Constructor =================================================== */
 
   /**
@@ -185,6 +196,44 @@ public abstract class AbstractLocalReader extends AbstractReader {
           this.getName(),
           ByteArrayUtil.toHex(aid));
     }
+    /*
+     * the same selectors are usually presented to every SE, the command is built only once per
+     * selector. The request shares the set of successful status codes of the selector, it is
+     * rebuilt if the selector has created a new set since (first status code added).
+     */
+    ApduRequest selectApplicationRequest = selectApplicationRequests.get(aidSelector);
+    if (selectApplicationRequest == null
+        || selectApplicationRequest.getSuccessfulStatusCodes()
+            != aidSelector.getSuccessfulSelectionStatusCodes()) {
+      selectApplicationRequest = buildSelectApplicationRequest(aidSelector);
+      selectApplicationRequests.put(aidSelector, selectApplicationRequest);
+    }
+
+    /*
+     * we use here processApduRequest to manage case 4 hack. The successful status codes list
+     * for this command is provided.
+     */
+    fciResponse = processApduRequest(selectApplicationRequest);
+
+    if (!fciResponse.isSuccessful()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "[{}] openLogicalChannel => Application Selection failed. SELECTOR = {}",
+            this.getName(),
+            aidSelector);
+      }
+    }
+    return fciResponse;
+  }
+
+  /**
+   * Builds the Select Application request corresponding to the provided AID selector.
+   *
+   * @param aidSelector the AID selector
+   * @return a not null {@link ApduRequest}
+   */
+  private ApduRequest buildSelectApplicationRequest(SeSelector.AidSelector aidSelector) {
+    final byte[] aid = aidSelector.getAidToSelect();
     /*
      * build a get response command the actual length expected by the SE in the get response
      * command is handled in transmitApdu
@@ -203,27 +252,11 @@ public abstract class AbstractLocalReader extends AbstractReader {
     System.arraycopy(aid, 0, selectApplicationCommand, 5, aid.length); // data
     selectApplicationCommand[5 + aid.length] = (byte) 0x00; // Le
 
-    /*
-     * we use here processApduRequest to manage case 4 hack. The successful status codes list
-     * for this command is provided.
-     */
-    fciResponse =
-        processApduRequest(
-            new ApduRequest(
-                "Internal Select Application",
-                selectApplicationCommand,
-                true,
-                aidSelector.getSuccessfulSelectionStatusCodes()));
-
-    if (!fciResponse.isSuccessful()) {
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "[{}] openLogicalChannel => Application Selection failed. SELECTOR = {}",
-            this.getName(),
-            aidSelector);
-      }
-    }
-    return fciResponse;
+    return new ApduRequest(
+        "Internal Select Application",
+        selectApplicationCommand,
+        true,
+        aidSelector.getSuccessfulSelectionStatusCodes());
   }
 
   /*
@@ -287,7 +320,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
         fciResponse = processExplicitAidSelection(seSelector.getAidSelector());
       }
 
-      if (fciResponse.isSuccessful() && fciResponse.getDataOut().length == 0) {
+      if (fciResponse.isSuccessful() && fciResponse.getDataOutLength() == 0) {
         /*
          * The selection didn't provide data (e.g. OMAPI), we get the FCI using a Get Data
          * command.
@@ -399,6 +432,12 @@ public abstract class AbstractLocalReader extends AbstractReader {
     if (logger.isTraceEnabled()) {
       logger.trace("[{}] closeLogicalChannel => Closing of the logical channel.", this.getName());
     }
+    if (logicalChannelIsOpen) {
+      ReaderMetrics readerMetrics = SeProxyService.getInstance().getReaderMetrics();
+      if (readerMetrics != null) {
+        readerMetrics.recordChannelClosing(getName());
+      }
+    }
     logicalChannelIsOpen = false;
     aidCurrentlySelected = null;
     currentSelectionStatus = null;
@@ -469,7 +508,10 @@ public abstract class AbstractLocalReader extends AbstractReader {
    * The received responses are returned as {@link List} of {@link SeResponse} The requests are
    * ordered at application level and the responses match this order.<br>
    * When a request is not matching the current PO, the response responses pushed in the response
-   * List object is set to null.
+   * List object is set to null.<br>
+   * In {@link MultiSeRequestProcessing#FIRST_MATCH_ADAPTIVE} mode, the requests are processed in
+   * the order provided by the selection case statistics of the reader; the responses are placed at
+   * the index of their request and the requests not processed have a null response.
    *
    * @param seRequests the request list
    * @param multiSeRequestProcessing the multi se processing mode
@@ -489,11 +531,18 @@ public abstract class AbstractLocalReader extends AbstractReader {
 
     // Determine which requests are matching the current ATR
     // All requests without selector are considered matching
+    // The result is evaluated once per protocol flag, the selection cases often share it
+    Map<SeProtocol, Boolean> protocolFlagMatches = new HashMap<SeProtocol, Boolean>();
     for (SeRequest request : seRequests) {
       SeSelector seSelector = request.getSeSelector();
       if (seSelector != null) {
-        requestMatchesProtocol[requestIndex] =
-            protocolFlagMatches(request.getSeSelector().getSeProtocol());
+        SeProtocol seProtocol = seSelector.getSeProtocol();
+        Boolean matches = protocolFlagMatches.get(seProtocol);
+        if (matches == null) {
+          matches = protocolFlagMatches(seProtocol);
+          protocolFlagMatches.put(seProtocol, matches);
+        }
+        requestMatchesProtocol[requestIndex] = matches;
       } else {
         requestMatchesProtocol[requestIndex] = true;
       }
@@ -508,6 +557,24 @@ public abstract class AbstractLocalReader extends AbstractReader {
     lastRequestIndex = requestIndex;
     requestIndex = 0;
 
+    /*
+     * Determine the processing order: the original order, or the most often matching selection
+     * cases first in adaptive mode.
+     */
+    boolean adaptive =
+        multiSeRequestProcessing == MultiSeRequestProcessing.FIRST_MATCH_ADAPTIVE
+            && seRequests.size() > 1;
+    byte[] atr = null;
+    int[] processingOrder = null;
+    if (adaptive) {
+      if (!isPhysicalChannelOpen()) {
+        openPhysicalChannel();
+      }
+      atr = getATR();
+      processingOrder = selectionCaseStatistics.getProcessingOrder(atr, seRequests);
+    }
+    int matchingRequestIndex = -1;
+
     /*
      * The current request list is possibly made of several APDU command lists.
      *
@@ -519,10 +586,12 @@ public abstract class AbstractLocalReader extends AbstractReader {
      */
     List<SeResponse> responses = new ArrayList<SeResponse>();
     boolean stopProcess = false;
-    for (SeRequest request : seRequests) {
+    for (int position = 0; position < lastRequestIndex; position++) {
 
       if (!stopProcess) {
-        if (requestMatchesProtocol[requestIndex]) {
+        int originalIndex = adaptive ? processingOrder[position] : position;
+        SeRequest request = seRequests.get(originalIndex);
+        if (requestMatchesProtocol[originalIndex]) {
           if (logger.isDebugEnabled()) {
             logger.debug("[{}] processSeRequests => transmit {}", this.getName(), request);
           }
@@ -537,6 +606,9 @@ public abstract class AbstractLocalReader extends AbstractReader {
             /* Add the latest (and partial) SeResponse to the current list. */
             responses.add(ex.getSeResponse());
             /* Build a List of SeResponse with the available data. */
+            if (adaptive) {
+              responses = SelectionCaseStatistics.toOriginalOrder(responses, processingOrder);
+            }
             ex.setSeResponses(responses);
             if (logger.isDebugEnabled()) {
               logger.debug(
@@ -565,6 +637,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
           if (logicalChannelIsOpen) {
             // the current PO matches the selection case, we stop here.
             stopProcess = true;
+            matchingRequestIndex = originalIndex;
           }
         }
         requestIndex++;
@@ -585,6 +658,12 @@ public abstract class AbstractLocalReader extends AbstractReader {
         }
       }
     }
+    if (adaptive) {
+      if (matchingRequestIndex >= 0) {
+        selectionCaseStatistics.recordMatch(atr, seRequests.get(matchingRequestIndex));
+      }
+      responses = SelectionCaseStatistics.toOriginalOrder(responses, processingOrder);
+    }
     return responses;
   }
 
@@ -751,9 +830,17 @@ public abstract class AbstractLocalReader extends AbstractReader {
           return null;
         }
 
+        ReaderMetrics readerMetrics = SeProxyService.getInstance().getReaderMetrics();
+        if (readerMetrics != null) {
+          readerMetrics.recordSelection(getName(), selectionStatus.hasMatched());
+        }
+
         if (selectionStatus.hasMatched()) {
           /* The selection process succeeded, the logical channel is open */
           logicalChannelIsOpen = true;
+          if (readerMetrics != null) {
+            readerMetrics.recordChannelOpening(getName());
+          }
 
           if (selectionStatus.getFci().isSuccessful()) {
             /* the selection AID based was successful, keep the aid */
@@ -823,10 +910,11 @@ public abstract class AbstractLocalReader extends AbstractReader {
     }
 
     byte[] buffer = apduRequest.getBytes();
-    apduResponse = new ApduResponse(transmitApdu(buffer), apduRequest.getSuccessfulStatusCodes());
+    apduResponse =
+        new ApduResponse(transmitApduAndRecord(buffer), apduRequest.getSuccessfulStatusCodes());
 
     if (apduRequest.isCase4()
-        && apduResponse.getDataOut().length == 0
+        && apduResponse.getDataOutLength() == 0
         && apduResponse.isSuccessful()) {
       // do the get response command but keep the original status code
       apduResponse = case4HackGetResponse(apduResponse.getStatusCode());
@@ -870,7 +958,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
           elapsed10ms / 10.0);
     }
 
-    byte[] getResponseHackResponseBytes = transmitApdu(getResponseHackRequestBytes);
+    byte[] getResponseHackResponseBytes = transmitApduAndRecord(getResponseHackRequestBytes);
 
     /* we expect here a 0x9000 status code */
     ApduResponse getResponseHackResponse = new ApduResponse(getResponseHackResponseBytes, null);
@@ -882,7 +970,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
       logger.debug(
           "[{}] case4HackGetResponse => Internal {}, elapsed {} ms.",
           this.getName(),
-          getResponseHackResponseBytes,
+          LazyLogArgument.hex(getResponseHackResponseBytes),
           elapsed10ms / 10.0);
     }
 
@@ -896,6 +984,37 @@ public abstract class AbstractLocalReader extends AbstractReader {
     return getResponseHackResponse;
   }
 
+  /**
+   * Transmits a single APDU with {@link #transmitApdu(byte[])}, reports its round-trip time to the
+   * {@link ReaderMetrics} and records the exchange in the {@link ApduFlightRecorder}, if any.
+   *
+   * @param apduIn byte buffer containing the ingoing data
+   * @return apduResponse byte buffer containing the outgoing data.
+   * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
+   */
+  private byte[] transmitApduAndRecord(byte[] apduIn) {
+    SeProxyService seProxyService = SeProxyService.getInstance();
+    ReaderMetrics readerMetrics = seProxyService.getReaderMetrics();
+    ApduFlightRecorder apduFlightRecorder = seProxyService.getApduFlightRecorder();
+    if (readerMetrics == null && apduFlightRecorder == null) {
+      return transmitApdu(apduIn);
+    }
+    long startTime = System.nanoTime();
+    byte[] apduOut = null;
+    try {
+      apduOut = transmitApdu(apduIn);
+    } finally {
+      long duration = System.nanoTime() - startTime;
+      if (readerMetrics != null) {
+        readerMetrics.recordApduLatency(getName(), apduIn.length > 1 ? apduIn[1] : 0, duration);
+      }
+      if (apduFlightRecorder != null) {
+        apduFlightRecorder.record(getName(), apduIn, apduOut, duration);
+      }
+    }
+    return apduOut;
+  }
+
   /**
    * Transmits a single APDU and receives its response.
    *
@@ -903,6 +1022,10 @@ public abstract class AbstractLocalReader extends AbstractReader {
    * implementation must handle the case where the SE response is 61xy and execute the appropriate
    * get response command.
    *
+   * <p>The provided buffer can be reused for further transmissions, it must not be modified. The
+   * returned buffer is owned by the caller, it must not be shared with any buffer kept by the
+   * implementation.
+   *
    * @param apduIn byte buffer containing the ingoing data
    * @return apduResponse byte buffer containing the outgoing data.
    * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
@@ -11,6 +11,9 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.seproxy.plugin.reader;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
 /**
  * Monitoring jobs abstract class.
  *
@@ -35,6 +38,19 @@ public abstract class AbstractMonitoringJob {
    */
   abstract Runnable getMonitoringJob(AbstractObservableState state);
 
+  /**
+   * (package-private)<br>
+   * Starts the monitoring job in background, the default implementation submits the Runnable task
+   * to the executor service.
+   *
+   * @param state reference to the state the monitoring job in running against
+   * @param executorService the executor service of the state
+   * @return the result of the background processing
+   */
+  Future<?> start(AbstractObservableState state, ExecutorService executorService) {
+    return executorService.submit(getMonitoringJob(state));
+  }
+
   /** Should stop/interrupt the monitoring job */
   abstract void stop();
 }
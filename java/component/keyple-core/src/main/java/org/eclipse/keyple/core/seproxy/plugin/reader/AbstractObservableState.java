@@ -113,7 +113,7 @@ public abstract class AbstractObservableState {
       if (executorService == null) {
         throw new AssertionError("ExecutorService must be set");
       }
-      monitoringEvent = executorService.submit(monitoringJob.getMonitoringJob(this));
+      monitoringEvent = monitoringJob.start(this, executorService);
     }
   }
 
@@ -0,0 +1,271 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.plugin.reader;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * (package-private)<br>
+ * Monitoring job polling the reader at regular intervals until an internal event is detected.
+ *
+ * <p>When started with a {@link ScheduledExecutorService}, each poll is a short task scheduled on
+ * the executor: the polling jobs of many readers share a few threads, each one getting its turn in
+ * the order of its polling deadline (see {@link ReaderMonitoringScheduler}). The detected event is
+ * then handled on the event executor service, so that a long processing of the event (e.g. the
+ * selection and the notification of the observers) does not delay the polls of the other readers.
+ *
+ * <p>With any other {@link ExecutorService}, the job loops in an executor thread and sleeps
+ * between two polls.
+ */
+abstract class AbstractPollingMonitoringJob extends AbstractMonitoringJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(AbstractPollingMonitoringJob.class);
+
+  private final AtomicBoolean loop = new AtomicBoolean();
+
+  /* Polls scheduled on a ScheduledExecutorService by the last start, if any */
+  private volatile ScheduledPolling scheduledPolling;
+
+  /* Executor handling the events detected by the scheduled polls */
+  private final ExecutorService eventExecutorService;
+
+  /**
+   * (package-private)<br>
+   * The events detected by the scheduled polls are handled by the executor service of the default
+   * {@link ReaderMonitoringScheduler}.
+   */
+  AbstractPollingMonitoringJob() {
+    this(ReaderMonitoringScheduler.getDefault().getExecutorService());
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @param eventExecutorService the executor handling the events detected by the scheduled polls
+   */
+  AbstractPollingMonitoringJob(ExecutorService eventExecutorService) {
+    this.eventExecutorService = eventExecutorService;
+  }
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the name of the polled reader
+   */
+  abstract String getReaderName();
+
+  /**
+   * (package-private)<br>
+   *
+   * @return the delay between two polls in milliseconds
+   */
+  abstract long getPollingDelay();
+
+  /**
+   * (package-private)<br>
+   * Polls the reader once.
+   *
+   * @return the internal event to be fired or null if the polling has to continue
+   * @throws KeypleReaderIOException if the communication with the reader has failed, the polling
+   *     is then stopped
+   */
+  abstract AbstractObservableLocalReader.InternalEvent poll();
+
+  /** (package-private)<br> */
+  @Override
+  Runnable getMonitoringJob(final AbstractObservableState state) {
+    return new Runnable() {
+      long retries = 0;
+
+      @Override
+      public void run() {
+        if (logger.isDebugEnabled()) {
+          logger.debug("[{}] Start polling", getReaderName());
+        }
+        // re-init loop value to true
+        loop.set(true);
+        while (loop.get()) {
+          if (pollOnce(state, null)) {
+            return;
+          }
+          retries++;
+
+          if (logger.isTraceEnabled()) {
+            logger.trace("[{}] Polling retries : {}", getReaderName(), retries);
+          }
+          try {
+            // wait a bit
+            Thread.sleep(getPollingDelay());
+          } catch (InterruptedException ignored) {
+            // Restore interrupted state...
+            Thread.currentThread().interrupt();
+            loop.set(false);
+          }
+        }
+        if (logger.isTraceEnabled()) {
+          logger.trace("[{}] Polling loop has been stopped", getReaderName());
+        }
+      }
+    };
+  }
+
+  /**
+   * (package-private)<br>
+   * Schedules the polls on the executor if it is a {@link ScheduledExecutorService}, no thread is
+   * then held between two polls.
+   *
+   * <p>The polls of each start are bound to their own {@link ScheduledPolling}: once it has been
+   * cancelled, they neither poll the reader nor fire an event anymore, even if a later start has
+   * set the loop flag again.
+   */
+  @Override
+  Future<?> start(final AbstractObservableState state, ExecutorService executorService) {
+    if (!(executorService instanceof ScheduledExecutorService)) {
+      return super.start(state, executorService);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("[{}] Start scheduled polling", getReaderName());
+    }
+    final ScheduledPolling polling = new ScheduledPolling();
+    scheduledPolling = polling;
+    Future<?> future =
+        ((ScheduledExecutorService) executorService)
+            .scheduleWithFixedDelay(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    if (polling.isActive()) {
+                      pollOnce(state, polling);
+                    }
+                  }
+                },
+                getPollingDelay(),
+                getPollingDelay(),
+                TimeUnit.MILLISECONDS);
+    polling.setFuture(future);
+    return future;
+  }
+
+  /** (package-private)<br> */
+  @Override
+  void stop() {
+    if (logger.isDebugEnabled()) {
+      logger.debug("[{}] Stop polling", getReaderName());
+    }
+    loop.set(false);
+    ScheduledPolling polling = scheduledPolling;
+    if (polling != null) {
+      polling.stop();
+    }
+  }
+
+  /**
+   * Polls the reader and fires the detected event if any.
+   *
+   * <p>The event detected by a scheduled poll is handed over to the event executor service, the
+   * polling thread is released at once.
+   *
+   * @param state the state the monitoring job is running against
+   * @param polling the scheduled polls the poll belongs to, null if the job loops in a thread
+   * @return true if the polling is over
+   */
+  private boolean pollOnce(final AbstractObservableState state, final ScheduledPolling polling) {
+    final AbstractObservableLocalReader.InternalEvent event;
+    try {
+      event = poll();
+    } catch (KeypleReaderIOException e) {
+      logger.trace("[{}] Polling has failed: {}", getReaderName(), e.getMessage());
+      if (polling != null) {
+        polling.cancel();
+      } else {
+        loop.set(false);
+      }
+      return true;
+    }
+    if (event == null) {
+      return false;
+    }
+    if (polling == null) {
+      loop.set(false);
+      state.onEvent(event);
+      return true;
+    }
+    if (!polling.cancel()) {
+      // stopped while polling, the event is no longer expected
+      return true;
+    }
+    eventExecutorService.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            // the job may have been stopped since the detection
+            if (!polling.isStopped()) {
+              state.onEvent(event);
+            }
+          }
+        });
+    return true;
+  }
+
+  /** Handle of the periodic task scheduled by one call to {@link #start}. */
+  private static final class ScheduledPolling {
+    private final AtomicBoolean active = new AtomicBoolean(true);
+    private volatile boolean stopped;
+    private volatile Future<?> future;
+
+    boolean isActive() {
+      return active.get();
+    }
+
+    boolean isStopped() {
+      return stopped;
+    }
+
+    /**
+     * Sets the periodic task once it has been scheduled, it is cancelled right away if the polling
+     * has been cancelled in the meantime.
+     */
+    void setFuture(Future<?> future) {
+      this.future = future;
+      if (!active.get()) {
+        future.cancel(false);
+      }
+    }
+
+    /**
+     * Cancels the next polls.
+     *
+     * @return true if the polling was still active
+     */
+    boolean cancel() {
+      boolean wasActive = active.getAndSet(false);
+      Future<?> scheduled = future;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+      return wasActive;
+    }
+
+    /** Cancels the next polls and the handling of an event already detected, if any. */
+    void stop() {
+      stopped = true;
+      cancel();
+    }
+  }
+}
@@ -11,15 +11,19 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.seproxy.plugin.reader;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
 import org.eclipse.keyple.core.seproxy.exception.KeypleException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.core.seproxy.message.ProxyReader;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.metrics.ApduFlightRecorder;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +32,8 @@ import org.slf4j.LoggerFactory;
  *
  * <ul>
  *   <li>High level logging and benchmarking of Set of SeRequest and SeRequest transmission
+ *   <li>Reporting of the transmission latencies and failures to the ReaderMetrics, if any
+ *   <li>Dump of the last APDU exchanges kept by the ApduFlightRecorder on failure, if any
  *   <li>Name-based comparison of ProxyReader (required for SortedSet&lt;ProxyReader&gt;)
  *   <li>Plugin naming management
  * </ul>
@@ -87,7 +93,8 @@ public abstract class AbstractReader implements ProxyReader {
    *
    * <p>The {@link MultiSeRequestProcessing} parameter indicates whether all requests are to be sent
    * regardless of their result (PROCESS_ALL) or whether the process should stop at the first
-   * request whose result is a success (FIRST_MATCH).
+   * request whose result is a success (FIRST_MATCH, or FIRST_MATCH_ADAPTIVE to try first the
+   * requests that matched most often).
    *
    * <p>The {@link ChannelControl} parameter specifies whether the physical channel should be closed
    * (CLOSE_AFTER) or not (KEEP_OPEN) after all requests have been transmitted.
@@ -126,9 +133,17 @@ public abstract class AbstractReader implements ProxyReader {
           elapsed10ms / 10.0);
     }
 
+    ReaderMetrics readerMetrics = SeProxyService.getInstance().getReaderMetrics();
+    long startTime = readerMetrics != null ? System.nanoTime() : 0;
+
     try {
       seResponses = processSeRequests(seRequests, multiSeRequestProcessing, channelControl);
     } catch (KeypleReaderIOException ex) {
+      if (readerMetrics != null) {
+        readerMetrics.recordIoError(name);
+        readerMetrics.recordSeRequestLatency(name, System.nanoTime() - startTime);
+      }
+      dumpApduExchanges();
       if (logger.isDebugEnabled()) {
         long timeStamp = System.nanoTime();
         long elapsed10ms = (timeStamp - before) / 100000;
@@ -141,6 +156,10 @@ public abstract class AbstractReader implements ProxyReader {
       throw ex;
     }
 
+    if (readerMetrics != null) {
+      readerMetrics.recordSeRequestLatency(name, System.nanoTime() - startTime);
+    }
+
     if (logger.isDebugEnabled()) {
       long timeStamp = System.nanoTime();
       long elapsed10ms = (timeStamp - before) / 100000;
@@ -155,6 +174,23 @@ public abstract class AbstractReader implements ProxyReader {
     return seResponses;
   }
 
+  /**
+   * Logs the last APDU exchanges of the reader kept by the {@link ApduFlightRecorder}, if any.
+   *
+   * <p>This method is called when a transmission fails.
+   */
+  private void dumpApduExchanges() {
+    ApduFlightRecorder apduFlightRecorder = SeProxyService.getInstance().getApduFlightRecorder();
+    if (apduFlightRecorder != null
+        && apduFlightRecorder.getErrorDumpSize() > 0
+        && logger.isWarnEnabled()) {
+      logger.warn(
+          "[{}] transmit => IO failure, last APDU exchanges:\n{}",
+          name,
+          apduFlightRecorder.dump(name, apduFlightRecorder.getErrorDumpSize()));
+    }
+  }
+
   /**
    * Abstract method implemented by the AbstractLocalReader and VirtualReader classes.
    *
@@ -204,9 +240,17 @@ public abstract class AbstractReader implements ProxyReader {
           elapsed10ms / 10.0);
     }
 
+    ReaderMetrics readerMetrics = SeProxyService.getInstance().getReaderMetrics();
+    long startTime = readerMetrics != null ? System.nanoTime() : 0;
+
     try {
       seResponse = processSeRequest(seRequest, channelControl);
     } catch (KeypleReaderIOException ex) {
+      if (readerMetrics != null) {
+        readerMetrics.recordIoError(name);
+        readerMetrics.recordSeRequestLatency(name, System.nanoTime() - startTime);
+      }
+      dumpApduExchanges();
       if (logger.isDebugEnabled()) {
         long timeStamp = System.nanoTime();
         long elapsed10ms = (timeStamp - before) / 100000;
@@ -220,6 +264,10 @@ public abstract class AbstractReader implements ProxyReader {
       throw ex;
     }
 
+    if (readerMetrics != null) {
+      readerMetrics.recordSeRequestLatency(name, System.nanoTime() - startTime);
+    }
+
     if (logger.isDebugEnabled()) {
       long timeStamp = System.nanoTime();
       long elapsed10ms = (timeStamp - before) / 100000;
@@ -248,6 +296,112 @@ public abstract class AbstractReader implements ProxyReader {
   protected abstract SeResponse processSeRequest(
       SeRequest seRequest, ChannelControl channelControl);
 
+  /**
+   * Execute the transmission of a script of {@link SeRequest} and returns the list of {@link
+   * SeResponse}
+   *
+   * <p>The global execution time (inter-exchange and communication) and the script content is
+   * logged (DEBUG level).
+   *
+   * <p>As the method is final, it cannot be extended.
+   *
+   * @param seRequests the requests to be transmitted
+   * @param channelControl indicates if the channel has to be closed at the end of the processing
+   * @return the received responses
+   * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
+   */
+  @Override
+  public final List<SeResponse> transmitSeRequestScript(
+      List<SeRequest> seRequests, ChannelControl channelControl) {
+    if (seRequests == null || seRequests.isEmpty()) {
+      throw new IllegalArgumentException("The request script must not be null or empty.");
+    }
+
+    List<SeResponse> seResponses;
+
+    if (logger.isDebugEnabled()) {
+      long timeStamp = System.nanoTime();
+      long elapsed10ms = (timeStamp - before) / 100000;
+      this.before = timeStamp;
+      logger.debug(
+          "[{}] transmit => SEREQUESTSCRIPT = {}, elapsed {} ms.",
+          this.getName(),
+          seRequests,
+          elapsed10ms / 10.0);
+    }
+
+    ReaderMetrics readerMetrics = SeProxyService.getInstance().getReaderMetrics();
+    long startTime = readerMetrics != null ? System.nanoTime() : 0;
+
+    try {
+      seResponses = processSeRequestScript(seRequests, channelControl);
+    } catch (KeypleReaderIOException ex) {
+      if (readerMetrics != null) {
+        readerMetrics.recordIoError(name);
+        readerMetrics.recordSeRequestLatency(name, System.nanoTime() - startTime);
+      }
+      dumpApduExchanges();
+      if (logger.isDebugEnabled()) {
+        long timeStamp = System.nanoTime();
+        long elapsed10ms = (timeStamp - before) / 100000;
+        this.before = timeStamp;
+        logger.debug(
+            "[{}] transmit => SEREQUESTSCRIPT IO failure. elapsed {}",
+            this.getName(),
+            elapsed10ms / 10.0);
+      } /* Throw an exception with the responses collected so far. */
+      throw ex;
+    }
+
+    if (readerMetrics != null) {
+      readerMetrics.recordSeRequestLatency(name, System.nanoTime() - startTime);
+    }
+
+    if (logger.isDebugEnabled()) {
+      long timeStamp = System.nanoTime();
+      long elapsed10ms = (timeStamp - before) / 100000;
+      this.before = timeStamp;
+      logger.debug(
+          "[{}] transmit => SERESPONSESCRIPT = {}, elapsed {} ms.",
+          this.getName(),
+          seResponses,
+          elapsed10ms / 10.0);
+    }
+
+    return seResponses;
+  }
+
+  /**
+   * Processes the requests of a script one after the other.
+   *
+   * <p>This method is handled by transmitSeRequestScript. Readers for which each exchange is
+   * costly (e.g. remote readers) override it to process the whole script at once.
+   *
+   * @param seRequests the {@link List} of {@link SeRequest} to be processed
+   * @param channelControl indicates if the channel has to be closed at the end of the processing
+   * @return the List of {@link SeResponse} (responses to the script of {@link SeRequest})
+   * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
+   */
+  protected List<SeResponse> processSeRequestScript(
+      List<SeRequest> seRequests, ChannelControl channelControl) {
+    List<SeResponse> seResponses = new ArrayList<SeResponse>();
+    int lastRequestIndex = seRequests.size() - 1;
+    for (int i = 0; i <= lastRequestIndex; i++) {
+      try {
+        seResponses.add(
+            processSeRequest(
+                seRequests.get(i),
+                i == lastRequestIndex ? channelControl : ChannelControl.KEEP_OPEN));
+      } catch (KeypleReaderIOException ex) {
+        /* Add the latest (and partial) SeResponse to the responses collected so far. */
+        seResponses.add(ex.getSeResponse());
+        ex.setSeResponses(seResponses);
+        throw ex;
+      }
+    }
+    return seResponses;
+  }
+
   /**
    * Sets at once a set of parameters for the reader
    *
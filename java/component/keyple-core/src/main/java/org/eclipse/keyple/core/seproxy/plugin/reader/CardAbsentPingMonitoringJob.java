@@ -11,7 +11,6 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.seproxy.plugin.reader;
 
-import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,14 +25,15 @@ import org.slf4j.LoggerFactory;
  * SE_REMOVED event is fired when the SE is no longer responding.
  *
  * <p>By default a delay of 200 ms is inserted between each APDU sending .
+ *
+ * <p>The pings are scheduled on the executor service of the state if it is a {@link
+ * java.util.concurrent.ScheduledExecutorService} (see {@link ReaderMonitoringScheduler}).
  */
-public class CardAbsentPingMonitoringJob extends AbstractMonitoringJob {
+public class CardAbsentPingMonitoringJob extends AbstractPollingMonitoringJob {
 
   private static final Logger logger = LoggerFactory.getLogger(CardAbsentPingMonitoringJob.class);
 
   private final AbstractObservableLocalReader reader;
-  private Runnable job;
-  private final AtomicBoolean loop = new AtomicBoolean();
   private long removalWait = 200;
 
   /**
@@ -58,62 +58,29 @@ public class CardAbsentPingMonitoringJob extends AbstractMonitoringJob {
 
   /** (package-private)<br> */
   @Override
-  Runnable getMonitoringJob(final AbstractObservableState state) {
-
-    /*
-     * Loop until one the following condition is met : -
-     * AbstractObservableLocalReader#isSePresentPing returns false, meaning that the SE ping has
-     * failed - InterruptedException is caught
-     */
-    job =
-        new Runnable() {
-          long retries = 0;
-
-          @Override
-          public void run() {
-            if (logger.isDebugEnabled()) {
-              logger.debug("[{}] Polling from isSePresentPing", reader.getName());
-            }
-            // re-init loop value to true
-            loop.set(true);
-            while (loop.get()) {
-              if (!reader.isSePresentPing()) {
-                if (logger.isDebugEnabled()) {
-                  logger.debug("[{}] The SE stopped responding", reader.getName());
-                }
-                loop.set(false);
-                state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_REMOVED);
-                return;
-              }
-              retries++;
-
-              if (logger.isTraceEnabled()) {
-                logger.trace("[{}] Polling retries : {}", reader.getName(), retries);
-              }
-              try {
-                // wait a bit
-                Thread.sleep(removalWait);
-              } catch (InterruptedException ignored) {
-                // Restore interrupted state...
-                Thread.currentThread().interrupt();
-                loop.set(false);
-              }
-            }
-
-            if (logger.isDebugEnabled()) {
-              logger.debug("[{}] Polling loop has been stopped", reader.getName());
-            }
-          }
-        };
-    return job;
+  String getReaderName() {
+    return reader.getName();
   }
 
   /** (package-private)<br> */
   @Override
-  void stop() {
-    if (logger.isDebugEnabled()) {
-      logger.debug("[{}] Stop Polling ", reader.getName());
+  long getPollingDelay() {
+    return removalWait;
+  }
+
+  /**
+   * (package-private)<br>
+   * Fires SE_REMOVED as soon as {@link AbstractObservableLocalReader#isSePresentPing()} returns
+   * false, meaning that the SE ping has failed
+   */
+  @Override
+  AbstractObservableLocalReader.InternalEvent poll() {
+    if (!reader.isSePresentPing()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("[{}] The SE stopped responding", reader.getName());
+      }
+      return AbstractObservableLocalReader.InternalEvent.SE_REMOVED;
     }
-    loop.set(false);
+    return null;
   }
 }
@@ -11,9 +11,8 @@
  ************************************************************************************** */
 package org.eclipse.keyple.core.seproxy.plugin.reader;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ExecutorService;
 import org.eclipse.keyple.core.seproxy.SeReader;
-import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,18 +20,20 @@ import org.slf4j.LoggerFactory;
  * This monitoring job polls the {@link SeReader#isSePresent()} method to detect
  * SE_INSERTED/SE_REMOVED
  */
-public class CardPresentMonitoringJob extends AbstractMonitoringJob {
+public class CardPresentMonitoringJob extends AbstractPollingMonitoringJob {
 
   private static final Logger logger = LoggerFactory.getLogger(CardPresentMonitoringJob.class);
 
   private final long waitTimeout;
   private final boolean monitorInsertion;
   private final SeReader reader;
-  private final AtomicBoolean loop = new AtomicBoolean();
 
   /**
    * Build a monitoring job to detect the card insertion
    *
+   * <p>The polls are scheduled on the executor service of the state if it is a {@link
+   * java.util.concurrent.ScheduledExecutorService} (see {@link ReaderMonitoringScheduler}).
+   *
    * @param reader : reader that will be polled with the method isSePresent()
    * @param waitTimeout : wait time during two hit of the polling
    * @param monitorInsertion : if true, polls for SE_INSERTED, else SE_REMOVED
@@ -43,71 +44,56 @@ public class CardPresentMonitoringJob extends AbstractMonitoringJob {
     this.monitorInsertion = monitorInsertion;
   }
 
+  /**
+   * Build a monitoring job to detect the card insertion, the detected events being handled by the
+   * provided executor service when the polls are scheduled
+   *
+   * @param reader : reader that will be polled with the method isSePresent()
+   * @param waitTimeout : wait time during two hit of the polling
+   * @param monitorInsertion : if true, polls for SE_INSERTED, else SE_REMOVED
+   * @param eventExecutorService : executor service handling the detected events (e.g. the executor
+   *     service of the {@link ReaderMonitoringScheduler} used by the reader)
+   */
+  public CardPresentMonitoringJob(
+      SeReader reader,
+      long waitTimeout,
+      boolean monitorInsertion,
+      ExecutorService eventExecutorService) {
+    super(eventExecutorService);
+    this.waitTimeout = waitTimeout;
+    this.reader = reader;
+    this.monitorInsertion = monitorInsertion;
+  }
+
   /** (package-private)<br> */
   @Override
-  Runnable getMonitoringJob(final AbstractObservableState state) {
-    return new Runnable() {
-      long retries = 0;
-
-      @Override
-      public void run() {
-        if (logger.isDebugEnabled()) {
-          logger.debug("[{}] Polling from isSePresent", reader.getName());
-        }
-        // re-init loop value to true
-        loop.set(true);
-        while (loop.get()) {
-          try {
-            // polls for SE_INSERTED
-            if (monitorInsertion && reader.isSePresent()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] The SE is present ", reader.getName());
-              }
-              loop.set(false);
-              state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_INSERTED);
-              return;
-            }
-            // polls for SE_REMOVED
-            if (!monitorInsertion && !reader.isSePresent()) {
-              if (logger.isDebugEnabled()) {
-                logger.debug("[{}] The SE is not present ", reader.getName());
-              }
-              loop.set(false);
-              state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_REMOVED);
-              return;
-            }
-
-          } catch (KeypleReaderIOException e) {
-            loop.set(false);
-            // what do do here
-          }
-          retries++;
+  String getReaderName() {
+    return reader.getName();
+  }
 
-          if (logger.isTraceEnabled()) {
-            logger.trace("[{}] isSePresent polling retries : {}", reader.getName(), retries);
-          }
-          try {
-            // wait a bit
-            Thread.sleep(waitTimeout);
-          } catch (InterruptedException ignored) {
-            // Restore interrupted state...
-            Thread.currentThread().interrupt();
-            loop.set(false);
-          }
-        }
-        if (logger.isTraceEnabled()) {
-          logger.trace("[{}] Looping has been stopped", reader.getName());
-        }
-      }
-    };
+  /** (package-private)<br> */
+  @Override
+  long getPollingDelay() {
+    return waitTimeout;
   }
 
   /** (package-private)<br> */
   @Override
-  void stop() {
-    if (logger.isDebugEnabled()) {
-      logger.debug("[{}] Stop polling ", reader.getName());
+  AbstractObservableLocalReader.InternalEvent poll() {
+    // polls for SE_INSERTED
+    if (monitorInsertion && reader.isSePresent()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("[{}] The SE is present ", reader.getName());
+      }
+      return AbstractObservableLocalReader.InternalEvent.SE_INSERTED;
+    }
+    // polls for SE_REMOVED
+    if (!monitorInsertion && !reader.isSePresent()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("[{}] The SE is not present ", reader.getName());
+      }
+      return AbstractObservableLocalReader.InternalEvent.SE_REMOVED;
     }
-    loop.set(false);
+    return null;
   }
 }
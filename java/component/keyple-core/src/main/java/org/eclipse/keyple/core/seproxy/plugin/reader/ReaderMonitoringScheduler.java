@@ -0,0 +1,150 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.plugin.reader;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors shared by the monitoring jobs of the observable local readers.
+ *
+ * <p>Two executors are provided:
+ *
+ * <ul>
+ *   <li>The executor service ({@link #getExecutorService()}) runs the jobs waiting for an event
+ *       natively (e.g. {@link SmartInsertionMonitoringJob}). Such a job holds a thread as long as
+ *       it waits, the threads are therefore created on demand and released after one minute of
+ *       inactivity: only the readers actually being monitored use a thread.
+ *   <li>The polling executor service ({@link #getPollingExecutorService()}) is a small pool of
+ *       threads on which the polling jobs (e.g. {@link CardPresentMonitoringJob}) schedule each of
+ *       their polls, regardless of the number of readers. The events they detect are handled by
+ *       the executor service, a polling thread is never held by the processing of an event.
+ * </ul>
+ *
+ * <p>The executor service is not bounded: a reader waiting natively (e.g. the stub reader) still
+ * holds one thread while it is monitored, bounding the pool would starve the readers queued
+ * behind the waiting ones. Only the polling readers share a bounded number of threads.
+ *
+ * <p>All threads are daemon threads. The default scheduler is used by the readers unless another
+ * one is defined with {@link #setDefault(ReaderMonitoringScheduler)} before their creation.
+ */
+public class ReaderMonitoringScheduler {
+
+  /** Default number of threads of the polling executor service */
+  public static final int DEFAULT_POLLING_POOL_SIZE = 2;
+
+  /* Idle time in seconds after which a thread of the executor service is released */
+  private static final long KEEP_ALIVE_TIME = 60;
+
+  private static ReaderMonitoringScheduler defaultScheduler;
+
+  private final ExecutorService executorService;
+  private final ScheduledExecutorService pollingExecutorService;
+
+  /**
+   * Create a scheduler
+   *
+   * @param pollingPoolSize the number of threads of the polling executor service (at least 1)
+   * @throws IllegalArgumentException if the pool size is less than 1
+   */
+  public ReaderMonitoringScheduler(int pollingPoolSize) {
+    if (pollingPoolSize < 1) {
+      throw new IllegalArgumentException("The polling pool size must be at least 1.");
+    }
+    executorService =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            KEEP_ALIVE_TIME,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new MonitoringThreadFactory("MonitoringThread-"));
+    pollingExecutorService =
+        new ScheduledThreadPoolExecutor(
+            pollingPoolSize, new MonitoringThreadFactory("MonitoringPollingThread-"));
+  }
+
+  /**
+   * Gets the default scheduler, created with {@link #DEFAULT_POLLING_POOL_SIZE} polling threads if
+   * none has been defined.
+   *
+   * @return a not null reference
+   */
+  public static synchronized ReaderMonitoringScheduler getDefault() {
+    if (defaultScheduler == null) {
+      defaultScheduler = new ReaderMonitoringScheduler(DEFAULT_POLLING_POOL_SIZE);
+    }
+    return defaultScheduler;
+  }
+
+  /**
+   * Defines the scheduler used by the readers created afterwards.
+   *
+   * <p>The previous default scheduler is not shut down, it is still used by the existing readers.
+   *
+   * @param scheduler the new default scheduler
+   * @throws IllegalArgumentException if the scheduler is null
+   */
+  public static synchronized void setDefault(ReaderMonitoringScheduler scheduler) {
+    if (scheduler == null) {
+      throw new IllegalArgumentException("The scheduler must not be null.");
+    }
+    defaultScheduler = scheduler;
+  }
+
+  /**
+   * Gets the executor service of the jobs waiting natively for an event
+   *
+   * @return a not null reference
+   */
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  /**
+   * Gets the executor service on which the polling jobs schedule their polls
+   *
+   * @return a not null reference
+   */
+  public ScheduledExecutorService getPollingExecutorService() {
+    return pollingExecutorService;
+  }
+
+  /** Shuts down both executor services, the running jobs are interrupted. */
+  public void shutdown() {
+    executorService.shutdownNow();
+    pollingExecutorService.shutdownNow();
+  }
+
+  /** Factory of numbered daemon threads */
+  private static class MonitoringThreadFactory implements ThreadFactory {
+    private final String namePrefix;
+    private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+    MonitoringThreadFactory(String namePrefix) {
+      this.namePrefix = namePrefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, namePrefix + threadNumber.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
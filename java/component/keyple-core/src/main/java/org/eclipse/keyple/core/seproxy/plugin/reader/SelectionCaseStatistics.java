@@ -0,0 +1,173 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.plugin.reader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+
+/**
+ * Keeps the number of successful matches of each selection case per ATR and provides the order in
+ * which the selection cases are tried in {@link MultiSeRequestProcessing#FIRST_MATCH_ADAPTIVE}
+ * mode.
+ *
+ * <p>The selection cases are identified by the content of their {@link SeSelector} (protocol, ATR
+ * regex, AID and selection options) and not by their instance, so that the statistics also apply
+ * to selection requests rebuilt at each selection (e.g. received from a remote node).
+ *
+ * <p>When the ATR of the current SE has not been seen yet, the statistics of all ATRs are used.
+ *
+ * <p>Used by the local readers, and by the readers which forward the selection to a remote reader
+ * and cannot know the ATR before the selection (the statistics of all ATRs are then used).
+ */
+public final class SelectionCaseStatistics {
+
+  /** maximum number of ATRs for which statistics are kept, the least recently used is dropped */
+  private static final int MAX_ATR_COUNT = 32;
+
+  /** match counts by selection case key, all ATRs together */
+  private final Map<String, Integer> globalMatchCounts = new HashMap<String, Integer>();
+
+  /** match counts by selection case key, per ATR (hex string) */
+  private final Map<String, Map<String, Integer>> atrMatchCounts =
+      new LinkedHashMap<String, Map<String, Integer>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Integer>> eldest) {
+          return size() > MAX_ATR_COUNT;
+        }
+      };
+
+  /**
+   * Gets the order in which the selection cases should be tried for the SE having the provided
+   * ATR.
+   *
+   * <p>The selection cases are sorted by decreasing number of matches; cases with the same number
+   * of matches keep their original order.
+   *
+   * @param atr the ATR of the current SE (may be null)
+   * @param seRequests the selection requests
+   * @return an array containing the indexes of the selection requests in the processing order
+   */
+  public synchronized int[] getProcessingOrder(byte[] atr, List<SeRequest> seRequests) {
+    Map<String, Integer> matchCounts = atr != null ? atrMatchCounts.get(toKey(atr)) : null;
+    if (matchCounts == null) {
+      matchCounts = globalMatchCounts;
+    }
+    int requestCount = seRequests.size();
+    int[] order = new int[requestCount];
+    int[] counts = new int[requestCount];
+    for (int i = 0; i < requestCount; i++) {
+      Integer count = matchCounts.get(getSelectionCaseKey(seRequests.get(i)));
+      int value = count != null ? count : 0;
+      // stable insertion sort by decreasing count, the lists are short
+      int j = i;
+      while (j > 0 && counts[j - 1] < value) {
+        order[j] = order[j - 1];
+        counts[j] = counts[j - 1];
+        j--;
+      }
+      order[j] = i;
+      counts[j] = value;
+    }
+    return order;
+  }
+
+  /**
+   * Records a successful match of the provided selection request for the SE having the provided
+   * ATR.
+   *
+   * @param atr the ATR of the current SE (may be null)
+   * @param seRequest the matching selection request
+   */
+  public synchronized void recordMatch(byte[] atr, SeRequest seRequest) {
+    String selectionCaseKey = getSelectionCaseKey(seRequest);
+    increment(globalMatchCounts, selectionCaseKey);
+    if (atr != null) {
+      String atrKey = toKey(atr);
+      Map<String, Integer> matchCounts = atrMatchCounts.get(atrKey);
+      if (matchCounts == null) {
+        matchCounts = new HashMap<String, Integer>();
+        atrMatchCounts.put(atrKey, matchCounts);
+      }
+      increment(matchCounts, selectionCaseKey);
+    }
+  }
+
+  /**
+   * Places the responses obtained in the processing order at the index of their request.
+   *
+   * @param responses the responses in the processing order (possibly less than the requests)
+   * @param processingOrder the request indexes in the processing order
+   * @return a list of responses having the size of the request list
+   */
+  public static List<SeResponse> toOriginalOrder(
+      List<SeResponse> responses, int[] processingOrder) {
+    List<SeResponse> orderedResponses =
+        new ArrayList<SeResponse>(Collections.<SeResponse>nCopies(processingOrder.length, null));
+    for (int position = 0; position < responses.size(); position++) {
+      orderedResponses.set(processingOrder[position], responses.get(position));
+    }
+    return orderedResponses;
+  }
+
+  private static void increment(Map<String, Integer> matchCounts, String selectionCaseKey) {
+    Integer count = matchCounts.get(selectionCaseKey);
+    // saturate instead of overflowing, the order is what matters
+    if (count == null) {
+      matchCounts.put(selectionCaseKey, 1);
+    } else if (count < Integer.MAX_VALUE) {
+      matchCounts.put(selectionCaseKey, count + 1);
+    }
+  }
+
+  private static String toKey(byte[] atr) {
+    return ByteArrayUtil.toHex(atr);
+  }
+
+  /**
+   * Builds a key identifying the selection case from the content of its selector.
+   *
+   * @param seRequest the selection request
+   * @return a not null String
+   */
+  private static String getSelectionCaseKey(SeRequest seRequest) {
+    SeSelector seSelector = seRequest.getSeSelector();
+    if (seSelector == null) {
+      return "";
+    }
+    StringBuilder key = new StringBuilder();
+    key.append(seSelector.getSeProtocol());
+    SeSelector.AtrFilter atrFilter = seSelector.getAtrFilter();
+    key.append('/');
+    if (atrFilter != null) {
+      key.append(atrFilter.getAtrRegex());
+    }
+    SeSelector.AidSelector aidSelector = seSelector.getAidSelector();
+    key.append('/');
+    if (aidSelector != null) {
+      key.append(ByteArrayUtil.toHex(aidSelector.getAidToSelect()))
+          .append('/')
+          .append(aidSelector.getFileOccurrence())
+          .append('/')
+          .append(aidSelector.getFileControlInformation());
+    }
+    return key.toString();
+  }
+}
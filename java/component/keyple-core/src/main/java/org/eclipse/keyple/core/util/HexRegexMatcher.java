@@ -0,0 +1,126 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression applied to the hexadecimal representation of byte arrays (e.g. ATR filters),
+ * compiled once.
+ *
+ * <p>The hexadecimal representation is the one provided by {@link ByteArrayUtil#toHex(byte[])}
+ * (upper case, no separator).
+ *
+ * <p>The simple rules made of upper case hex digits and single character wildcards ('.'),
+ * optionally followed by ".*" (e.g. "3B8F8001804F0CA0000003060300030000000068" or "3B8C800150.*"),
+ * are matched directly on the bytes, without building the hex string. The other rules are matched
+ * with a {@link Pattern}.
+ */
+public final class HexRegexMatcher {
+
+  private static final int ANY_NIBBLE = -1;
+
+  private final String regex;
+
+  /* Compiled pattern, null for the simple rules */
+  private final Pattern pattern;
+
+  /* Expected nibbles of the simple rules (ANY_NIBBLE for a wildcard) */
+  private final int[] nibbles;
+
+  /* True if the simple rule accepts any trailing data */
+  private final boolean openEnded;
+
+  private HexRegexMatcher(String regex, Pattern pattern, int[] nibbles, boolean openEnded) {
+    this.regex = regex;
+    this.pattern = pattern;
+    this.nibbles = nibbles;
+    this.openEnded = openEnded;
+  }
+
+  /**
+   * Compiles the provided regular expression
+   *
+   * @param regex the regular expression
+   * @return a not null reference
+   * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid
+   */
+  public static HexRegexMatcher compile(String regex) {
+    String rule = regex;
+    // anchors are implicit, the whole hex string is matched
+    if (rule.startsWith("^")) {
+      rule = rule.substring(1);
+    }
+    if (rule.endsWith("$") && !rule.endsWith("\\$")) {
+      rule = rule.substring(0, rule.length() - 1);
+    }
+    boolean openEnded = rule.endsWith(".*");
+    if (openEnded) {
+      rule = rule.substring(0, rule.length() - 2);
+    }
+    int[] nibbles = new int[rule.length()];
+    for (int i = 0; i < rule.length(); i++) {
+      char c = rule.charAt(i);
+      if (c >= '0' && c <= '9') {
+        nibbles[i] = c - '0';
+      } else if (c >= 'A' && c <= 'F') {
+        nibbles[i] = c - 'A' + 10;
+      } else if (c == '.') {
+        nibbles[i] = ANY_NIBBLE;
+      } else {
+        // not a simple rule
+        return new HexRegexMatcher(regex, Pattern.compile(regex), null, false);
+      }
+    }
+    return new HexRegexMatcher(regex, null, nibbles, openEnded);
+  }
+
+  /**
+   * Tells if the hexadecimal representation of the provided data matches the regular expression
+   *
+   * @param data the data to check
+   * @return true if the data matches
+   */
+  public boolean matches(byte[] data) {
+    if (pattern != null) {
+      return pattern.matcher(ByteArrayUtil.toHex(data)).matches();
+    }
+    int dataNibbles = data.length * 2;
+    if (dataNibbles < nibbles.length || (!openEnded && dataNibbles != nibbles.length)) {
+      return false;
+    }
+    for (int i = 0; i < nibbles.length; i++) {
+      if (nibbles[i] != ANY_NIBBLE) {
+        int b = data[i / 2];
+        int nibble = (i % 2 == 0) ? (b >> 4) & 0x0F : b & 0x0F;
+        if (nibble != nibbles[i]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Gets the regular expression provided at compilation time
+   *
+   * @return a not null String
+   */
+  public String getRegex() {
+    return regex;
+  }
+
+  @Override
+  public String toString() {
+    return "HexRegexMatcher{" + "regex='" + regex + '\'' + '}';
+  }
+}
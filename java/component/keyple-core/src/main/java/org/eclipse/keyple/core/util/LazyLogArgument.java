@@ -0,0 +1,52 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+/**
+ * Log argument whose String representation is computed only when the log message is rendered.
+ *
+ * <p>The logger calls toString on its arguments only if the message is actually output: wrapping
+ * a costly conversion (hex, JSON, etc.) in a LazyLogArgument avoids doing it when the log level is
+ * disabled, without having to guard the log statement with isXxxEnabled.
+ *
+ * <p>The conversion is done at each rendering, from the state of the wrapped data at that time.
+ */
+public abstract class LazyLogArgument {
+
+  /**
+   * Computes the String representation of the argument.
+   *
+   * @return a not null String
+   */
+  protected abstract String format();
+
+  @Override
+  public final String toString() {
+    return format();
+  }
+
+  /**
+   * Creates a log argument rendered as the hexadecimal representation of a byte array.
+   *
+   * @param bytes the byte array (may be null)
+   * @return a not null LazyLogArgument
+   * @see ByteArrayUtil#toHex(byte[])
+   */
+  public static LazyLogArgument hex(final byte[] bytes) {
+    return new LazyLogArgument() {
+      @Override
+      protected String format() {
+        return ByteArrayUtil.toHex(bytes);
+      }
+    };
+  }
+}
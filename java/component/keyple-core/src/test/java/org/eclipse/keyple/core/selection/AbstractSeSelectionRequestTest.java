@@ -63,6 +63,28 @@ public class AbstractSeSelectionRequestTest {
     assertThat(apduRequests.get(1)).isEqualTo(apduRequest2);
   }
 
+  @Test
+  public void getSelectionRequest_rebuiltWhenCommandAdded() {
+    SeSelector seSelector =
+        SeSelector.builder()
+            .seProtocol(SeCommonProtocols.PROTOCOL_ISO14443_4)
+            .aidSelector(SeSelector.AidSelector.builder().aidToSelect(AID).build())
+            .build();
+    TestSeSelectionRequest testSeSelectionRequest = new TestSeSelectionRequest(seSelector);
+    testSeSelectionRequest.addCommandBuilder(
+        new TestCommandBuilder(
+            TestCommands.COMMAND1, new ApduRequest(ByteArrayUtil.fromHex(APDU1), true)));
+    SeRequest selectionRequest = testSeSelectionRequest.getSelectionRequest();
+    assertThat(testSeSelectionRequest.getSelectionRequest()).isSameAs(selectionRequest);
+
+    testSeSelectionRequest.addCommandBuilder(
+        new TestCommandBuilder(
+            TestCommands.COMMAND1, new ApduRequest(ByteArrayUtil.fromHex(APDU2), true)));
+    SeRequest newSelectionRequest = testSeSelectionRequest.getSelectionRequest();
+    assertThat(newSelectionRequest).isNotSameAs(selectionRequest);
+    assertThat(newSelectionRequest.getApduRequests()).hasSize(2);
+  }
+
   private static class TestSeSelectionRequest
       extends AbstractSeSelectionRequest<AbstractApduCommandBuilder> {
     public TestSeSelectionRequest(SeSelector seSelector) {
@@ -118,6 +118,31 @@ public class SeSelectionTest extends CoreBaseTest {
     // that's all!
   }
 
+  @Test
+  public void getSelectionOperation_reused() {
+    SeSelection seSelection = createSeSelection();
+
+    AbstractDefaultSelectionsRequest selectionOperation = seSelection.getSelectionOperation();
+
+    // nothing changed: the same requests are provided
+    Assert.assertSame(selectionOperation, seSelection.getSelectionOperation());
+
+    // the channel control changed: new operation, same SeRequests
+    seSelection.prepareReleaseSeChannel();
+    AbstractDefaultSelectionsRequest releaseOperation = seSelection.getSelectionOperation();
+    Assert.assertNotSame(selectionOperation, releaseOperation);
+    Assert.assertEquals(ChannelControl.CLOSE_AFTER, releaseOperation.getChannelControl());
+    Assert.assertSame(
+        selectionOperation.getSelectionSeRequests().get(0),
+        releaseOperation.getSelectionSeRequests().get(0));
+
+    // a selection case is added: the SeRequests are rebuilt
+    seSelection.prepareSelection(
+        new SeSelectionRequest(
+            SeSelector.builder().atrFilter(new SeSelector.AtrFilter(".*")).build(), null));
+    Assert.assertEquals(3, seSelection.getSelectionOperation().getSelectionSeRequests().size());
+  }
+
   @Test
   public void processDefaultSelectionNull() {
     SeSelection seSelection = Mockito.mock(SeSelection.class);
@@ -13,6 +13,12 @@ package org.eclipse.keyple.core.seproxy.message;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -72,6 +78,57 @@ public class ApduResponseTest {
     assertFalse(response.isSuccessful());
   }
 
+  @Test
+  public void dataOutViews() {
+    ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null);
+    assertEquals(4, response.getDataOutLength());
+    assertEquals((byte) 0xFE, response.getDataOutByte(0));
+    assertEquals((byte) 0x98, response.getDataOutByte(3));
+    ByteBuffer dataOut = response.getDataOutBuffer();
+    assertTrue(dataOut.isReadOnly());
+    assertEquals(4, dataOut.remaining());
+    byte[] data = new byte[dataOut.remaining()];
+    dataOut.get(data);
+    assertArrayEquals(ByteArrayUtil.fromHex("FEDCBA98"), data);
+  }
+
+  @Test
+  public void dataOutViews_statusCodeOnly() {
+    ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("6A82"), null);
+    assertEquals(0x6A82, response.getStatusCode());
+    assertEquals(0, response.getDataOutLength());
+    assertEquals(0, response.getDataOutBuffer().remaining());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getDataOutByte_statusCodeIndex() {
+    ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null);
+    response.getDataOutByte(4);
+  }
+
+  @Test
+  public void serialization() throws Exception {
+    ApduResponse response =
+        new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9005h"), getA9005CustomCode());
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(response);
+    out.close();
+
+    ApduResponse deserialized =
+        (ApduResponse)
+            new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+    // the status code is restored from the buffer
+    assertEquals(0x9005, deserialized.getStatusCode());
+    assertTrue(deserialized.isSuccessful());
+    assertEquals(response, deserialized);
+    // same serialized form as the versions without the status code field
+    assertEquals(
+        810297489694603463L, ObjectStreamClass.lookup(ApduResponse.class).getSerialVersionUID());
+    assertNull(ObjectStreamClass.lookup(ApduResponse.class).getField("statusCode"));
+  }
+
   @Test
   public void testToStringNull() {
     ApduResponse resp = new ApduResponse(null, null);
@@ -0,0 +1,88 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Test;
+
+public class ApduFlightRecorderTest {
+
+  private static final byte[] COMMAND = ByteArrayUtil.fromHex("00B2014400");
+  private static final byte[] RESPONSE = ByteArrayUtil.fromHex("11223344 9000");
+
+  @Test
+  public void getLastExchanges_oldestFirst() {
+    ApduFlightRecorder recorder = new ApduFlightRecorder(8, 0);
+    for (int i = 0; i < 3; i++) {
+      recorder.record("reader", COMMAND, RESPONSE, i);
+    }
+    List<ApduFlightRecorder.ApduExchange> exchanges = recorder.getLastExchanges(null, 10);
+    assertEquals(3, exchanges.size());
+    assertEquals(0, exchanges.get(0).getSequenceNumber());
+    assertEquals(2, exchanges.get(2).getSequenceNumber());
+    assertEquals("reader", exchanges.get(0).getReaderName());
+    assertSame(COMMAND, exchanges.get(0).getCommand());
+    assertSame(RESPONSE, exchanges.get(0).getResponse());
+    assertEquals(2, exchanges.get(2).getDurationNanos());
+  }
+
+  @Test
+  public void getLastExchanges_oldestOverwritten() {
+    ApduFlightRecorder recorder = new ApduFlightRecorder(4, 0);
+    for (int i = 0; i < 10; i++) {
+      recorder.record("reader", COMMAND, RESPONSE, i);
+    }
+    List<ApduFlightRecorder.ApduExchange> exchanges = recorder.getLastExchanges(null, 10);
+    assertEquals(4, exchanges.size());
+    assertEquals(6, exchanges.get(0).getSequenceNumber());
+    assertEquals(9, exchanges.get(3).getSequenceNumber());
+
+    exchanges = recorder.getLastExchanges(null, 2);
+    assertEquals(2, exchanges.size());
+    assertEquals(8, exchanges.get(0).getSequenceNumber());
+  }
+
+  @Test
+  public void getLastExchanges_byReader() {
+    ApduFlightRecorder recorder = new ApduFlightRecorder(8, 0);
+    recorder.record("reader1", COMMAND, RESPONSE, 0);
+    recorder.record("reader2", COMMAND, RESPONSE, 0);
+    recorder.record("reader1", COMMAND, null, 0);
+    List<ApduFlightRecorder.ApduExchange> exchanges = recorder.getLastExchanges("reader1", 10);
+    assertEquals(2, exchanges.size());
+    assertEquals(0, exchanges.get(0).getSequenceNumber());
+    assertEquals(2, exchanges.get(1).getSequenceNumber());
+    assertNull(exchanges.get(1).getResponse());
+  }
+
+  @Test
+  public void dump() {
+    ApduFlightRecorder recorder = new ApduFlightRecorder(8, 0);
+    recorder.record("reader", COMMAND, RESPONSE, 1500000);
+    recorder.record("reader", COMMAND, null, 0);
+    String dump = recorder.dump("reader", 10);
+    String[] lines = dump.split("\\r?\\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("#0 "));
+    assertTrue(lines[0].contains("[reader]"));
+    assertTrue(lines[0].endsWith("-> 00B2014400 <- 112233449000"));
+    assertTrue(lines[1].endsWith("-> 00B2014400 <- (none)"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badCapacity() {
+    new ApduFlightRecorder(0, 0);
+  }
+}
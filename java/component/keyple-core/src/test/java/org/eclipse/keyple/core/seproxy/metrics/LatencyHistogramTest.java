@@ -0,0 +1,86 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void empty() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getMean(), 0);
+    assertEquals(0, histogram.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void smallValues_exact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int value = 1; value <= 60; value++) {
+      histogram.record(value);
+    }
+    assertEquals(60, histogram.getCount());
+    assertEquals(60, histogram.getMax());
+    assertEquals(30.5, histogram.getMean(), 0.001);
+    assertEquals(30, histogram.getValueAtPercentile(50));
+    assertEquals(60, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void percentiles_boundedRelativeError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    // 1 to 1000 microseconds
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1000000, histogram.getMax());
+    assertEquals(500500.0, histogram.getMean(), 0.001);
+    assertWithinRelativeError(500000, histogram.getValueAtPercentile(50));
+    assertWithinRelativeError(990000, histogram.getValueAtPercentile(99));
+    assertEquals(1000000, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void extremeValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(-1);
+    histogram.record(Long.MAX_VALUE);
+    assertEquals(2, histogram.getCount());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void reset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1234);
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getValueAtPercentile(100));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badPercentile() {
+    new LatencyHistogram().getValueAtPercentile(101);
+  }
+
+  private static void assertWithinRelativeError(long expected, long actual) {
+    assertTrue(actual + " is not close to " + expected, actual >= expected);
+    assertTrue(actual + " is not close to " + expected, actual <= expected + expected / 32);
+  }
+}
@@ -26,6 +26,7 @@ import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -143,6 +144,41 @@ public class AbsLocalReaderSelectionTest extends CoreBaseTest {
     Assert.assertEquals(false, status.hasMatched());
   }
 
+  @Test
+  public void select_byAid_commandReused() throws Exception {
+    AbstractLocalReader r = getSpy(PLUGIN_NAME, READER_NAME);
+    // FCI data provided, no additional command is sent
+    when(r.transmitApdu(any(byte[].class))).thenReturn(ByteArrayUtil.fromHex("6F00 9000"));
+
+    SeSelector seSelector = getAidSelector();
+
+    r.openLogicalChannel(seSelector);
+    r.openLogicalChannel(seSelector);
+
+    ArgumentCaptor<byte[]> commands = ArgumentCaptor.forClass(byte[].class);
+    verify(r, times(2)).transmitApdu(commands.capture());
+    // the select application command is built once and sent twice
+    Assert.assertSame(commands.getAllValues().get(0), commands.getAllValues().get(1));
+    Assert.assertEquals(
+        "00A404000A" + AID + "00", ByteArrayUtil.toHex(commands.getAllValues().get(0)));
+  }
+
+  @Test
+  public void select_byAid_statusCodeAddedAfterSelection() throws Exception {
+    AbstractLocalReader r = getSpy(PLUGIN_NAME, READER_NAME);
+    when(r.transmitApdu(any(byte[].class))).thenReturn(ByteArrayUtil.fromHex("6F00 6283"));
+
+    SeSelector.AidSelector aidSelector = SeSelector.AidSelector.builder().aidToSelect(AID).build();
+    SeSelector seSelector = SeSelector.builder().aidSelector(aidSelector).build();
+
+    Assert.assertFalse(r.openLogicalChannel(seSelector).hasMatched());
+
+    // the status code added afterwards is taken into account by the next selections
+    aidSelector.addSuccessfulStatusCode(0x6283);
+
+    Assert.assertTrue(r.openLogicalChannel(seSelector).hasMatched());
+  }
+
   /*
    * Select by AID -- Smart Selection interface
    */
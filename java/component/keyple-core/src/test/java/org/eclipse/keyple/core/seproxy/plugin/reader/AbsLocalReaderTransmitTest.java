@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.keyple.core.CoreBaseTest;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
 import org.eclipse.keyple.core.seproxy.SeSelector;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
@@ -25,6 +26,8 @@ import org.eclipse.keyple.core.seproxy.message.ApduRequest;
 import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.metrics.ApduFlightRecorder;
+import org.eclipse.keyple.core.seproxy.metrics.HistogramReaderMetrics;
 import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.junit.Assert;
@@ -148,6 +151,109 @@ public class AbsLocalReaderTransmitTest extends CoreBaseTest {
     }
   }
 
+  @Test
+  public void transmit_first_match_adaptive() throws Exception {
+    AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+
+    SeSelector otherSeSelector =
+        SeSelector.builder()
+            .seProtocol(SeCommonProtocols.PROTOCOL_ISO14443_4)
+            .atrFilter(new SeSelector.AtrFilter("1111"))
+            .build();
+    List<SeRequest> seRequests = new ArrayList<SeRequest>();
+    seRequests.add(new SeRequest(otherSeSelector, new ArrayList<ApduRequest>()));
+    seRequests.add(getPartialRequestList(reader, 4).get(0));
+
+    // first selection: the cases are tried in their original order
+    List<SeResponse> responses =
+        reader.processSeRequests(
+            seRequests, MultiSeRequestProcessing.FIRST_MATCH_ADAPTIVE, ChannelControl.CLOSE_AFTER);
+    Assert.assertEquals(2, responses.size());
+    Assert.assertFalse(responses.get(0).getSelectionStatus().hasMatched());
+    Assert.assertTrue(responses.get(1).getSelectionStatus().hasMatched());
+
+    // next selection: the case that matched is tried first, the response keeps its index
+    responses =
+        reader.processSeRequests(
+            seRequests, MultiSeRequestProcessing.FIRST_MATCH_ADAPTIVE, ChannelControl.CLOSE_AFTER);
+    Assert.assertEquals(2, responses.size());
+    Assert.assertNull(responses.get(0));
+    Assert.assertTrue(responses.get(1).getSelectionStatus().hasMatched());
+    Assert.assertEquals(4, responses.get(1).getApduResponses().size());
+  }
+
+  @Test
+  public void transmit_metrics() throws Exception {
+    AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+    HistogramReaderMetrics readerMetrics = new HistogramReaderMetrics();
+    SeProxyService.getInstance().setReaderMetrics(readerMetrics);
+    try {
+      reader.transmitSeRequests(
+          getPartialRequestList(reader, 3),
+          MultiSeRequestProcessing.FIRST_MATCH,
+          ChannelControl.KEEP_OPEN);
+    } finally {
+      SeProxyService.getInstance().setReaderMetrics(null);
+    }
+
+    HistogramReaderMetrics.ReaderStatistics statistics =
+        readerMetrics.getReaderStatistics(READER_NAME);
+    Assert.assertEquals(1, statistics.getSeRequestLatency().getCount());
+    // 4 APDUs with INS 01 in the matching request
+    Assert.assertEquals(4, statistics.getApduLatency((byte) 0x01).getCount());
+    Assert.assertNull(statistics.getApduLatency((byte) 0x02));
+    Assert.assertEquals(1, statistics.getMatchingSelectionCount());
+    Assert.assertEquals(0, statistics.getNotMatchingSelectionCount());
+    Assert.assertEquals(1, statistics.getChannelOpeningCount());
+    Assert.assertEquals(0, statistics.getIoErrorCount());
+  }
+
+  @Test
+  public void transmit_metrics_ioError() throws Exception {
+    AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+    HistogramReaderMetrics readerMetrics = new HistogramReaderMetrics();
+    SeProxyService.getInstance().setReaderMetrics(readerMetrics);
+    try {
+      reader.transmitSeRequest(getPartialRequest(reader, 1), ChannelControl.KEEP_OPEN);
+      Assert.fail("Should throw exception");
+    } catch (KeypleReaderIOException ex) {
+      // expected
+    } finally {
+      SeProxyService.getInstance().setReaderMetrics(null);
+    }
+
+    HistogramReaderMetrics.ReaderStatistics statistics =
+        readerMetrics.getReaderStatistics(READER_NAME);
+    Assert.assertEquals(1, statistics.getIoErrorCount());
+    Assert.assertEquals(1, statistics.getSeRequestLatency().getCount());
+    // the logical channel is closed after the failure
+    Assert.assertEquals(1, statistics.getChannelClosingCount());
+  }
+
+  @Test
+  public void transmit_flightRecorder() throws Exception {
+    AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+    ApduFlightRecorder apduFlightRecorder = new ApduFlightRecorder(16, 16);
+    SeProxyService.getInstance().setApduFlightRecorder(apduFlightRecorder);
+    try {
+      reader.transmitSeRequest(getPartialRequest(reader, 1), ChannelControl.KEEP_OPEN);
+      Assert.fail("Should throw exception");
+    } catch (KeypleReaderIOException ex) {
+      // expected
+    } finally {
+      SeProxyService.getInstance().setApduFlightRecorder(null);
+    }
+
+    // select application, successful APDU, failed APDU
+    List<ApduFlightRecorder.ApduExchange> exchanges =
+        apduFlightRecorder.getLastExchanges(READER_NAME, 16);
+    Assert.assertEquals(3, exchanges.size());
+    Assert.assertArrayEquals(APDU_SUCCESS, exchanges.get(1).getCommand());
+    Assert.assertArrayEquals(RESP_SUCCESS, exchanges.get(1).getResponse());
+    Assert.assertArrayEquals(APDU_IOEXC, exchanges.get(2).getCommand());
+    Assert.assertNull(exchanges.get(2).getResponse());
+  }
+
   @Test
   public void transmit_partial_response_0() throws Exception {
     AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
@@ -21,6 +21,7 @@ import java.util.List;
 import org.eclipse.keyple.core.CoreBaseTest;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.message.SeRequestTest;
@@ -116,6 +117,51 @@ public class AbsReaderTest extends CoreBaseTest {
     Assert.assertNotNull(response);
   }
 
+  /*
+   * Transmit script "tsc_"
+   */
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tsc_transmit_null() throws Exception {
+    AbstractReader r = getSpy(PLUGIN_NAME, READER_NAME);
+    r.transmitSeRequestScript(null, ChannelControl.CLOSE_AFTER);
+  }
+
+  @Test
+  public void tsc_transmit() throws Exception {
+    AbstractReader r = getSpy(PLUGIN_NAME, READER_NAME);
+    SeRequest request1 = SeRequestTest.getSeRequestSample();
+    SeRequest request2 = SeRequestTest.getSeRequestSample();
+    List<SeRequest> seRequests = new ArrayList<SeRequest>();
+    seRequests.add(request1);
+    seRequests.add(request2);
+    List<SeResponse> responses = r.transmitSeRequestScript(seRequests, ChannelControl.CLOSE_AFTER);
+    // the channel is kept open until the last request
+    verify(r, times(1)).processSeRequest(request1, ChannelControl.KEEP_OPEN);
+    verify(r, times(1)).processSeRequest(request2, ChannelControl.CLOSE_AFTER);
+    Assert.assertEquals(2, responses.size());
+  }
+
+  @Test
+  public void tsc_transmit_ioException() throws Exception {
+    AbstractReader r = getSpy(PLUGIN_NAME, READER_NAME);
+    SeRequest request1 = SeRequestTest.getSeRequestSample();
+    SeRequest request2 = SeRequestTest.getSeRequestSample();
+    List<SeRequest> seRequests = new ArrayList<SeRequest>();
+    seRequests.add(request1);
+    seRequests.add(request2);
+    KeypleReaderIOException ioException = new KeypleReaderIOException("IO failure");
+    ioException.setSeResponse(SeResponseTest.getASeResponse());
+    when(r.processSeRequest(request2, ChannelControl.CLOSE_AFTER)).thenThrow(ioException);
+    try {
+      r.transmitSeRequestScript(seRequests, ChannelControl.CLOSE_AFTER);
+      Assert.fail("a KeypleReaderIOException is expected");
+    } catch (KeypleReaderIOException ex) {
+      // the responses received so far are provided, the partial one being the last
+      Assert.assertEquals(2, ex.getSeResponses().size());
+    }
+  }
+
   /*
    * Helpers
    */
@@ -12,16 +12,27 @@
 package org.eclipse.keyple.core.seproxy.plugin.reader;
 
 import static org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableState.MonitoringState.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.keyple.core.CoreBaseTest;
+import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -126,6 +137,85 @@ public class WaitForSeInsertionJobExecutorTest extends CoreBaseTest {
     verify(r, times(1)).switchState(WAIT_FOR_SE_REMOVAL);
   }
 
+  @Test
+  public void insertSe_scheduledPolling_slowEventHandling() throws Exception {
+    /*
+     * input two polled readers sharing a single polling thread, the handling of the insertion in
+     * the first reader lasts until the end of the test, the SE is then inserted in the second
+     * reader
+     */
+    ReaderMonitoringScheduler scheduler = new ReaderMonitoringScheduler(1);
+    ScheduledExecutorService pollingExecutorService = scheduler.getPollingExecutorService();
+    ExecutorService eventExecutorService = scheduler.getExecutorService();
+
+    SeReader slowReader = mock(SeReader.class);
+    doReturn("slowReader").when(slowReader).getName();
+    doReturn(true).when(slowReader).isSePresent();
+    final AtomicBoolean otherSePresent = new AtomicBoolean();
+    SeReader otherReader = mock(SeReader.class);
+    doReturn("otherReader").when(otherReader).getName();
+    doAnswer(
+            new Answer<Boolean>() {
+              @Override
+              public Boolean answer(InvocationOnMock invocation) {
+                return otherSePresent.get();
+              }
+            })
+        .when(otherReader)
+        .isSePresent();
+
+    final CountDownLatch slowEventStarted = new CountDownLatch(1);
+    final CountDownLatch slowEventReleased = new CountDownLatch(1);
+    AbstractObservableState slowState = mock(AbstractObservableState.class);
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) throws Throwable {
+                slowEventStarted.countDown();
+                slowEventReleased.await();
+                return null;
+              }
+            })
+        .when(slowState)
+        .onEvent(any(AbstractObservableLocalReader.InternalEvent.class));
+    final CountDownLatch otherEventReceived = new CountDownLatch(1);
+    AbstractObservableState otherState = mock(AbstractObservableState.class);
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                otherEventReceived.countDown();
+                return null;
+              }
+            })
+        .when(otherState)
+        .onEvent(any(AbstractObservableLocalReader.InternalEvent.class));
+
+    CardPresentMonitoringJob slowJob =
+        new CardPresentMonitoringJob(slowReader, 10, true, eventExecutorService);
+    CardPresentMonitoringJob otherJob =
+        new CardPresentMonitoringJob(otherReader, 10, true, eventExecutorService);
+
+    /* test */
+    try {
+      slowJob.start(slowState, pollingExecutorService);
+      otherJob.start(otherState, pollingExecutorService);
+      Assert.assertTrue(slowEventStarted.await(1, TimeUnit.SECONDS));
+
+      otherSePresent.set(true);
+
+      /* Assert */
+      // the insertion is detected while the first event is still being handled
+      Assert.assertTrue(otherEventReceived.await(1, TimeUnit.SECONDS));
+      verify(otherState, times(1)).onEvent(AbstractObservableLocalReader.InternalEvent.SE_INSERTED);
+    } finally {
+      slowEventReleased.countDown();
+      slowJob.stop();
+      otherJob.stop();
+      scheduler.shutdown();
+    }
+  }
+
   // @Test
   // public void testTimeout() throws Exception, NoStackTraceThrowable {
   // /*
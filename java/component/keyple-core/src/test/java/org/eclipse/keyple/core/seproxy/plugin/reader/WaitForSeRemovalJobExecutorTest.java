@@ -40,6 +40,9 @@ public class WaitForSeRemovalJobExecutorTest extends CoreBaseTest {
 
   final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
+  final ExecutorService pollingExecutorService =
+      new ReaderMonitoringScheduler(1).getPollingExecutorService();
+
   final Long WAIT = 500l;
 
   static final Integer X_TIMES = 5; // run tests multiple times to reproduce flaky
@@ -137,6 +140,83 @@ public class WaitForSeRemovalJobExecutorTest extends CoreBaseTest {
     Assert.assertTrue(future.isDone());
   }
 
+  @Test
+  public void waitForRemoval_scheduledPolling() throws Exception {
+    /*
+     * ------------ input polling mode is CONTINUE SE has been removed after two pings, the pings
+     * are scheduled on the polling executor
+     */
+    AbstractObservableLocalReader r = AbsSmartInsertionTheadedReaderTest.getMock(READER_NAME);
+    WaitForSeRemoval waitForSeRemoval =
+        new WaitForSeRemoval(r, new CardAbsentPingMonitoringJob(r, 10), pollingExecutorService);
+    doReturn(ObservableReader.PollingMode.REPEATING).when(r).getPollingMode();
+    doReturn(true, true, false).when(r).isSePresentPing();
+    doNothing().when(r).processSeRemoved();
+
+    /* test */
+    waitForSeRemoval.onActivate();
+
+    Thread.sleep(WAIT); // wait for the monitoring to act
+
+    /* Assert */
+    verify(r, times(1)).switchState(WAIT_FOR_SE_INSERTION);
+    // no more ping once the removal has been detected
+    verify(r, times(3)).isSePresentPing();
+    waitForSeRemoval.onDeactivate();
+  }
+
+  @Test
+  public void waitForRemoval_scheduledPolling_STOP() throws Exception {
+    /*
+     * ------------ input
+     *
+     * SE still present, the pings are scheduled on the polling executor
+     */
+    AbstractObservableLocalReader r = AbsSmartInsertionTheadedReaderTest.getMock(READER_NAME);
+    AbstractObservableState stateMock = Mockito.mock(AbstractObservableState.class);
+    CardAbsentPingMonitoringJob jobControl = new CardAbsentPingMonitoringJob(r, 10);
+    doReturn(true).when(r).isSePresentPing();
+    /* test */
+    Future future = jobControl.start(stateMock, pollingExecutorService);
+
+    Thread.sleep(100);
+
+    jobControl.stop();
+
+    /* Assert */
+    // the next pings are cancelled
+    Assert.assertTrue(future.isDone());
+    verify(stateMock, times(0)).onEvent(any(AbstractObservableLocalReader.InternalEvent.class));
+  }
+
+  @Test
+  public void waitForRemoval_scheduledPolling_reactivated() throws Exception {
+    /*
+     * ------------ input polling mode is CONTINUE SE removed at the first ping, the state is
+     * activated and deactivated repeatedly with the same monitoring job
+     */
+    AbstractObservableLocalReader r = AbsSmartInsertionTheadedReaderTest.getMock(READER_NAME);
+    WaitForSeRemoval waitForSeRemoval =
+        new WaitForSeRemoval(r, new CardAbsentPingMonitoringJob(r, 10), pollingExecutorService);
+    doReturn(ObservableReader.PollingMode.REPEATING).when(r).getPollingMode();
+    doReturn(false).when(r).isSePresentPing();
+    doNothing().when(r).processSeRemoved();
+
+    for (int i = 1; i <= 10; i++) {
+      /* test */
+      waitForSeRemoval.onActivate();
+
+      Thread.sleep(100); // wait for the monitoring to act
+
+      waitForSeRemoval.onDeactivate();
+
+      /* Assert */
+      // a single event per activation, the polls of the previous activations are over
+      verify(r, times(i)).switchState(WAIT_FOR_SE_INSERTION);
+      verify(r, times(i)).isSePresentPing();
+    }
+  }
+
   @Test
   public void smart_waitForRemoval_SINGLESHOT() throws Exception {
     /*
@@ -0,0 +1,60 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+
+public class HexRegexMatcherTest {
+  private static final byte[] ATR = ByteArrayUtil.fromHex("3B8C800150A1B2C3D4");
+
+  @Test
+  public void matches_exactRule() {
+    assertThat(HexRegexMatcher.compile("3B8C800150A1B2C3D4").matches(ATR)).isTrue();
+    assertThat(HexRegexMatcher.compile("3B8C800150A1B2C3D5").matches(ATR)).isFalse();
+    assertThat(HexRegexMatcher.compile("3B8C800150A1B2C3").matches(ATR)).isFalse();
+  }
+
+  @Test
+  public void matches_prefixRule() {
+    assertThat(HexRegexMatcher.compile("3B8C800150.*").matches(ATR)).isTrue();
+    assertThat(HexRegexMatcher.compile("^3B8C.*$").matches(ATR)).isTrue();
+    assertThat(HexRegexMatcher.compile("3B8F800150.*").matches(ATR)).isFalse();
+    assertThat(HexRegexMatcher.compile(".*").matches(ATR)).isTrue();
+    assertThat(HexRegexMatcher.compile("3B8C800150A1B2C3D4FF.*").matches(ATR)).isFalse();
+  }
+
+  @Test
+  public void matches_wildcardRule() {
+    assertThat(HexRegexMatcher.compile("3B.C8001..A1B2C3D4").matches(ATR)).isTrue();
+    assertThat(HexRegexMatcher.compile("3B.D.*").matches(ATR)).isFalse();
+  }
+
+  @Test
+  public void matches_regexRule() {
+    assertThat(HexRegexMatcher.compile("3B(8C|8F)8001.*").matches(ATR)).isTrue();
+    assertThat(HexRegexMatcher.compile("3B(8E|8F)8001.*").matches(ATR)).isFalse();
+    // the hex representation is upper case
+    assertThat(HexRegexMatcher.compile("3b8c.*").matches(ATR)).isFalse();
+  }
+
+  /* The simple rules and the regular expressions give the same result */
+  @Test
+  public void matches_sameResultAsPattern() {
+    String[] rules = {"3B8C800150.*", "3B.C8001..A1B2C3D4", "3B8C", "3B8C800150A1B2C3D4.*", ""};
+    for (String rule : rules) {
+      assertThat(HexRegexMatcher.compile(rule).matches(ATR))
+          .isEqualTo(ByteArrayUtil.toHex(ATR).matches(rule));
+    }
+  }
+}
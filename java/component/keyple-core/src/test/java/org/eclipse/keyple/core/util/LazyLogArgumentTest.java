@@ -0,0 +1,66 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.core.util;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LazyLogArgumentTest {
+
+  private static final String INFO_LOGGER_NAME = "LazyLogArgumentTest.info";
+
+  static {
+    // logger at INFO level, whatever the default level of the tests
+    System.setProperty("org.slf4j.simpleLogger.log." + INFO_LOGGER_NAME, "info");
+  }
+
+  @Test
+  public void hex_formattedWhenRendered() {
+    byte[] bytes = ByteArrayUtil.fromHex("0102");
+    LazyLogArgument argument = LazyLogArgument.hex(bytes);
+    bytes[1] = (byte) 0xFF;
+    // the conversion is done from the current content
+    assertThat(argument.toString()).isEqualTo("01FF");
+  }
+
+  @Test
+  public void hex_null() {
+    assertThat(LazyLogArgument.hex(null).toString()).isEqualTo("");
+  }
+
+  @Test
+  public void notFormattedWhenLevelDisabled() {
+    Logger logger = LoggerFactory.getLogger(INFO_LOGGER_NAME);
+    CountingLogArgument argument = new CountingLogArgument();
+
+    logger.trace("APDU = {}", argument);
+    logger.debug("APDU = {}", argument);
+    assertThat(argument.formatCount).isEqualTo(0);
+
+    logger.info("APDU = {}", argument);
+    assertThat(argument.formatCount).isEqualTo(1);
+  }
+
+  /** Log argument counting its conversions */
+  private static class CountingLogArgument extends LazyLogArgument {
+    private int formatCount;
+
+    @Override
+    protected String format() {
+      formatCount++;
+      return "00A4040000";
+    }
+  }
+}
@@ -13,13 +13,13 @@ package org.eclipse.keyple.plugin.pcsc;
 
 import static org.eclipse.keyple.plugin.pcsc.PcscReaderConstants.*;
 
+import java.nio.ByteBuffer;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.regex.Pattern;
 import javax.smartcardio.*;
 import org.eclipse.keyple.core.seproxy.SeProxyService;
 import org.eclipse.keyple.core.seproxy.exception.*;
@@ -27,6 +27,7 @@ import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableLocalRead
 import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableState;
 import org.eclipse.keyple.core.seproxy.plugin.reader.CardPresentMonitoringJob;
 import org.eclipse.keyple.core.seproxy.plugin.reader.ObservableReaderStateService;
+import org.eclipse.keyple.core.seproxy.plugin.reader.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartInsertionMonitoringJob;
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartInsertionReader;
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartRemovalMonitoringJob;
@@ -38,6 +39,7 @@ import org.eclipse.keyple.core.seproxy.plugin.reader.WaitForStartDetect;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.HexRegexMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,6 +63,12 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
   private Card card;
   private CardChannel channel;
 
+  // maximum length of a response: 65536 bytes of data (extended length) + SW1SW2
+  private static final int MAX_RESPONSE_LENGTH = 65538;
+
+  // response buffer reused for all transmissions, allocated at the first one
+  private ByteBuffer responseBuffer;
+
   // the latency delay value (in ms) determines the maximum time during which the
   // waitForCardPresent and waitForCardPresent blocking functions will execute.
   // This will correspond to the capacity to react to the interrupt signal of
@@ -69,13 +77,21 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
   private static final long REMOVAL_LATENCY = 500;
 
   private static final long INSERT_WAIT_TIMEOUT = 200;
-  private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+  // executor services shared with the other readers
+  private final ExecutorService executorService =
+      ReaderMonitoringScheduler.getDefault().getExecutorService();
+  private final ExecutorService pollingExecutorService =
+      ReaderMonitoringScheduler.getDefault().getPollingExecutorService();
 
   private final AtomicBoolean loopWaitSe = new AtomicBoolean();
   private final AtomicBoolean loopWaitSeRemoval = new AtomicBoolean();
 
   private final boolean usePingPresence;
 
+  // ATR rules of the protocol settings, compiled when the settings are defined
+  private final Map<SeProtocol, HexRegexMatcher> protocolMatchers =
+      new ConcurrentHashMap<SeProtocol, HexRegexMatcher>();
+
   /**
    * This constructor should only be called by PcscPlugin PCSC reader parameters are initialized
    * with their default values as defined in setParameter. See {@link
@@ -134,8 +150,8 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
           AbstractObservableState.MonitoringState.WAIT_FOR_SE_INSERTION,
           new WaitForSeInsertion(
               this,
-              new CardPresentMonitoringJob(this, INSERT_WAIT_TIMEOUT, true),
-              executorService));
+              new CardPresentMonitoringJob(this, INSERT_WAIT_TIMEOUT, true, executorService),
+              pollingExecutorService));
     }
 
     states.put(
@@ -287,11 +303,22 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
   /** {@inheritDoc} */
   @Override
   protected byte[] transmitApdu(byte[] apduIn) {
-    ResponseAPDU apduResponseData;
+    byte[] apduOut;
 
     if (channel != null) {
+      /*
+       * the buffer-based transmission avoids the CommandAPDU and ResponseAPDU copies of the
+       * command and the response, the response is copied once from the reused buffer
+       */
+      if (responseBuffer == null) {
+        responseBuffer = ByteBuffer.allocate(MAX_RESPONSE_LENGTH);
+      }
+      responseBuffer.clear();
       try {
-        apduResponseData = channel.transmit(new CommandAPDU(apduIn));
+        int length = channel.transmit(ByteBuffer.wrap(apduIn), responseBuffer);
+        apduOut = new byte[length];
+        responseBuffer.flip();
+        responseBuffer.get(apduOut);
       } catch (CardException e) {
         throw new KeypleReaderIOException(this.getName() + ":" + e.getMessage());
       } catch (IllegalArgumentException e) {
@@ -302,7 +329,31 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
       // could occur if the SE was removed
       throw new KeypleReaderIOException(this.getName() + ": null channel.");
     }
-    return apduResponseData.getBytes();
+    return apduOut;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The ATR rule is compiled once here.
+   */
+  @Override
+  public void addSeProtocolSetting(SeProtocol seProtocol, String protocolRule) {
+    super.addSeProtocolSetting(seProtocol, protocolRule);
+    protocolMatchers.put(seProtocol, HexRegexMatcher.compile(protocolRule));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The ATR rules are compiled once here.
+   */
+  @Override
+  public void setSeProtocolSetting(Map<SeProtocol, String> protocolSetting) {
+    super.setSeProtocolSetting(protocolSetting);
+    for (Map.Entry<SeProtocol, String> entry : protocolSetting.entrySet()) {
+      protocolMatchers.put(entry.getKey(), HexRegexMatcher.compile(entry.getValue()));
+    }
   }
 
   /**
@@ -323,19 +374,20 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
         openPhysicalChannel();
       }
       // the request will be executed only if the protocol match the requestElement
-      String selectionMask = getProtocolsMap().get(protocolFlag);
+      HexRegexMatcher selectionMask = protocolMatchers.get(protocolFlag);
       if (selectionMask == null) {
         throw new KeypleReaderIOException("Target selector mask not found: " + protocolFlag, null);
       }
-      Pattern p = Pattern.compile(selectionMask);
-      String atr = ByteArrayUtil.toHex(card.getATR().getBytes());
-      if (!p.matcher(atr).matches()) {
-        logger.debug(
-            "[{}] protocolFlagMatches => unmatching SE. PROTOCOLFLAG = {}, ATR = {}, MASK = {}",
-            this.getName(),
-            protocolFlag,
-            atr,
-            selectionMask);
+      byte[] atr = card.getATR().getBytes();
+      if (!selectionMask.matches(atr)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug(
+              "[{}] protocolFlagMatches => unmatching SE. PROTOCOLFLAG = {}, ATR = {}, MASK = {}",
+              this.getName(),
+              protocolFlag,
+              ByteArrayUtil.toHex(atr),
+              selectionMask.getRegex());
+        }
 
         result = false;
       } else {
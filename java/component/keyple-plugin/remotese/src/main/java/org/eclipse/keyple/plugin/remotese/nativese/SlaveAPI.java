@@ -11,8 +11,11 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.nativese;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -32,6 +35,9 @@ import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodTxEngine;
 import org.eclipse.keyple.plugin.remotese.transport.DtoHandler;
 import org.eclipse.keyple.plugin.remotese.transport.DtoNode;
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinarySeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -62,6 +68,10 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
   // used in case of a poolPlugin architecture
   private ReaderPoolPlugin readerPoolPlugin;
 
+  // codecs offered to the master when a reader is connected, by order of preference
+  private volatile List<SeMessageCodec> seMessageCodecs =
+      Arrays.<SeMessageCodec>asList(new BinarySeMessageCodec(), new JsonSeMessageCodec());
+
   public static final long DEFAULT_RPC_TIMEOUT = 10000;
 
   /**
@@ -133,7 +143,7 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
     KeypleDto keypleDTO = transportDto.getKeypleDTO();
     TransportDto out;
 
-    logger.trace("{} onDto {}", dtoNode.getNodeId(), KeypleDtoHelper.toJson(keypleDTO));
+    logger.trace("{} onDto {}", dtoNode.getNodeId(), KeypleDtoHelper.toLazyJson(keypleDTO));
 
     RemoteMethodName method = RemoteMethodName.get(keypleDTO.getAction());
     logger.trace(
@@ -185,6 +195,17 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
           }
           break;
 
+        case READER_TRANSMIT_SCRIPT:
+          // must be a request
+          if (keypleDTO.isRequest()) {
+            IRemoteMethodExecutor rmTransmitScript = new RmTransmitScriptExecutor(this);
+            out = rmTransmitScript.execute(transportDto);
+          } else {
+            throw new IllegalStateException(
+                "a READER_TRANSMIT_SCRIPT response has been received by SlaveAPI");
+          }
+          break;
+
         case DEFAULT_SELECTION_REQUEST:
           // must be a request
           if (keypleDTO.isRequest()) {
@@ -238,7 +259,7 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
       logger.trace(
           "{} onDto response to be sent {}",
           dtoNode.getNodeId(),
-          KeypleDtoHelper.toJson(out.getKeypleDTO()));
+          KeypleDtoHelper.toLazyJson(out.getKeypleDTO()));
 
       return out;
 
@@ -302,7 +323,8 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
             localReader,
             dtoNode.getNodeId(),
             this,
-            options);
+            options,
+            getSeMessageCodecNames());
     try {
       // blocking call
       return connect.execute(rmTxEngine);
@@ -397,9 +419,57 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
               this.dtoNode.getNodeId(),
               masterNodeId));
     } catch (KeypleRemoteException e) {
-      logger.error(
-          "Event " + event.toString() + " could not be sent though Remote Service Interface", e);
+      logger.error("Event {} could not be sent though Remote Service Interface", event, e);
+    }
+  }
+
+  /**
+   * Set the codecs offered to the master for the encoding of the SE messages, by order of
+   * preference. The codec is negotiated when a reader is connected, the json codec is always
+   * supported.
+   *
+   * <p>By default, the {@link BinarySeMessageCodec} is preferred to the {@link JsonSeMessageCodec}.
+   *
+   * @param seMessageCodecs : codecs to be offered
+   */
+  public void setSeMessageCodecs(SeMessageCodec... seMessageCodecs) {
+    List<SeMessageCodec> codecs = new ArrayList<SeMessageCodec>(Arrays.asList(seMessageCodecs));
+    if (getSeMessageCodec(codecs, JsonSeMessageCodec.NAME) == null) {
+      codecs.add(new JsonSeMessageCodec());
+    }
+    this.seMessageCodecs = codecs;
+  }
+
+  /**
+   * Internal method to find the codec used by the master to encode a SE message
+   *
+   * @param name : name of the codec
+   * @return codec matching the name
+   * @throws IllegalArgumentException if the codec is unknown
+   */
+  public SeMessageCodec getSeMessageCodec(String name) {
+    SeMessageCodec seMessageCodec = getSeMessageCodec(seMessageCodecs, name);
+    if (seMessageCodec == null) {
+      throw new IllegalArgumentException("Unknown SE message codec : " + name);
+    }
+    return seMessageCodec;
+  }
+
+  private static SeMessageCodec getSeMessageCodec(List<SeMessageCodec> codecs, String name) {
+    for (SeMessageCodec seMessageCodec : codecs) {
+      if (seMessageCodec.getName().equals(name)) {
+        return seMessageCodec;
+      }
+    }
+    return null;
+  }
+
+  private List<String> getSeMessageCodecNames() {
+    List<String> names = new ArrayList<String>();
+    for (SeMessageCodec seMessageCodec : seMessageCodecs) {
+      names.add(seMessageCodec.getName());
     }
+    return names;
   }
 
   public RemoteMethodTxEngine getRmTxEngine() {
@@ -11,7 +11,9 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.nativese.method;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
@@ -33,6 +35,7 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
   private final SeReader localReader;
   private final INativeReaderService slaveAPI;
   private final Map<String, String> options;
+  private final List<String> seMessageCodecNames;
 
   @Override
   public RemoteMethodName getMethodName() {
@@ -47,11 +50,13 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
       SeReader localReader,
       String slaveNodeId,
       INativeReaderService slaveAPI,
-      Map<String, String> options) {
+      Map<String, String> options,
+      List<String> seMessageCodecNames) {
     super(sessionId, nativeReaderName, virtualReaderName, masterNodeId, slaveNodeId);
     this.localReader = localReader;
     this.slaveAPI = slaveAPI;
     this.options = options;
+    this.seMessageCodecNames = seMessageCodecNames;
   }
 
   private static final Logger logger = LoggerFactory.getLogger(RmConnectReaderTx.class);
@@ -109,6 +114,13 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
     body.addProperty("isObservable", localReader instanceof ObservableReader);
     body.addProperty("options", JsonParser.getGson().toJson(options));
 
+    // codecs offered for the SE messages, by order of preference
+    JsonArray seMessageCodecs = new JsonArray();
+    for (String seMessageCodecName : seMessageCodecNames) {
+      seMessageCodecs.add(seMessageCodecName);
+    }
+    body.add("seMessageCodecs", seMessageCodecs);
+
     return KeypleDtoHelper.buildRequest(
         getMethodName().getName(),
         body.toString(),
@@ -18,6 +18,8 @@ import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -54,8 +56,14 @@ public class RmTransmitExecutor implements IRemoteMethodExecutor {
 
     channelControl = ChannelControl.valueOf(bodyJsonO.get("channelControl").getAsString());
 
-    SeRequest seRequest =
-        JsonParser.getGson().fromJson(bodyJsonO.get("seRequest").getAsString(), SeRequest.class);
+    // the codec is omitted for the json encoding
+    String seMessageCodecName =
+        bodyJsonO.has("seMessageCodec")
+            ? bodyJsonO.get("seMessageCodec").getAsString()
+            : JsonSeMessageCodec.NAME;
+    SeMessageCodec seMessageCodec = slaveAPI.getSeMessageCodec(seMessageCodecName);
+
+    SeRequest seRequest = seMessageCodec.decodeSeRequest(bodyJsonO.get("seRequest").getAsString());
 
     String nativeReaderName = keypleDto.getNativeReaderName();
     logger.trace("Execute locally seRequest : {} with params {} ", seRequest, channelControl);
@@ -68,7 +76,7 @@ public class RmTransmitExecutor implements IRemoteMethodExecutor {
       seResponse = reader.transmitSeRequest(seRequest, channelControl);
 
       // prepare response
-      String parseBody = JsonParser.getGson().toJson(seResponse, SeResponse.class);
+      String parseBody = seMessageCodec.encodeSeResponse(seResponse);
       out =
           transportDto.nextTransportDTO(
               KeypleDtoHelper.buildResponse(
@@ -0,0 +1,119 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.nativese.method;
+
+import com.google.gson.JsonObject;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ChannelControl;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
+import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execute the TransmitScript on Native Reader from KeypleDto
+ *
+ * <p>See {@link org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitScriptTx}
+ */
+public class RmTransmitScriptExecutor implements IRemoteMethodExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(RmTransmitScriptExecutor.class);
+
+  private final SlaveAPI slaveAPI;
+
+  @Override
+  public RemoteMethodName getMethodName() {
+    return RemoteMethodName.READER_TRANSMIT_SCRIPT;
+  }
+
+  public RmTransmitScriptExecutor(SlaveAPI slaveAPI) {
+    this.slaveAPI = slaveAPI;
+  }
+
+  @Override
+  public TransportDto execute(TransportDto transportDto) {
+    KeypleDto keypleDto = transportDto.getKeypleDTO();
+    TransportDto out = null;
+    List<SeResponse> seResponses = null;
+    ChannelControl channelControl;
+
+    // parse body
+    JsonObject bodyJsonO = JsonParser.getGson().fromJson(keypleDto.getBody(), JsonObject.class);
+
+    // extract info
+    channelControl = ChannelControl.valueOf(bodyJsonO.get("channelControl").getAsString());
+
+    // the codec is omitted for the json encoding
+    String seMessageCodecName =
+        bodyJsonO.has("seMessageCodec")
+            ? bodyJsonO.get("seMessageCodec").getAsString()
+            : JsonSeMessageCodec.NAME;
+    SeMessageCodec seMessageCodec = slaveAPI.getSeMessageCodec(seMessageCodecName);
+
+    List<SeRequest> seRequests =
+        seMessageCodec.decodeSeRequests(bodyJsonO.get("seRequests").getAsString());
+
+    // prepare transmitScript on nativeReader
+    String nativeReaderName = keypleDto.getNativeReaderName();
+    logger.trace(
+        "Execute locally seRequests script : {} with params {}", seRequests, channelControl);
+
+    try {
+      // find native reader by name
+      ProxyReader reader = (ProxyReader) slaveAPI.findLocalReader(nativeReaderName);
+
+      // execute the whole script in a single call
+      seResponses = reader.transmitSeRequestScript(seRequests, channelControl);
+
+      // prepare response
+      String parseBody = seMessageCodec.encodeSeResponses(seResponses);
+      out =
+          transportDto.nextTransportDTO(
+              KeypleDtoHelper.buildResponse(
+                  getMethodName().getName(),
+                  parseBody,
+                  keypleDto.getSessionId(),
+                  nativeReaderName,
+                  keypleDto.getVirtualReaderName(),
+                  keypleDto.getTargetNodeId(),
+                  keypleDto.getRequesterNodeId(),
+                  keypleDto.getId()));
+
+    } catch (KeypleReaderException e) {
+      // if an exception occurs, send it into a keypleDto to the Master
+      out =
+          transportDto.nextTransportDTO(
+              KeypleDtoHelper.ExceptionDTO(
+                  getMethodName().getName(),
+                  e,
+                  keypleDto.getSessionId(),
+                  nativeReaderName,
+                  keypleDto.getVirtualReaderName(),
+                  keypleDto.getTargetNodeId(),
+                  keypleDto.getRequesterNodeId(),
+                  keypleDto.getId()));
+    }
+
+    return out;
+  }
+}
@@ -12,11 +12,10 @@
 package org.eclipse.keyple.plugin.remotese.nativese.method;
 
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
-import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.core.seproxy.message.ProxyReader;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
@@ -24,6 +23,8 @@ import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -56,26 +57,48 @@ public class RmTransmitSetExecutor implements IRemoteMethodExecutor {
     KeypleDto keypleDto = transportDto.getKeypleDTO();
     TransportDto out = null;
     List<SeResponse> seResponses = null;
-    MultiSeRequestProcessing multiSeRequestProcessing;
     ChannelControl channelControl;
 
     // parse body
     JsonObject bodyJsonO = JsonParser.getGson().fromJson(keypleDto.getBody(), JsonObject.class);
 
+    // the native reader name is needed to reply
+    String nativeReaderName = keypleDto.getNativeReaderName();
+
     // extract info
-    multiSeRequestProcessing =
-        MultiSeRequestProcessing.valueOf(bodyJsonO.get("multiSeRequestProcessing").getAsString());
+    String multiSeRequestProcessingName = bodyJsonO.get("multiSeRequestProcessing").getAsString();
+    final MultiSeRequestProcessing multiSeRequestProcessing;
+    try {
+      multiSeRequestProcessing = MultiSeRequestProcessing.valueOf(multiSeRequestProcessingName);
+    } catch (IllegalArgumentException e) {
+      // a mode unknown by this slave, the master is informed instead of waiting for a response
+      logger.error("Unsupported multiSeRequestProcessing : {}", multiSeRequestProcessingName);
+      return transportDto.nextTransportDTO(
+          KeypleDtoHelper.ExceptionDTO(
+              getMethodName().getName(),
+              new KeypleReaderIOException(
+                  "Unsupported multiSeRequestProcessing : " + multiSeRequestProcessingName),
+              keypleDto.getSessionId(),
+              nativeReaderName,
+              keypleDto.getVirtualReaderName(),
+              keypleDto.getTargetNodeId(),
+              keypleDto.getRequesterNodeId(),
+              keypleDto.getId()));
+    }
 
     channelControl = ChannelControl.valueOf(bodyJsonO.get("channelControl").getAsString());
 
+    // the codec is omitted for the json encoding
+    String seMessageCodecName =
+        bodyJsonO.has("seMessageCodec")
+            ? bodyJsonO.get("seMessageCodec").getAsString()
+            : JsonSeMessageCodec.NAME;
+    SeMessageCodec seMessageCodec = slaveAPI.getSeMessageCodec(seMessageCodecName);
+
     List<SeRequest> seRequests =
-        JsonParser.getGson()
-            .fromJson(
-                bodyJsonO.get("seRequests").getAsString(),
-                new TypeToken<ArrayList<SeRequest>>() {}.getType());
+        seMessageCodec.decodeSeRequests(bodyJsonO.get("seRequests").getAsString());
 
     // prepare transmitSet on nativeReader
-    String nativeReaderName = keypleDto.getNativeReaderName();
     logger.trace(
         "Execute locally seRequests : {} with params {} {}",
         seRequests,
@@ -90,9 +113,7 @@ public class RmTransmitSetExecutor implements IRemoteMethodExecutor {
       seResponses = reader.transmitSeRequests(seRequests, multiSeRequestProcessing, channelControl);
 
       // prepare response
-      String parseBody =
-          JsonParser.getGson()
-              .toJson(seResponses, new TypeToken<ArrayList<SeResponse>>() {}.getType());
+      String parseBody = seMessageCodec.encodeSeResponses(seResponses);
       out =
           transportDto.nextTransportDTO(
               KeypleDtoHelper.buildResponse(
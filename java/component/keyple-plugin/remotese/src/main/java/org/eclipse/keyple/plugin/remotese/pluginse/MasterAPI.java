@@ -11,15 +11,16 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.eclipse.keyple.core.seproxy.SeProxyService;
-import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.exception.KeyplePluginInstantiationException;
-import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
 import org.eclipse.keyple.plugin.remotese.transport.*;
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinarySeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
 import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
@@ -205,6 +206,20 @@ public class MasterAPI implements DtoHandler {
     return plugin;
   }
 
+  /**
+   * Set the codecs accepted for the encoding of the SE messages exchanged with the slaves. The
+   * codec is negotiated with each slave when it connects a reader: the first codec offered by the
+   * slave and accepted here is used, the json codec otherwise.
+   *
+   * <p>By default, the {@link BinarySeMessageCodec} and the {@link JsonSeMessageCodec} are
+   * accepted. The readers already connected keep their codec.
+   *
+   * @param seMessageCodecs : accepted codecs
+   */
+  public void setSeMessageCodecs(SeMessageCodec... seMessageCodecs) {
+    plugin.setSeMessageCodecs(Arrays.asList(seMessageCodecs));
+  }
+
   /**
    * Handles incoming transportDTO
    *
@@ -221,7 +236,7 @@ public class MasterAPI implements DtoHandler {
         "onDTO, Remote Method called : {} - isRequest : {} - keypleDto : {}",
         method,
         keypleDTO.isRequest(),
-        KeypleDtoHelper.toJson(keypleDTO));
+        KeypleDtoHelper.toLazyJson(keypleDTO));
 
     try {
       switch (method) {
@@ -258,6 +273,7 @@ public class MasterAPI implements DtoHandler {
 
         case READER_TRANSMIT:
         case READER_TRANSMIT_SET:
+        case READER_TRANSMIT_SCRIPT:
         case DEFAULT_SELECTION_REQUEST:
           if (keypleDTO.isRequest()) {
             throw new IllegalStateException(
@@ -266,7 +282,7 @@ public class MasterAPI implements DtoHandler {
 
           // dispatch dto to the appropriate reader
           // find reader by sessionId
-          VirtualReaderImpl reader = getReaderBySessionId(keypleDTO.getSessionId());
+          VirtualReaderImpl reader = plugin.getReaderBySessionId(keypleDTO.getSessionId());
 
           // process response with the reader rmtx engine
           return reader.getRmTxEngine().onResponseDto(transportDto);
@@ -308,23 +324,4 @@ public class MasterAPI implements DtoHandler {
               keypleDTO.getId()));
     }
   }
-
-  /**
-   * Retrieve reader by its session Id
-   *
-   * @param sessionId : sessionId which virtual reader is tight to
-   * @return VirtualReader matching the sessionId
-   * @throws KeypleReaderNotFoundException : if none reader was found
-   */
-  private VirtualReaderImpl getReaderBySessionId(String sessionId) {
-    final Collection<SeReader> seReaders = plugin.getReaders().values();
-    for (SeReader reader : seReaders) {
-
-      if (((VirtualReaderImpl) reader).getSession().getSessionId().equals(sessionId)) {
-        return (VirtualReaderImpl) reader;
-      }
-    }
-    throw new KeypleReaderNotFoundException(
-        "Reader session was not found for session : " + sessionId);
-  }
 }
@@ -25,6 +25,9 @@ import org.eclipse.keyple.core.seproxy.plugin.AbstractObservablePlugin;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodTxEngine;
 import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinarySeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +47,14 @@ class RemoteSePluginImpl extends AbstractObservablePlugin implements RemoteSePlu
   private final Map<String, String> parameters;
   private ExecutorService executorService;
 
+  // virtual readers indexed by their session id, used to route the responses from the slaves
+  private final ConcurrentMap<String, VirtualReaderImpl> readersBySessionId =
+      new ConcurrentHashMap<String, VirtualReaderImpl>();
+
+  // codecs accepted for the SE messages exchanged with the slaves
+  private volatile List<SeMessageCodec> seMessageCodecs =
+      Arrays.<SeMessageCodec>asList(new BinarySeMessageCodec(), new JsonSeMessageCodec());
+
   /**
    * RemoteSePlugin is wrapped into MasterAPI and instantiated like a standard plugin
    * by @SeProxyService. Use MasterAPI
@@ -72,6 +83,57 @@ class RemoteSePluginImpl extends AbstractObservablePlugin implements RemoteSePlu
     return (VirtualReaderImpl) virtualReader;
   }
 
+  /**
+   * Retrieve a virtual reader by its session id (internal method)
+   *
+   * @param sessionId : session id the virtual reader is tied to
+   * @return virtual reader matching the session id
+   * @throws KeypleReaderNotFoundException if no virtual reader match the session id
+   */
+  VirtualReaderImpl getReaderBySessionId(String sessionId) {
+    VirtualReaderImpl virtualReader = sessionId != null ? readersBySessionId.get(sessionId) : null;
+    if (virtualReader == null) {
+      throw new KeypleReaderNotFoundException(
+          "Reader session was not found for session : " + sessionId);
+    }
+    if (readers.get(virtualReader.getName()) != virtualReader) {
+      // the reader has been removed from the readers map without removeVirtualReader
+      readersBySessionId.remove(sessionId, virtualReader);
+      throw new KeypleReaderNotFoundException(
+          "Reader session was not found for session : " + sessionId);
+    }
+    return virtualReader;
+  }
+
+  /**
+   * Set the codecs accepted for the SE messages exchanged with the slaves (internal method)
+   *
+   * @param seMessageCodecs : accepted codecs
+   */
+  void setSeMessageCodecs(List<SeMessageCodec> seMessageCodecs) {
+    this.seMessageCodecs = seMessageCodecs;
+  }
+
+  /**
+   * Choose the codec of the SE messages exchanged with a slave (internal method)
+   *
+   * @param offeredCodecNames : names of the codecs offered by the slave, by order of preference,
+   *     null if the slave does not support the codec negotiation
+   * @return the first offered codec that is accepted, the json codec if none
+   */
+  SeMessageCodec negotiateSeMessageCodec(List<String> offeredCodecNames) {
+    if (offeredCodecNames != null) {
+      for (String offeredCodecName : offeredCodecNames) {
+        for (SeMessageCodec seMessageCodec : seMessageCodecs) {
+          if (seMessageCodec.getName().equals(offeredCodecName)) {
+            return seMessageCodec;
+          }
+        }
+      }
+    }
+    return new JsonSeMessageCodec();
+  }
+
   @Override
   public void disconnectVirtualReader(String nativeReaderName, String slaveNodeId) {
     removeVirtualReader(nativeReaderName, slaveNodeId);
@@ -132,6 +194,7 @@ class RemoteSePluginImpl extends AbstractObservablePlugin implements RemoteSePlu
               options);
     }
     readers.put(virtualReader.getName(), virtualReader);
+    readersBySessionId.put(session.getSessionId(), virtualReader);
 
     notifyObservers(
         new PluginEvent(
@@ -164,6 +227,7 @@ class RemoteSePluginImpl extends AbstractObservablePlugin implements RemoteSePlu
 
     // remove reader
     readers.remove(virtualReader.getName());
+    readersBySessionId.remove(virtualReader.getSession().getSessionId(), virtualReader);
 
     notifyObservers(
         new PluginEvent(
@@ -11,8 +11,11 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
@@ -59,6 +62,15 @@ class RmConnectReaderExecutor implements IRemoteMethodExecutor {
     Map<String, String> options =
         JsonParser.getGson().fromJson(body.get("options").getAsString(), Map.class);
 
+    // codecs offered by the slave, absent if the slave does not support the codec negotiation
+    List<String> seMessageCodecNames = null;
+    if (body.has("seMessageCodecs")) {
+      seMessageCodecNames = new ArrayList<String>();
+      for (JsonElement seMessageCodecName : body.getAsJsonArray("seMessageCodecs")) {
+        seMessageCodecNames.add(seMessageCodecName.getAsString());
+      }
+    }
+
     VirtualReaderImpl virtualReader = null;
     try {
       // create a virtual Reader
@@ -71,6 +83,11 @@ class RmConnectReaderExecutor implements IRemoteMethodExecutor {
                   TransmissionMode.valueOf(transmissionMode),
                   isObservable,
                   options);
+      virtualReader.setSeMessageCodec(plugin.negotiateSeMessageCodec(seMessageCodecNames));
+      logger.trace(
+          "SE message codec {} used with virtual reader {}",
+          virtualReader.getSeMessageCodec().getName(),
+          virtualReader.getName());
 
       // create response
       JsonObject respBody = new JsonObject();
@@ -11,6 +11,7 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,12 +22,16 @@ import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractReader;
+import org.eclipse.keyple.core.seproxy.plugin.reader.SelectionCaseStatistics;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitScriptTx;
 import org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitSetTx;
 import org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitTx;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodTxEngine;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,6 +51,16 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
 
   private Map<String, String> parameters = new HashMap<String, String>();
 
+  // codec of the SE messages, negotiated with the slave when the reader is connected
+  private volatile SeMessageCodec seMessageCodec = new JsonSeMessageCodec();
+
+  /*
+   * The FIRST_MATCH_ADAPTIVE ordering is done here, the slave receives the reordered selection
+   * cases with FIRST_MATCH (the ATR is unknown before the selection, the statistics of all ATRs are
+   * used)
+   */
+  private final SelectionCaseStatistics selectionCaseStatistics = new SelectionCaseStatistics();
+
   /**
    * Create a new Virtual Reader (only called by @{@link RemoteSePluginImpl})
    *
@@ -89,6 +104,14 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
     return rmTxEngine;
   }
 
+  SeMessageCodec getSeMessageCodec() {
+    return seMessageCodec;
+  }
+
+  void setSeMessageCodec(SeMessageCodec seMessageCodec) {
+    this.seMessageCodec = seMessageCodec;
+  }
+
   @Override
   public boolean isSePresent() {
     logger.warn(
@@ -111,19 +134,35 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
       MultiSeRequestProcessing multiSeRequestProcessing,
       ChannelControl channelControl) {
 
+    int[] processingOrder = null;
+    List<SeRequest> transmittedSeRequests = seRequests;
+    if (multiSeRequestProcessing == MultiSeRequestProcessing.FIRST_MATCH_ADAPTIVE) {
+      // not sent as is to keep the compatibility with the slaves not knowing this mode
+      multiSeRequestProcessing = MultiSeRequestProcessing.FIRST_MATCH;
+      if (seRequests.size() > 1) {
+        processingOrder = selectionCaseStatistics.getProcessingOrder(null, seRequests);
+        transmittedSeRequests = new ArrayList<SeRequest>(seRequests.size());
+        for (int index : processingOrder) {
+          transmittedSeRequests.add(seRequests.get(index));
+        }
+      }
+    }
+
     RmTransmitSetTx transmit =
         new RmTransmitSetTx(
-            seRequests,
+            transmittedSeRequests,
             multiSeRequestProcessing,
             channelControl,
             session.getSessionId(),
             this.getNativeReaderName(),
             this.getName(),
             session.getMasterNodeId(),
-            session.getSlaveNodeId());
+            session.getSlaveNodeId(),
+            seMessageCodec);
+    List<SeResponse> seResponses;
     try {
       // blocking call
-      return transmit.execute(rmTxEngine);
+      seResponses = transmit.execute(rmTxEngine);
     } catch (KeypleRemoteException e) {
       logger.error(
           "{} - processSeRequests encounters an exception while communicating with slave. "
@@ -131,8 +170,26 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
           this.getName(),
           this.getSession().getSessionId(),
           e.getMessage());
-      throw toKeypleReaderException(e);
+      KeypleReaderIOException ex = toKeypleReaderException(e);
+      if (processingOrder != null && ex.getSeResponses() != null) {
+        ex.setSeResponses(
+            SelectionCaseStatistics.toOriginalOrder(ex.getSeResponses(), processingOrder));
+      }
+      throw ex;
     }
+    if (processingOrder != null) {
+      for (int position = 0; position < seResponses.size(); position++) {
+        SeResponse seResponse = seResponses.get(position);
+        if (seResponse != null
+            && seResponse.getSelectionStatus() != null
+            && seResponse.getSelectionStatus().hasMatched()) {
+          selectionCaseStatistics.recordMatch(null, transmittedSeRequests.get(position));
+          break;
+        }
+      }
+      seResponses = SelectionCaseStatistics.toOriginalOrder(seResponses, processingOrder);
+    }
+    return seResponses;
   }
 
   /**
@@ -154,7 +211,8 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
             this.getNativeReaderName(),
             this.getName(),
             session.getMasterNodeId(),
-            session.getSlaveNodeId());
+            session.getSlaveNodeId(),
+            seMessageCodec);
     try {
       // blocking call
       return transmit.execute(rmTxEngine);
@@ -168,6 +226,43 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
     }
   }
 
+  /**
+   * Blocking TransmitSeRequestScript, the whole script is executed by the slave in a single
+   * exchange
+   *
+   * @param seRequests : List of SeRequest to be transmitted to SE
+   * @param channelControl indicates if the channel has to be closed at the end of the processing
+   * @return List of SeResponse from SE
+   * @throws KeypleReaderIOException if the communication with the reader or the SE has failed
+   */
+  @Override
+  protected List<SeResponse> processSeRequestScript(
+      List<SeRequest> seRequests, ChannelControl channelControl) {
+
+    RmTransmitScriptTx transmit =
+        new RmTransmitScriptTx(
+            seRequests,
+            channelControl,
+            session.getSessionId(),
+            this.getNativeReaderName(),
+            this.getName(),
+            session.getMasterNodeId(),
+            session.getSlaveNodeId(),
+            seMessageCodec);
+    try {
+      // blocking call
+      return transmit.execute(rmTxEngine);
+    } catch (KeypleRemoteException e) {
+      logger.error(
+          "{} - processSeRequestScript encounters an exception while communicating with slave. "
+              + "sessionId:{} error:{}",
+          this.getName(),
+          this.getSession().getSessionId(),
+          e.getMessage());
+      throw toKeypleReaderException(e);
+    }
+  }
+
   @Override
   public void addSeProtocolSetting(SeProtocol seProtocol, String protocolRule) {
     logger.warn("{} addSeProtocolSetting is not implemented yet in VirtualReader", this.getName());
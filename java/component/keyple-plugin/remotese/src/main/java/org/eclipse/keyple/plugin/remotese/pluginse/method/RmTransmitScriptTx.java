@@ -0,0 +1,101 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.pluginse.method;
+
+import com.google.gson.JsonObject;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.seproxy.message.ChannelControl;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.rm.AbstractRemoteMethodTx;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Handle the TransmitScript keypleDTO serialization and deserialization */
+public class RmTransmitScriptTx extends AbstractRemoteMethodTx<List<SeResponse>> {
+
+  private static final Logger logger = LoggerFactory.getLogger(RmTransmitScriptTx.class);
+
+  private final List<SeRequest> seRequests;
+  private final ChannelControl channelControl;
+  private final SeMessageCodec seMessageCodec;
+
+  @Override
+  public RemoteMethodName getMethodName() {
+    return RemoteMethodName.READER_TRANSMIT_SCRIPT;
+  }
+
+  public RmTransmitScriptTx(
+      List<SeRequest> seRequests,
+      ChannelControl channelControl,
+      String sessionId,
+      String nativeReaderName,
+      String virtualReaderName,
+      String requesterNodeId,
+      String slaveNodeId,
+      SeMessageCodec seMessageCodec) {
+    super(sessionId, nativeReaderName, virtualReaderName, slaveNodeId, requesterNodeId);
+    this.seRequests = seRequests;
+    this.channelControl = channelControl;
+    this.seMessageCodec = seMessageCodec;
+  }
+
+  @Override
+  public KeypleDto dto() {
+
+    JsonObject body = new JsonObject();
+
+    body.addProperty("seRequests", seMessageCodec.encodeSeRequests(seRequests));
+
+    // the codec is omitted for the json encoding, understood by all slaves
+    if (!JsonSeMessageCodec.NAME.equals(seMessageCodec.getName())) {
+      body.addProperty("seMessageCodec", seMessageCodec.getName());
+    }
+
+    body.addProperty("channelControl", channelControl.name());
+
+    return KeypleDtoHelper.buildRequest(
+        getMethodName().getName(),
+        body.toString(),
+        this.sessionId,
+        this.nativeReaderName,
+        this.virtualReaderName,
+        requesterNodeId,
+        targetNodeId,
+        id);
+  }
+
+  @Override
+  public List<SeResponse> parseResponse(KeypleDto keypleDto) {
+
+    // logger.trace("KeypleDto : {}", keypleDto);
+
+    if (KeypleDtoHelper.containsException(keypleDto)) {
+      logger.trace("KeypleDto contains an exception: {}", keypleDto);
+      KeypleReaderIOException ex =
+          JsonParser.getGson().fromJson(keypleDto.getError(), KeypleReaderIOException.class);
+      throw new KeypleRemoteException(
+          "An exception occurs while calling the remote method transmitSeRequestScript", ex);
+    } else {
+      logger.trace("KeypleDto contains a response: {}", keypleDto);
+      return seMessageCodec.decodeSeResponses(keypleDto.getBody());
+    }
+  }
+}
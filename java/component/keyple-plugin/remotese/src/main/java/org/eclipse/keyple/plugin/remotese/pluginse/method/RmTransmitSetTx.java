@@ -12,8 +12,6 @@
 package org.eclipse.keyple.plugin.remotese.pluginse.method;
 
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
-import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
@@ -23,6 +21,8 @@ import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.rm.AbstractRemoteMethodTx;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -37,6 +37,7 @@ public class RmTransmitSetTx extends AbstractRemoteMethodTx<List<SeResponse>> {
   private final List<SeRequest> seRequests;
   private final MultiSeRequestProcessing multiSeRequestProcessing;
   private final ChannelControl channelControl;
+  private final SeMessageCodec seMessageCodec;
 
   @Override
   public RemoteMethodName getMethodName() {
@@ -51,11 +52,13 @@ public class RmTransmitSetTx extends AbstractRemoteMethodTx<List<SeResponse>> {
       String nativeReaderName,
       String virtualReaderName,
       String requesterNodeId,
-      String slaveNodeId) {
+      String slaveNodeId,
+      SeMessageCodec seMessageCodec) {
     super(sessionId, nativeReaderName, virtualReaderName, slaveNodeId, requesterNodeId);
     this.seRequests = seRequests;
     this.multiSeRequestProcessing = multiSeRequestProcessing;
     this.channelControl = channelControl;
+    this.seMessageCodec = seMessageCodec;
   }
 
   @Override
@@ -63,10 +66,12 @@ public class RmTransmitSetTx extends AbstractRemoteMethodTx<List<SeResponse>> {
 
     JsonObject body = new JsonObject();
 
-    body.addProperty(
-        "seRequests",
-        JsonParser.getGson()
-            .toJson(seRequests, new TypeToken<ArrayList<SeRequest>>() {}.getType()));
+    body.addProperty("seRequests", seMessageCodec.encodeSeRequests(seRequests));
+
+    // the codec is omitted for the json encoding, understood by all slaves
+    if (!JsonSeMessageCodec.NAME.equals(seMessageCodec.getName())) {
+      body.addProperty("seMessageCodec", seMessageCodec.getName());
+    }
 
     body.addProperty("multiSeRequestProcessing", multiSeRequestProcessing.name());
 
@@ -96,8 +101,7 @@ public class RmTransmitSetTx extends AbstractRemoteMethodTx<List<SeResponse>> {
           "An exception occurs while calling the remote method transmitSeRequests", ex);
     } else {
       logger.trace("KeypleDto contains a response: {}", keypleDto);
-      return JsonParser.getGson()
-          .fromJson(keypleDto.getBody(), new TypeToken<ArrayList<SeResponse>>() {}.getType());
+      return seMessageCodec.decodeSeResponses(keypleDto.getBody());
     }
   }
 }
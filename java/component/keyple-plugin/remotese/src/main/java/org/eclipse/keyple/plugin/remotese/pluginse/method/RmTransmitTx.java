@@ -19,6 +19,8 @@ import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.rm.AbstractRemoteMethodTx;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -32,6 +34,7 @@ public class RmTransmitTx extends AbstractRemoteMethodTx<SeResponse> {
 
   private final SeRequest seRequest;
   private final ChannelControl channelControl;
+  private final SeMessageCodec seMessageCodec;
 
   @Override
   public RemoteMethodName getMethodName() {
@@ -45,17 +48,24 @@ public class RmTransmitTx extends AbstractRemoteMethodTx<SeResponse> {
       String nativeReaderName,
       String virtualReaderName,
       String requesterNodeId,
-      String slaveNodeId) {
+      String slaveNodeId,
+      SeMessageCodec seMessageCodec) {
     super(sessionId, nativeReaderName, virtualReaderName, slaveNodeId, requesterNodeId);
     this.seRequest = seRequest;
     this.channelControl = channelControl;
+    this.seMessageCodec = seMessageCodec;
   }
 
   @Override
   public KeypleDto dto() {
     JsonObject body = new JsonObject();
 
-    body.addProperty("seRequest", JsonParser.getGson().toJson(seRequest, SeRequest.class));
+    body.addProperty("seRequest", seMessageCodec.encodeSeRequest(seRequest));
+
+    // the codec is omitted for the json encoding, understood by all slaves
+    if (!JsonSeMessageCodec.NAME.equals(seMessageCodec.getName())) {
+      body.addProperty("seMessageCodec", seMessageCodec.getName());
+    }
 
     body.addProperty("channelControl", channelControl.name());
 
@@ -82,7 +92,7 @@ public class RmTransmitTx extends AbstractRemoteMethodTx<SeResponse> {
           "An exception occurs while calling the remote method transmit", ex);
     } else {
       logger.trace("KeypleDto contains a response: {}", keypleDto);
-      return JsonParser.getGson().fromJson(keypleDto.getBody(), SeResponse.class);
+      return seMessageCodec.decodeSeResponse(keypleDto.getBody());
     }
   }
 }
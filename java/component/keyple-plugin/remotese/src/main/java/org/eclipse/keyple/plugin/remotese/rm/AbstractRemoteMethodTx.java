@@ -14,7 +14,12 @@ package org.eclipse.keyple.plugin.remotese.rm;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
@@ -30,6 +35,9 @@ import org.slf4j.LoggerFactory;
 public abstract class AbstractRemoteMethodTx<T> {
 
   private static final Logger logger = LoggerFactory.getLogger(AbstractRemoteMethodTx.class);
+
+  // shared scheduler of the asynchronous calls timeouts, created on first use
+  private static ScheduledExecutorService timeoutScheduler;
   protected final String sessionId;
   protected final String nativeReaderName;
   protected final String virtualReaderName;
@@ -174,6 +182,111 @@ public abstract class AbstractRemoteMethodTx<T> {
     } catch (InterruptedException e) {
       throw new IllegalStateException(
           "Thread locking has been interrupted while waiting for answer for " + this.toString(), e);
+    } finally {
+      // no response is expected anymore (already received, timeout or error)
+      rmTxEngine.unregister(this);
+    }
+  }
+
+  /**
+   * Non blocking method to execute the remote method call. The result is provided to the callback
+   * once the response is received, or with an exception if no response has been received within
+   * the timeout defined by the engine.
+   *
+   * <p>No thread is held while waiting for the response: the dto is sent from the calling thread
+   * and the callback is invoked from the thread that receives the response (or from the timeout
+   * scheduler), it must therefore return quickly.
+   *
+   * @param rmTxEngine : local RemoteMethodTxEngine to execute the command into
+   * @param callback : called exactly once with either the result or the exception
+   */
+  public final void executeAsync(
+      IRemoteMethodTxEngine rmTxEngine, IRemoteMethodTxCallback<T> callback) {
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("executeAsync {}", this.toString());
+    }
+    // register this method to receive response
+    rmTxEngine.register(this);
+
+    if (!isRegistered) {
+      throw new IllegalStateException(
+          "RemoteMethodTx#executeAsync() can not be used until RemoteMethodTx is registered in a RemoteMethodEngine, please call RemoteMethodEngine#register");
+    }
+
+    final AsyncCompletion completion = new AsyncCompletion(rmTxEngine, callback);
+    completion.timeoutTask =
+        getTimeoutScheduler()
+            .schedule(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    completion.get(
+                        null,
+                        new KeypleRemoteException(
+                            "Waiting time elapsed, no answer received from the other node for "
+                                + AbstractRemoteMethodTx.this.toString()));
+                  }
+                },
+                timeout,
+                TimeUnit.MILLISECONDS);
+
+    try {
+      send(completion);
+    } catch (KeypleRemoteException e) {
+      logger.error("Exception {} while sending Dto for {}", e.getMessage(), this);
+      completion.get(null, e);
+    }
+  }
+
+  /**
+   * Gets the scheduler of the asynchronous calls timeouts
+   *
+   * @return a scheduler running a single daemon thread
+   */
+  private static synchronized ScheduledExecutorService getTimeoutScheduler() {
+    if (timeoutScheduler == null) {
+      timeoutScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                  Thread thread = new Thread(runnable, "RemoteMethodTx-timeout");
+                  thread.setDaemon(true);
+                  return thread;
+                }
+              });
+    }
+    return timeoutScheduler;
+  }
+
+  /**
+   * Callback ending an asynchronous call exactly once, either with the response, a send error or
+   * the timeout
+   */
+  private final class AsyncCompletion implements IRemoteMethodTxCallback<T> {
+    private final IRemoteMethodTxEngine rmTxEngine;
+    private final IRemoteMethodTxCallback<T> callback;
+    private final AtomicBoolean completed = new AtomicBoolean(false);
+    private volatile ScheduledFuture<?> timeoutTask;
+
+    AsyncCompletion(IRemoteMethodTxEngine rmTxEngine, IRemoteMethodTxCallback<T> callback) {
+      this.rmTxEngine = rmTxEngine;
+      this.callback = callback;
+    }
+
+    @Override
+    public void get(T response, KeypleRemoteException exception) {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+      ScheduledFuture<?> task = timeoutTask;
+      if (task != null) {
+        task.cancel(false);
+      }
+      // no response is expected anymore
+      rmTxEngine.unregister(AbstractRemoteMethodTx.this);
+      callback.get(response, exception);
     }
   }
 
@@ -247,7 +360,7 @@ public abstract class AbstractRemoteMethodTx<T> {
   }
 
   public Runnable sendTask(
-      final AbstractRemoteMethodTx thisInstance, final IRemoteMethodTxCallback callback) {
+      final AbstractRemoteMethodTx<T> thisInstance, final IRemoteMethodTxCallback<T> callback) {
     return new Runnable() {
       @Override
       public void run() {
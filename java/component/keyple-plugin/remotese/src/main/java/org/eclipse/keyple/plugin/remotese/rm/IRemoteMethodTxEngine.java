@@ -15,7 +15,14 @@ import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
 
 public interface IRemoteMethodTxEngine {
 
-  void register(final AbstractRemoteMethodTx rm);
+  void register(final AbstractRemoteMethodTx<?> rm);
+
+  /**
+   * Unregisters a RemoteMethod that no longer expects a response (timeout, send error)
+   *
+   * @param rm : RemoteMethodTx to be removed
+   */
+  void unregister(AbstractRemoteMethodTx<?> rm);
 
   TransportDto onResponseDto(TransportDto message);
 }
@@ -19,6 +19,8 @@ public enum RemoteMethodName {
 
   READER_TRANSMIT("reader_transmit_se_request"),
 
+  READER_TRANSMIT_SCRIPT("reader_transmit_se_request_script"),
+
   READER_CONNECT("reader_connect"),
 
   READER_DISCONNECT("reader_disconnect"),
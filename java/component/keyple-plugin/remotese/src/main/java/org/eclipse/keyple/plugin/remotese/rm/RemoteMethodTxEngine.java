@@ -11,6 +11,8 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.rm;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import org.eclipse.keyple.plugin.remotese.transport.*;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
@@ -20,15 +22,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manages the transaction (request/response) for remote method invocation It holds the @{@link
+ * Manages the transactions (request/response) for remote method invocation It holds the @{@link
  * AbstractRemoteMethodTx} untils the answer is received
+ *
+ * <p>Several transactions can be in progress at the same time, the responses are dispatched to
+ * them according to the KeypleDto id.
  */
 public class RemoteMethodTxEngine implements IRemoteMethodTxEngine {
 
   private static final Logger logger = LoggerFactory.getLogger(RemoteMethodTxEngine.class);
 
-  // waiting transaction, supports only one at the time
-  private AbstractRemoteMethodTx remoteMethodTx;
+  // waiting transactions indexed by id (rm id, rm)
+  private final ConcurrentMap<String, AbstractRemoteMethodTx<?>> remoteMethodTxs;
 
   // Executor to run async task required in RemoteMethodTx
   private final ExecutorService executorService;
@@ -45,7 +50,7 @@ public class RemoteMethodTxEngine implements IRemoteMethodTxEngine {
    * @param executorService : executorService required to execute async task in RemoteMethodTx
    */
   public RemoteMethodTxEngine(DtoSender sender, long timeout, ExecutorService executorService) {
-    // this.queue = new Linkers<RemoteMethodTx>();
+    this.remoteMethodTxs = new ConcurrentHashMap<String, AbstractRemoteMethodTx<?>>();
     this.sender = sender;
     this.timeout = timeout;
     this.executorService = executorService;
@@ -58,6 +63,9 @@ public class RemoteMethodTxEngine implements IRemoteMethodTxEngine {
   /**
    * Set Response to a RemoteMethod Invocation
    *
+   * <p>A response that does not match any waiting transaction (e.g. a late response to a
+   * transaction that has timed out) is ignored.
+   *
    * @param message to be processed, must be a keyple response or a
    * @return TransportDto : response of the message processing, should be a NoResponse
    */
@@ -75,42 +83,26 @@ public class RemoteMethodTxEngine implements IRemoteMethodTxEngine {
       throw new IllegalArgumentException(
           "RemoteMethodTxEngine expects a KeypleDto response. " + keypleDto);
     }
+
     /*
-     * Check that a request has been made previously
+     * Find the request matching the response id, the request is removed to be ready to receive a
+     * new one
      */
+    AbstractRemoteMethodTx<?> remoteMethodTx = remoteMethodTxs.remove(keypleDto.getId());
     if (remoteMethodTx == null) {
       /*
        * Response received does not match a request. Ignore it
        */
-      logger.error(
-          "RemoteMethodTxEngine receives a KeypleDto response but no remoteMethodTx is defined : "
-              + keypleDto);
-      throw new IllegalArgumentException(
-          "RemoteMethodTxEngine receives a KeypleDto response but no remoteMethodTx is defined : "
-              + keypleDto);
-    }
-
-    /*
-     * Check that ids match
-     */
-    if (!remoteMethodTx.getId().equals(keypleDto.getId())) {
-      logger.error(
-          "RemoteMethodTxEngine receives a KeypleDto response but ids don't match : " + keypleDto);
-      throw new IllegalArgumentException(
-          "RemoteMethodTxEngine receives a KeypleDto response but ids don't match : " + keypleDto);
+      logger.warn(
+          "RemoteMethodTxEngine receives a KeypleDto response but no remoteMethodTx matches its id, response ignored : {}",
+          keypleDto);
+    } else {
+      /*
+       * All checks are successful Set keypleDto as a response to the remote method Tx (request)
+       */
+      remoteMethodTx.setResponse(keypleDto);
     }
 
-    /*
-     * All checks are successful Set keypleDto as a response to the remote method Tx (request)
-     */
-    remoteMethodTx.setResponse(keypleDto);
-
-    /*
-     * init remote engine to receive a new request
-     */
-    // re init remoteMethod
-    remoteMethodTx = null;
-
     // no dto should be sent back
     return message.nextTransportDTO(KeypleDtoHelper.NoResponse(keypleDto.getId()));
   }
@@ -121,14 +113,35 @@ public class RemoteMethodTxEngine implements IRemoteMethodTxEngine {
    * @param rm : RemoteMethodTx to be executed
    */
   @Override
-  public void register(final AbstractRemoteMethodTx rm) {
+  public void register(final AbstractRemoteMethodTx<?> rm) {
     if (logger.isTraceEnabled()) {
       logger.trace("Register RemoteMethod to engine : {} ", rm.id);
     }
     rm.setExecutorService(executorService);
     rm.setRegistered(true);
-    remoteMethodTx = rm;
     rm.setDtoSender(sender);
     rm.setTimeout(timeout);
+    remoteMethodTxs.put(rm.id, rm);
+  }
+
+  /**
+   * Remove RemoteMethod from executing stack
+   *
+   * @param rm : RemoteMethodTx no longer waiting for a response
+   */
+  @Override
+  public void unregister(AbstractRemoteMethodTx<?> rm) {
+    if (remoteMethodTxs.remove(rm.id) != null && logger.isTraceEnabled()) {
+      logger.trace("Unregister RemoteMethod from engine : {} ", rm.id);
+    }
+  }
+
+  /**
+   * Gets the number of transactions waiting for a response
+   *
+   * @return a positive or null int
+   */
+  int getPendingTxCount() {
+    return remoteMethodTxs.size();
   }
 }
@@ -30,7 +30,7 @@ public class RemoteMethodTxPoolEngine implements IRemoteMethodTxEngine {
   private static final Logger logger = LoggerFactory.getLogger(RemoteMethodTxPoolEngine.class);
 
   // rm id, rm
-  private Map<String, AbstractRemoteMethodTx> queue;
+  private Map<String, AbstractRemoteMethodTx<?>> queue;
 
   // Executor to run async task required in RemoteMethodTx
   private final ExecutorService executorService;
@@ -46,7 +46,7 @@ public class RemoteMethodTxPoolEngine implements IRemoteMethodTxEngine {
    * @param executorService : executorService required to execute async task in RemoteMethodTx
    */
   public RemoteMethodTxPoolEngine(DtoSender sender, long timeout, ExecutorService executorService) {
-    this.queue = new ConcurrentHashMap<String, AbstractRemoteMethodTx>();
+    this.queue = new ConcurrentHashMap<String, AbstractRemoteMethodTx<?>>();
     this.sender = sender;
     this.timeout = timeout;
     this.executorService = executorService;
@@ -87,7 +87,7 @@ public class RemoteMethodTxPoolEngine implements IRemoteMethodTxEngine {
    * @param rm : RemoteMethodTx to be executed
    */
   @Override
-  public void register(final AbstractRemoteMethodTx rm) {
+  public void register(final AbstractRemoteMethodTx<?> rm) {
     logger.debug("Register rm to engine : {}", rm);
     rm.setRegistered(true);
     rm.setExecutorService(executorService);
@@ -95,4 +95,14 @@ public class RemoteMethodTxPoolEngine implements IRemoteMethodTxEngine {
     rm.setDtoSender(sender);
     rm.setTimeout(timeout);
   }
+
+  /**
+   * Remove RemoteMethod from executing stack
+   *
+   * @param rm : RemoteMethodTx no longer waiting for a response
+   */
+  @Override
+  public void unregister(AbstractRemoteMethodTx<?> rm) {
+    queue.remove(rm.id);
+  }
 }
@@ -0,0 +1,532 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.AnswerToReset;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+
+/**
+ * Compact binary encoding of the SE messages.
+ *
+ * <p>APDU bytes are written raw, lengths and counts are unsigned varints (a length or count is
+ * written incremented by one, zero standing for a null value). The {@link SeSelector}, only present
+ * in the selection requests, is embedded as a length-prefixed json string. The resulting bytes are
+ * Base64 encoded since the body of a {@link
+ * org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto} is a string.
+ *
+ * <p>The first byte of the encoded data is the format version.
+ */
+public final class BinarySeMessageCodec implements SeMessageCodec {
+
+  public static final String NAME = "binary";
+
+  private static final int FORMAT_VERSION = 1;
+
+  /* flags of the encoded objects */
+  private static final int NULL_OBJECT = 0x80;
+  private static final int SE_REQUEST_SELECTOR = 0x01;
+  private static final int APDU_REQUEST_CASE4 = 0x01;
+  private static final int SE_RESPONSE_LOGICAL_CHANNEL_OPEN = 0x01;
+  private static final int SE_RESPONSE_CHANNEL_PREVIOUSLY_OPEN = 0x02;
+  private static final int SE_RESPONSE_SELECTION_STATUS = 0x04;
+  private static final int SELECTION_STATUS_MATCHING = 0x01;
+  private static final int SELECTION_STATUS_ATR = 0x02;
+  private static final int SELECTION_STATUS_FCI = 0x04;
+  private static final int APDU_RESPONSE_SUCCESSFUL = 0x01;
+
+  private static final char[] BASE64_ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+  private static final int[] BASE64_VALUES = new int[128];
+
+  static {
+    for (int i = 0; i < BASE64_VALUES.length; i++) {
+      BASE64_VALUES[i] = -1;
+    }
+    for (int i = 0; i < BASE64_ALPHABET.length; i++) {
+      BASE64_VALUES[BASE64_ALPHABET[i]] = i;
+    }
+  }
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String encodeSeRequest(SeRequest seRequest) {
+    Writer writer = new Writer();
+    writeSeRequest(writer, seRequest);
+    return writer.toBase64();
+  }
+
+  @Override
+  public SeRequest decodeSeRequest(String data) {
+    Reader reader = new Reader(data);
+    SeRequest seRequest = readSeRequest(reader);
+    reader.checkEnd();
+    return seRequest;
+  }
+
+  @Override
+  public String encodeSeRequests(List<SeRequest> seRequests) {
+    Writer writer = new Writer();
+    if (seRequests == null) {
+      writer.writeVarint(0);
+    } else {
+      writer.writeVarint(seRequests.size() + 1);
+      for (SeRequest seRequest : seRequests) {
+        writeSeRequest(writer, seRequest);
+      }
+    }
+    return writer.toBase64();
+  }
+
+  @Override
+  public List<SeRequest> decodeSeRequests(String data) {
+    Reader reader = new Reader(data);
+    List<SeRequest> seRequests = null;
+    int count = reader.readVarint() - 1;
+    if (count >= 0) {
+      seRequests = new ArrayList<SeRequest>(count);
+      for (int i = 0; i < count; i++) {
+        seRequests.add(readSeRequest(reader));
+      }
+    }
+    reader.checkEnd();
+    return seRequests;
+  }
+
+  @Override
+  public String encodeSeResponse(SeResponse seResponse) {
+    Writer writer = new Writer();
+    writeSeResponse(writer, seResponse);
+    return writer.toBase64();
+  }
+
+  @Override
+  public SeResponse decodeSeResponse(String data) {
+    Reader reader = new Reader(data);
+    SeResponse seResponse = readSeResponse(reader);
+    reader.checkEnd();
+    return seResponse;
+  }
+
+  @Override
+  public String encodeSeResponses(List<SeResponse> seResponses) {
+    Writer writer = new Writer();
+    if (seResponses == null) {
+      writer.writeVarint(0);
+    } else {
+      writer.writeVarint(seResponses.size() + 1);
+      for (SeResponse seResponse : seResponses) {
+        writeSeResponse(writer, seResponse);
+      }
+    }
+    return writer.toBase64();
+  }
+
+  @Override
+  public List<SeResponse> decodeSeResponses(String data) {
+    Reader reader = new Reader(data);
+    List<SeResponse> seResponses = null;
+    int count = reader.readVarint() - 1;
+    if (count >= 0) {
+      seResponses = new ArrayList<SeResponse>(count);
+      for (int i = 0; i < count; i++) {
+        seResponses.add(readSeResponse(reader));
+      }
+    }
+    reader.checkEnd();
+    return seResponses;
+  }
+
+  /*
+   * SE messages
+   */
+
+  private static void writeSeRequest(Writer writer, SeRequest seRequest) {
+    if (seRequest == null) {
+      writer.write(NULL_OBJECT);
+      return;
+    }
+    SeSelector seSelector = seRequest.getSeSelector();
+    writer.write(seSelector != null ? SE_REQUEST_SELECTOR : 0);
+    if (seSelector != null) {
+      writer.writeString(JsonParser.getGson().toJson(seSelector, SeSelector.class));
+    }
+    List<ApduRequest> apduRequests = seRequest.getApduRequests();
+    if (apduRequests == null) {
+      writer.writeVarint(0);
+    } else {
+      writer.writeVarint(apduRequests.size() + 1);
+      for (ApduRequest apduRequest : apduRequests) {
+        writeApduRequest(writer, apduRequest);
+      }
+    }
+  }
+
+  private static SeRequest readSeRequest(Reader reader) {
+    int flags = reader.read();
+    if (flags == NULL_OBJECT) {
+      return null;
+    }
+    SeSelector seSelector = null;
+    if ((flags & SE_REQUEST_SELECTOR) != 0) {
+      seSelector = JsonParser.getGson().fromJson(reader.readString(), SeSelector.class);
+    }
+    List<ApduRequest> apduRequests = null;
+    int count = reader.readVarint() - 1;
+    if (count >= 0) {
+      apduRequests = new ArrayList<ApduRequest>(count);
+      for (int i = 0; i < count; i++) {
+        apduRequests.add(readApduRequest(reader));
+      }
+    }
+    return new SeRequest(seSelector, apduRequests);
+  }
+
+  private static void writeApduRequest(Writer writer, ApduRequest apduRequest) {
+    if (apduRequest == null) {
+      writer.write(NULL_OBJECT);
+      return;
+    }
+    writer.write(apduRequest.isCase4() ? APDU_REQUEST_CASE4 : 0);
+    writer.writeBytes(apduRequest.getBytes());
+    Set<Integer> successfulStatusCodes = apduRequest.getSuccessfulStatusCodes();
+    if (successfulStatusCodes == null) {
+      writer.writeVarint(0);
+    } else {
+      writer.writeVarint(successfulStatusCodes.size() + 1);
+      for (Integer statusCode : successfulStatusCodes) {
+        writer.writeVarint(statusCode);
+      }
+    }
+    writer.writeString(apduRequest.getName());
+  }
+
+  private static ApduRequest readApduRequest(Reader reader) {
+    int flags = reader.read();
+    if (flags == NULL_OBJECT) {
+      return null;
+    }
+    byte[] bytes = reader.readBytes();
+    Set<Integer> successfulStatusCodes = null;
+    int count = reader.readVarint() - 1;
+    if (count >= 0) {
+      successfulStatusCodes = new LinkedHashSet<Integer>();
+      for (int i = 0; i < count; i++) {
+        successfulStatusCodes.add(reader.readVarint());
+      }
+    }
+    String name = reader.readString();
+    return new ApduRequest(name, bytes, (flags & APDU_REQUEST_CASE4) != 0, successfulStatusCodes);
+  }
+
+  private static void writeSeResponse(Writer writer, SeResponse seResponse) {
+    if (seResponse == null) {
+      writer.write(NULL_OBJECT);
+      return;
+    }
+    SelectionStatus selectionStatus = seResponse.getSelectionStatus();
+    int flags = 0;
+    if (seResponse.isLogicalChannelOpen()) {
+      flags |= SE_RESPONSE_LOGICAL_CHANNEL_OPEN;
+    }
+    if (seResponse.wasChannelPreviouslyOpen()) {
+      flags |= SE_RESPONSE_CHANNEL_PREVIOUSLY_OPEN;
+    }
+    if (selectionStatus != null) {
+      flags |= SE_RESPONSE_SELECTION_STATUS;
+    }
+    writer.write(flags);
+    if (selectionStatus != null) {
+      writeSelectionStatus(writer, selectionStatus);
+    }
+    List<ApduResponse> apduResponses = seResponse.getApduResponses();
+    if (apduResponses == null) {
+      writer.writeVarint(0);
+    } else {
+      writer.writeVarint(apduResponses.size() + 1);
+      for (ApduResponse apduResponse : apduResponses) {
+        writeApduResponse(writer, apduResponse);
+      }
+    }
+  }
+
+  private static SeResponse readSeResponse(Reader reader) {
+    int flags = reader.read();
+    if (flags == NULL_OBJECT) {
+      return null;
+    }
+    SelectionStatus selectionStatus = null;
+    if ((flags & SE_RESPONSE_SELECTION_STATUS) != 0) {
+      selectionStatus = readSelectionStatus(reader);
+    }
+    List<ApduResponse> apduResponses = null;
+    int count = reader.readVarint() - 1;
+    if (count >= 0) {
+      apduResponses = new ArrayList<ApduResponse>(count);
+      for (int i = 0; i < count; i++) {
+        apduResponses.add(readApduResponse(reader));
+      }
+    }
+    return new SeResponse(
+        (flags & SE_RESPONSE_LOGICAL_CHANNEL_OPEN) != 0,
+        (flags & SE_RESPONSE_CHANNEL_PREVIOUSLY_OPEN) != 0,
+        selectionStatus,
+        apduResponses);
+  }
+
+  private static void writeSelectionStatus(Writer writer, SelectionStatus selectionStatus) {
+    int flags = 0;
+    if (selectionStatus.hasMatched()) {
+      flags |= SELECTION_STATUS_MATCHING;
+    }
+    if (selectionStatus.getAtr() != null) {
+      flags |= SELECTION_STATUS_ATR;
+    }
+    if (selectionStatus.getFci() != null) {
+      flags |= SELECTION_STATUS_FCI;
+    }
+    writer.write(flags);
+    if (selectionStatus.getAtr() != null) {
+      writer.writeBytes(selectionStatus.getAtr().getBytes());
+    }
+    if (selectionStatus.getFci() != null) {
+      writeApduResponse(writer, selectionStatus.getFci());
+    }
+  }
+
+  private static SelectionStatus readSelectionStatus(Reader reader) {
+    int flags = reader.read();
+    AnswerToReset atr = null;
+    if ((flags & SELECTION_STATUS_ATR) != 0) {
+      atr = new AnswerToReset(reader.readBytes());
+    }
+    ApduResponse fci = null;
+    if ((flags & SELECTION_STATUS_FCI) != 0) {
+      fci = readApduResponse(reader);
+    }
+    return new SelectionStatus(atr, fci, (flags & SELECTION_STATUS_MATCHING) != 0);
+  }
+
+  private static void writeApduResponse(Writer writer, ApduResponse apduResponse) {
+    if (apduResponse == null) {
+      writer.write(NULL_OBJECT);
+      return;
+    }
+    writer.write(apduResponse.isSuccessful() ? APDU_RESPONSE_SUCCESSFUL : 0);
+    writer.writeBytes(apduResponse.getBytes());
+  }
+
+  private static ApduResponse readApduResponse(Reader reader) {
+    int flags = reader.read();
+    if (flags == NULL_OBJECT) {
+      return null;
+    }
+    byte[] bytes = reader.readBytes();
+    /*
+     * The successful status may result from additional successful status codes that are not
+     * transmitted: the status code of the response is then provided as a successful one.
+     */
+    Set<Integer> successfulStatusCodes = null;
+    if ((flags & APDU_RESPONSE_SUCCESSFUL) != 0 && bytes != null && bytes.length >= 2) {
+      int statusCode = ((bytes[bytes.length - 2] & 0xFF) << 8) + (bytes[bytes.length - 1] & 0xFF);
+      successfulStatusCodes = Collections.singleton(statusCode);
+    }
+    return new ApduResponse(bytes, successfulStatusCodes);
+  }
+
+  /*
+   * Low level encoding
+   */
+
+  /** Output buffer, starts with the format version */
+  private static final class Writer {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+
+    Writer() {
+      out.write(FORMAT_VERSION);
+    }
+
+    void write(int value) {
+      out.write(value);
+    }
+
+    void writeVarint(int value) {
+      while ((value & ~0x7F) != 0) {
+        out.write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      out.write(value);
+    }
+
+    void writeBytes(byte[] bytes) {
+      if (bytes == null) {
+        writeVarint(0);
+      } else {
+        writeVarint(bytes.length + 1);
+        out.write(bytes, 0, bytes.length);
+      }
+    }
+
+    void writeString(String value) {
+      writeBytes(value != null ? toUtf8(value) : null);
+    }
+
+    String toBase64() {
+      byte[] bytes = out.toByteArray();
+      StringBuilder sb = new StringBuilder((bytes.length + 2) / 3 * 4);
+      for (int i = 0; i < bytes.length; i += 3) {
+        int remaining = bytes.length - i;
+        int block = (bytes[i] & 0xFF) << 16;
+        if (remaining > 1) {
+          block |= (bytes[i + 1] & 0xFF) << 8;
+        }
+        if (remaining > 2) {
+          block |= bytes[i + 2] & 0xFF;
+        }
+        sb.append(BASE64_ALPHABET[(block >>> 18) & 0x3F]);
+        sb.append(BASE64_ALPHABET[(block >>> 12) & 0x3F]);
+        sb.append(remaining > 1 ? BASE64_ALPHABET[(block >>> 6) & 0x3F] : '=');
+        sb.append(remaining > 2 ? BASE64_ALPHABET[block & 0x3F] : '=');
+      }
+      return sb.toString();
+    }
+  }
+
+  /** Input buffer, checks the format version */
+  private static final class Reader {
+    private final byte[] data;
+    private int position;
+
+    Reader(String base64) {
+      if (base64 == null) {
+        throw new IllegalArgumentException("No data to decode");
+      }
+      data = fromBase64(base64);
+      int version = read();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalArgumentException("Unsupported binary format version: " + version);
+      }
+    }
+
+    int read() {
+      if (position >= data.length) {
+        throw new IllegalArgumentException("Unexpected end of the binary data");
+      }
+      return data[position++] & 0xFF;
+    }
+
+    int readVarint() {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        int b = read();
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed varint in the binary data");
+    }
+
+    byte[] readBytes() {
+      int length = readVarint() - 1;
+      if (length < 0) {
+        return null;
+      }
+      if (length > data.length - position) {
+        throw new IllegalArgumentException("Unexpected end of the binary data");
+      }
+      byte[] bytes = new byte[length];
+      System.arraycopy(data, position, bytes, 0, length);
+      position += length;
+      return bytes;
+    }
+
+    String readString() {
+      byte[] bytes = readBytes();
+      return bytes != null ? fromUtf8(bytes) : null;
+    }
+
+    void checkEnd() {
+      if (position != data.length) {
+        throw new IllegalArgumentException(
+            "Unexpected trailing bytes in the binary data: " + (data.length - position));
+      }
+    }
+
+    private static byte[] fromBase64(String base64) {
+      int length = base64.length();
+      if (length % 4 != 0) {
+        throw new IllegalArgumentException("Malformed Base64 data");
+      }
+      int padding = 0;
+      if (length > 0 && base64.charAt(length - 1) == '=') {
+        padding++;
+        if (base64.charAt(length - 2) == '=') {
+          padding++;
+        }
+      }
+      byte[] bytes = new byte[length / 4 * 3 - padding];
+      int index = 0;
+      for (int i = 0; i < length; i += 4) {
+        int block = 0;
+        for (int j = 0; j < 4; j++) {
+          char c = base64.charAt(i + j);
+          int value;
+          if (c == '=' && i + 4 == length && j >= 4 - padding) {
+            value = 0;
+          } else if (c < 128 && BASE64_VALUES[c] >= 0) {
+            value = BASE64_VALUES[c];
+          } else {
+            throw new IllegalArgumentException("Malformed Base64 data");
+          }
+          block = (block << 6) | value;
+        }
+        for (int j = 0; j < 3 && index < bytes.length; j++) {
+          bytes[index++] = (byte) (block >>> (16 - 8 * j));
+        }
+      }
+      return bytes;
+    }
+  }
+
+  private static byte[] toUtf8(String value) {
+    try {
+      return value.getBytes("UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException("UTF-8 is not supported", e);
+    }
+  }
+
+  private static String fromUtf8(byte[] bytes) {
+    try {
+      return new String(bytes, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException("UTF-8 is not supported", e);
+    }
+  }
+}
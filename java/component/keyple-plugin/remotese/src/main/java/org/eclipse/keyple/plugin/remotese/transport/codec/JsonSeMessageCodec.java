@@ -0,0 +1,76 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import com.google.gson.reflect.TypeToken;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+
+/**
+ * Json encoding of the SE messages, APDU bytes are hex encoded. This is the historical format of
+ * the transmit DTO, used by default.
+ */
+public final class JsonSeMessageCodec implements SeMessageCodec {
+
+  public static final String NAME = "json";
+
+  @Override
+  public String getName() {
+    return NAME;
+  }
+
+  @Override
+  public String encodeSeRequest(SeRequest seRequest) {
+    return JsonParser.getGson().toJson(seRequest, SeRequest.class);
+  }
+
+  @Override
+  public SeRequest decodeSeRequest(String data) {
+    return JsonParser.getGson().fromJson(data, SeRequest.class);
+  }
+
+  @Override
+  public String encodeSeRequests(List<SeRequest> seRequests) {
+    return JsonParser.getGson()
+        .toJson(seRequests, new TypeToken<ArrayList<SeRequest>>() {}.getType());
+  }
+
+  @Override
+  public List<SeRequest> decodeSeRequests(String data) {
+    return JsonParser.getGson().fromJson(data, new TypeToken<ArrayList<SeRequest>>() {}.getType());
+  }
+
+  @Override
+  public String encodeSeResponse(SeResponse seResponse) {
+    return JsonParser.getGson().toJson(seResponse, SeResponse.class);
+  }
+
+  @Override
+  public SeResponse decodeSeResponse(String data) {
+    return JsonParser.getGson().fromJson(data, SeResponse.class);
+  }
+
+  @Override
+  public String encodeSeResponses(List<SeResponse> seResponses) {
+    return JsonParser.getGson()
+        .toJson(seResponses, new TypeToken<ArrayList<SeResponse>>() {}.getType());
+  }
+
+  @Override
+  public List<SeResponse> decodeSeResponses(String data) {
+    return JsonParser.getGson()
+        .fromJson(data, new TypeToken<ArrayList<SeResponse>>() {}.getType());
+  }
+}
@@ -0,0 +1,100 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+
+/**
+ * Encoding of the {@link SeRequest} and {@link SeResponse} carried in the body of the transmit
+ * {@link org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto}.
+ *
+ * <p>The codec used with a slave node is negotiated when the slave connects a reader: the slave
+ * offers the names of the codecs it knows, the master picks the first one it also knows. The
+ * {@link JsonSeMessageCodec} is used when no common codec is found.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface SeMessageCodec {
+
+  /**
+   * Name of the codec, identifies the codec on both ends of the network
+   *
+   * @return a not empty name
+   */
+  String getName();
+
+  /**
+   * Encode a SE request
+   *
+   * @param seRequest the request to be encoded
+   * @return the encoded request
+   */
+  String encodeSeRequest(SeRequest seRequest);
+
+  /**
+   * Decode a SE request
+   *
+   * @param data the data produced by {@link #encodeSeRequest(SeRequest)}
+   * @return the decoded request
+   */
+  SeRequest decodeSeRequest(String data);
+
+  /**
+   * Encode a list of SE requests
+   *
+   * @param seRequests the requests to be encoded
+   * @return the encoded requests
+   */
+  String encodeSeRequests(List<SeRequest> seRequests);
+
+  /**
+   * Decode a list of SE requests
+   *
+   * @param data the data produced by {@link #encodeSeRequests(List)}
+   * @return the decoded requests
+   */
+  List<SeRequest> decodeSeRequests(String data);
+
+  /**
+   * Encode a SE response
+   *
+   * @param seResponse the response to be encoded
+   * @return the encoded response
+   */
+  String encodeSeResponse(SeResponse seResponse);
+
+  /**
+   * Decode a SE response
+   *
+   * @param data the data produced by {@link #encodeSeResponse(SeResponse)}
+   * @return the decoded response
+   */
+  SeResponse decodeSeResponse(String data);
+
+  /**
+   * Encode a list of SE responses
+   *
+   * @param seResponses the responses to be encoded
+   * @return the encoded responses
+   */
+  String encodeSeResponses(List<SeResponse> seResponses);
+
+  /**
+   * Decode a list of SE responses
+   *
+   * @param data the data produced by {@link #encodeSeResponses(List)}
+   * @return the decoded responses
+   */
+  List<SeResponse> decodeSeResponses(String data);
+}
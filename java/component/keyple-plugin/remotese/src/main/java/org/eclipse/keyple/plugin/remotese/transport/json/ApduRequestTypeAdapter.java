@@ -0,0 +1,85 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.transport.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+
+/**
+ * Gson streaming Adapter to serialize and unserialize {@link ApduRequest}
+ *
+ * <p>Produces the same JSON as the reflective serialization: {"bytes":"hex", "case4":boolean,
+ * "successfulStatusCodes":[int], "name":"string"}, the null fields being omitted.
+ */
+class ApduRequestTypeAdapter extends TypeAdapter<ApduRequest> {
+
+  @Override
+  public void write(JsonWriter out, ApduRequest apduRequest) throws IOException {
+    out.beginObject();
+    if (apduRequest.getBytes() != null) {
+      out.name("bytes").value(ByteArrayUtil.toHex(apduRequest.getBytes()));
+    }
+    out.name("case4").value(apduRequest.isCase4());
+    if (apduRequest.getSuccessfulStatusCodes() != null) {
+      out.name("successfulStatusCodes").beginArray();
+      for (Integer statusCode : apduRequest.getSuccessfulStatusCodes()) {
+        out.value(statusCode);
+      }
+      out.endArray();
+    }
+    if (apduRequest.getName() != null) {
+      out.name("name").value(apduRequest.getName());
+    }
+    out.endObject();
+  }
+
+  @Override
+  public ApduRequest read(JsonReader in) throws IOException {
+    byte[] bytes = null;
+    boolean case4 = false;
+    Set<Integer> successfulStatusCodes = null;
+    String name = null;
+
+    in.beginObject();
+    while (in.hasNext()) {
+      String fieldName = in.nextName();
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+      } else if ("bytes".equals(fieldName)) {
+        bytes = ByteArrayUtil.fromHex(in.nextString());
+      } else if ("case4".equals(fieldName)) {
+        case4 = in.nextBoolean();
+      } else if ("successfulStatusCodes".equals(fieldName)) {
+        successfulStatusCodes = new LinkedHashSet<Integer>();
+        in.beginArray();
+        while (in.hasNext()) {
+          successfulStatusCodes.add(in.nextInt());
+        }
+        in.endArray();
+      } else if ("name".equals(fieldName)) {
+        name = in.nextString();
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+
+    return new ApduRequest(name, bytes, case4, successfulStatusCodes);
+  }
+}
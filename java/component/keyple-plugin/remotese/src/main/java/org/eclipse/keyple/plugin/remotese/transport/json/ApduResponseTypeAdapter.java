@@ -0,0 +1,73 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.transport.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+
+/**
+ * Gson streaming Adapter to serialize and unserialize {@link ApduResponse}
+ *
+ * <p>Produces the same JSON as the reflective serialization: {"successful":boolean,
+ * "bytes":"hex"}, the null fields being omitted.
+ */
+class ApduResponseTypeAdapter extends TypeAdapter<ApduResponse> {
+
+  @Override
+  public void write(JsonWriter out, ApduResponse apduResponse) throws IOException {
+    out.beginObject();
+    out.name("successful").value(apduResponse.isSuccessful());
+    if (apduResponse.getBytes() != null) {
+      out.name("bytes").value(ByteArrayUtil.toHex(apduResponse.getBytes()));
+    }
+    out.endObject();
+  }
+
+  @Override
+  public ApduResponse read(JsonReader in) throws IOException {
+    boolean successful = false;
+    byte[] bytes = null;
+
+    in.beginObject();
+    while (in.hasNext()) {
+      String fieldName = in.nextName();
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+      } else if ("successful".equals(fieldName)) {
+        successful = in.nextBoolean();
+      } else if ("bytes".equals(fieldName)) {
+        bytes = ByteArrayUtil.fromHex(in.nextString());
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+
+    /*
+     * The successful status may result from additional successful status codes that are not
+     * transmitted: the status code of the response is then provided as a successful one.
+     */
+    Set<Integer> successfulStatusCodes = null;
+    if (successful && bytes != null && bytes.length >= 2) {
+      int statusCode = ((bytes[bytes.length - 2] & 0xFF) << 8) + (bytes[bytes.length - 1] & 0xFF);
+      successfulStatusCodes = Collections.singleton(statusCode);
+    }
+    return new ApduResponse(bytes, successfulStatusCodes);
+  }
+}
@@ -11,21 +11,26 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.transport.json;
 
-import com.google.gson.*;
-import java.lang.reflect.Type;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
 
-/** Gson Adapter to serialize and unserialize byte[] to Hex String */
-public class HexTypeAdapter implements JsonSerializer<byte[]>, JsonDeserializer<byte[]> {
+/**
+ * Gson Adapter to serialize and unserialize byte[] to Hex String
+ *
+ * <p>Streaming adapter: no intermediate JSON tree is built.
+ */
+public class HexTypeAdapter extends TypeAdapter<byte[]> {
 
   @Override
-  public byte[] deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
-      throws JsonParseException {
-    return ByteArrayUtil.fromHex(json.getAsString());
+  public void write(JsonWriter out, byte[] data) throws IOException {
+    out.value(ByteArrayUtil.toHex(data));
   }
 
   @Override
-  public JsonElement serialize(byte[] data, Type typeOfSrc, JsonSerializationContext context) {
-    return new JsonPrimitive(ByteArrayUtil.toHex(data));
+  public byte[] read(JsonReader in) throws IOException {
+    return ByteArrayUtil.fromHex(in.nextString());
   }
 }
@@ -13,15 +13,30 @@ package org.eclipse.keyple.plugin.remotese.transport.json;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 
 /** Json Parser for Keyple DTO and Keyple DTO fields */
 public class JsonParser {
 
+  /*
+   * Gson instances are immutable and thread-safe, a single configured instance is shared by all
+   * callers
+   */
+  private static final Gson gson = createGson();
+
   public static Gson getGson() {
+    return gson;
+  }
+
+  private static Gson createGson() {
     final GsonBuilder gsonBuilder = new GsonBuilder();
     gsonBuilder.registerTypeAdapter(SeProtocol.class, new GsonSeProtocolTypeAdapter());
-    gsonBuilder.registerTypeAdapter(byte[].class, new HexTypeAdapter());
+    gsonBuilder.registerTypeAdapter(byte[].class, new HexTypeAdapter().nullSafe());
+    // streaming adapters for the objects exchanged with each APDU
+    gsonBuilder.registerTypeAdapter(ApduRequest.class, new ApduRequestTypeAdapter().nullSafe());
+    gsonBuilder.registerTypeAdapter(ApduResponse.class, new ApduResponseTypeAdapter().nullSafe());
     // gsonBuilder.setPrettyPrinting(); disable pretty printing for inline json
     return gsonBuilder.create();
   }
@@ -12,6 +12,7 @@
 package org.eclipse.keyple.plugin.remotese.transport.model;
 
 import com.google.gson.JsonObject;
+import org.eclipse.keyple.core.util.LazyLogArgument;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 
 /**
@@ -215,6 +216,21 @@ public final class KeypleDtoHelper {
     return JsonParser.getGson().toJson(keypleDto);
   }
 
+  /**
+   * Gets a log argument rendering the keypleDto as json only when the log message is output.
+   *
+   * @param keypleDto keypleDto to log
+   * @return a not null LazyLogArgument
+   */
+  public static LazyLogArgument toLazyJson(final KeypleDto keypleDto) {
+    return new LazyLogArgument() {
+      @Override
+      protected String format() {
+        return toJson(keypleDto);
+      }
+    };
+  }
+
   /**
    * Parse a json serialized keypleDto
    *
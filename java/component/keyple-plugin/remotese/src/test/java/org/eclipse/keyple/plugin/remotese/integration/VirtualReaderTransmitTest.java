@@ -11,17 +11,30 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.remotese.integration;
 
+import com.google.gson.JsonObject;
+import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.SeSelector;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
 import org.eclipse.keyple.core.seproxy.message.ChannelControl;
 import org.eclipse.keyple.core.seproxy.message.ProxyReader;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.plugin.remotese.nativese.method.RmTransmitSetExecutor;
 import org.eclipse.keyple.plugin.remotese.pluginse.VirtualReader;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
 import org.eclipse.keyple.plugin.remotese.rm.json.SampleFactory;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.eclipse.keyple.plugin.remotese.transport.model.DefaultTransportDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
 import org.eclipse.keyple.plugin.stub.StubReader;
 import org.eclipse.keyple.plugin.stub.StubReaderTest;
 import org.junit.*;
@@ -404,4 +417,144 @@ public class VirtualReaderTransmitTest extends VirtualReaderBaseTest {
       Assert.assertEquals(ex.getSeResponse().getApduResponses().size(), 3);
     }
   }
+
+  @Test
+  public void transmit_first_match_adaptive() throws InterruptedException {
+
+    // insert SE
+    nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+    // wait for card to be detected
+    Thread.sleep(500);
+
+    // the hoplink SE answers 6A82 to the selection of the first AID
+    List<SeRequest> seRequests = new ArrayList<SeRequest>();
+    seRequests.add(getAidSelectionRequest("A000000291A000000192"));
+    seRequests.add(getAidSelectionRequest("A000000291A000000191"));
+
+    // first selection: the cases are tried in their original order
+    List<SeResponse> seResponses =
+        ((ProxyReader) virtualReader)
+            .transmitSeRequests(
+                seRequests,
+                MultiSeRequestProcessing.FIRST_MATCH_ADAPTIVE,
+                ChannelControl.CLOSE_AFTER);
+    Assert.assertEquals(2, seResponses.size());
+    Assert.assertFalse(seResponses.get(0).getSelectionStatus().hasMatched());
+    Assert.assertTrue(seResponses.get(1).getSelectionStatus().hasMatched());
+
+    // next selection: the master sends the case that matched first, the response keeps its index
+    seResponses =
+        ((ProxyReader) virtualReader)
+            .transmitSeRequests(
+                seRequests,
+                MultiSeRequestProcessing.FIRST_MATCH_ADAPTIVE,
+                ChannelControl.CLOSE_AFTER);
+    Assert.assertEquals(2, seResponses.size());
+    Assert.assertNull(seResponses.get(0));
+    Assert.assertTrue(seResponses.get(1).getSelectionStatus().hasMatched());
+  }
+
+  @Test
+  public void transmit_unsupported_multi_se_request_processing() {
+
+    // transmit set request of a master using a mode unknown by the slave
+    JsonObject body = new JsonObject();
+    body.addProperty(
+        "seRequests",
+        new JsonSeMessageCodec().encodeSeRequests(StubReaderTest.getRequestIsoDepSetSample()));
+    body.addProperty("multiSeRequestProcessing", "UNKNOWN_MODE");
+    body.addProperty("channelControl", ChannelControl.KEEP_OPEN.name());
+
+    KeypleDto response =
+        new RmTransmitSetExecutor(slaveAPI)
+            .execute(
+                new DefaultTransportDto(
+                    KeypleDtoHelper.buildRequest(
+                        RemoteMethodName.READER_TRANSMIT_SET.getName(),
+                        body.toString(),
+                        null,
+                        NATIVE_READER_NAME,
+                        virtualReader.getName(),
+                        SERVER_NODE_ID,
+                        CLIENT_NODE_ID,
+                        "1")))
+            .getKeypleDTO();
+
+    // the slave replies with an exception instead of letting the master wait until the timeout
+    Assert.assertTrue(KeypleDtoHelper.containsException(response));
+    KeypleReaderIOException ex =
+        JsonParser.getGson().fromJson(response.getError(), KeypleReaderIOException.class);
+    Assert.assertTrue(ex.getMessage().contains("UNKNOWN_MODE"));
+  }
+
+  /*
+   * TRANSMIT SCRIPT
+   */
+
+  @Test
+  public void transmit_script() throws InterruptedException {
+
+    // insert SE
+    nativeReader.insertSe(StubReaderTest.partialSE());
+
+    // wait for card to be detected
+    Thread.sleep(500);
+
+    // init Request
+    List<SeRequest> seRequests = StubReaderTest.getPartialRequestList(3);
+
+    StubReaderTest.genericSelectSe(virtualReader);
+
+    // test: the whole script is executed by the slave in a single exchange
+    List<SeResponse> seResponses =
+        ((ProxyReader) virtualReader)
+            .transmitSeRequestScript(seRequests, ChannelControl.CLOSE_AFTER);
+
+    Assert.assertEquals(3, seResponses.size());
+    for (SeResponse seResponse : seResponses) {
+      Assert.assertEquals(4, seResponse.getApduResponses().size());
+      Assert.assertTrue(seResponse.getApduResponses().get(3).isSuccessful());
+    }
+  }
+
+  @Test
+  public void transmit_script_partial_response() throws InterruptedException {
+
+    // insert SE
+    nativeReader.insertSe(StubReaderTest.partialSE());
+
+    // wait for card to be detected
+    Thread.sleep(500);
+
+    // init Request
+    List<SeRequest> seRequests = StubReaderTest.getPartialRequestList(1);
+
+    StubReaderTest.genericSelectSe(virtualReader);
+
+    // test
+    try {
+      ((ProxyReader) virtualReader).transmitSeRequestScript(seRequests, ChannelControl.CLOSE_AFTER);
+      Assert.fail("a KeypleReaderIOException is expected");
+
+    } catch (KeypleReaderIOException ex) {
+      logger.info(
+          "KeypleReaderException was thrown as expected : {} {}",
+          ex.getSeResponses(),
+          ex.getSeResponse());
+      // the responses collected before the failure are sent back by the slave
+      Assert.assertEquals(2, ex.getSeResponses().size());
+      Assert.assertEquals(4, ex.getSeResponses().get(0).getApduResponses().size());
+      Assert.assertEquals(2, ex.getSeResponses().get(1).getApduResponses().size());
+    }
+  }
+
+  private static SeRequest getAidSelectionRequest(String aid) {
+    SeSelector seSelector =
+        SeSelector.builder()
+            .seProtocol(SeCommonProtocols.PROTOCOL_ISO14443_4)
+            .aidSelector(SeSelector.AidSelector.builder().aidToSelect(aid).build())
+            .build();
+    return new SeRequest(seSelector, new ArrayList<ApduRequest>());
+  }
 }
@@ -22,6 +22,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.plugin.remotese.CoreBaseTest;
 import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
@@ -94,6 +95,56 @@ public class RemoteSePluginImplTest extends CoreBaseTest {
     Assert.assertEquals(0, lock.getCount());
   }
 
+  /** Test that virtual readers are retrieved by their session id until they are removed */
+  @Test
+  public void getReaderBySessionId() {
+
+    DtoSender dtoSender = Mockito.mock(DtoSender.class);
+    doReturn("masterNode1").when(dtoSender).getNodeId();
+
+    RemoteSePluginImpl plugin =
+        new RemoteSePluginImpl(
+            new VirtualReaderSessionFactory(),
+            dtoSender,
+            10000,
+            "pluginName",
+            Executors.newCachedThreadPool());
+
+    VirtualReaderImpl reader1 =
+        (VirtualReaderImpl)
+            plugin.createVirtualReader(
+                "slaveNodeId",
+                "nativeReaderName1",
+                dtoSender,
+                TransmissionMode.CONTACTS,
+                false,
+                new HashMap<String, String>());
+    VirtualReaderImpl reader2 =
+        (VirtualReaderImpl)
+            plugin.createVirtualReader(
+                "slaveNodeId",
+                "nativeReaderName2",
+                dtoSender,
+                TransmissionMode.CONTACTLESS,
+                true,
+                new HashMap<String, String>());
+
+    String sessionId1 = reader1.getSession().getSessionId();
+    String sessionId2 = reader2.getSession().getSessionId();
+    Assert.assertSame(reader1, plugin.getReaderBySessionId(sessionId1));
+    Assert.assertSame(reader2, plugin.getReaderBySessionId(sessionId2));
+
+    plugin.removeVirtualReader("nativeReaderName1", "slaveNodeId");
+
+    Assert.assertSame(reader2, plugin.getReaderBySessionId(sessionId2));
+    try {
+      plugin.getReaderBySessionId(sessionId1);
+      Assert.fail("the removed reader should not be found");
+    } catch (KeypleReaderNotFoundException e) {
+      // expected
+    }
+  }
+
   public static void listReaders(
       final Map<String, SeReader> readers, final int N, final CountDownLatch lock) {
     Thread thread =
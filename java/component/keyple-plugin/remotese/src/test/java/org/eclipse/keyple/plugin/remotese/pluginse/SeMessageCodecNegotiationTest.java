@@ -0,0 +1,142 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.pluginse;
+
+import com.google.gson.JsonObject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.message.ChannelControl;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.plugin.remotese.integration.Integration;
+import org.eclipse.keyple.plugin.remotese.integration.VirtualReaderBaseTest;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinarySeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.model.DefaultTransportDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.stub.StubReader;
+import org.eclipse.keyple.plugin.stub.StubReaderTest;
+import org.junit.*;
+
+/** Test the negotiation of the SE message codec when a native reader is connected */
+public class SeMessageCodecNegotiationTest extends VirtualReaderBaseTest {
+
+  private StubReader nativeReader;
+
+  @Before
+  public void setUp() throws Exception {
+    Assert.assertEquals(0, SeProxyService.getInstance().getPlugins().size());
+
+    initMasterNSlave();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (nativeReader != null) {
+      disconnectReader(NATIVE_READER_NAME);
+    }
+
+    clearMasterNSlave();
+
+    unregisterPlugins();
+
+    Assert.assertEquals(0, SeProxyService.getInstance().getPlugins().size());
+  }
+
+  /** The slave offers the binary codec by default, it is accepted by the master */
+  @Test
+  public void slaveOffersBinary() throws Exception {
+    nativeReader =
+        connectStubReader(NATIVE_READER_NAME, CLIENT_NODE_ID, TransmissionMode.CONTACTLESS);
+
+    VirtualReaderImpl virtualReader = (VirtualReaderImpl) getVirtualReader();
+
+    Assert.assertEquals(BinarySeMessageCodec.NAME, virtualReader.getSeMessageCodec().getName());
+
+    // the SE messages are exchanged with the binary codec
+    nativeReader.insertSe(StubReaderTest.hoplinkSE());
+    Thread.sleep(500);
+    StubReaderTest.genericSelectSe(virtualReader);
+
+    SeResponse seResponse =
+        ((ProxyReader) virtualReader)
+            .transmitSeRequest(
+                StubReaderTest.getRequestIsoDepSetSample().get(0), ChannelControl.CLOSE_AFTER);
+
+    Assert.assertTrue(seResponse.getApduResponses().get(0).isSuccessful());
+  }
+
+  /** The binary codec offered by the slave is not accepted by the master */
+  @Test
+  public void masterAcceptsJsonOnly() throws Exception {
+    masterAPI.setSeMessageCodecs(new JsonSeMessageCodec());
+
+    nativeReader =
+        connectStubReader(NATIVE_READER_NAME, CLIENT_NODE_ID, TransmissionMode.CONTACTLESS);
+
+    VirtualReaderImpl virtualReader = (VirtualReaderImpl) getVirtualReader();
+
+    Assert.assertEquals(JsonSeMessageCodec.NAME, virtualReader.getSeMessageCodec().getName());
+  }
+
+  /** A slave not supporting the negotiation offers no codec, the json codec is used */
+  @Test
+  public void oldSlaveOffersNothing() throws Exception {
+    RemoteSePluginImpl plugin = (RemoteSePluginImpl) masterAPI.getPlugin();
+
+    // connection request of a slave not aware of the codecs
+    JsonObject body = new JsonObject();
+    body.addProperty("transmissionMode", TransmissionMode.CONTACTLESS.name());
+    body.addProperty("isObservable", false);
+    body.addProperty("options", "{}");
+
+    new RmConnectReaderExecutor(plugin, Integration.getFakeDtoNode())
+        .execute(
+            new DefaultTransportDto(
+                KeypleDtoHelper.buildRequest(
+                    RemoteMethodName.READER_CONNECT.getName(),
+                    body.toString(),
+                    null,
+                    NATIVE_READER_NAME,
+                    null,
+                    CLIENT_NODE_ID,
+                    SERVER_NODE_ID,
+                    "1")));
+
+    VirtualReaderImpl virtualReader = (VirtualReaderImpl) getVirtualReader();
+
+    Assert.assertEquals(JsonSeMessageCodec.NAME, virtualReader.getSeMessageCodec().getName());
+  }
+
+  @Test
+  public void negotiateSeMessageCodec() throws Exception {
+    RemoteSePluginImpl plugin = (RemoteSePluginImpl) masterAPI.getPlugin();
+
+    List<String> binaryFirst = Arrays.asList(BinarySeMessageCodec.NAME, JsonSeMessageCodec.NAME);
+    List<String> jsonFirst = Arrays.asList(JsonSeMessageCodec.NAME, BinarySeMessageCodec.NAME);
+
+    // the first offered codec accepted by the master is chosen
+    Assert.assertEquals(
+        BinarySeMessageCodec.NAME, plugin.negotiateSeMessageCodec(binaryFirst).getName());
+    Assert.assertEquals(
+        JsonSeMessageCodec.NAME, plugin.negotiateSeMessageCodec(jsonFirst).getName());
+    // unknown or missing codecs
+    Assert.assertEquals(
+        JsonSeMessageCodec.NAME,
+        plugin.negotiateSeMessageCodec(Collections.singletonList("unknown")).getName());
+    Assert.assertEquals(JsonSeMessageCodec.NAME, plugin.negotiateSeMessageCodec(null).getName());
+  }
+}
@@ -0,0 +1,247 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.rm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
+import org.eclipse.keyple.plugin.remotese.transport.model.DefaultTransportDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Unit Test of the multiplexed RemoteMethodTxEngine and of the remote method execution modes */
+public class RemoteMethodTxEngineTest {
+
+  private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  /** Two transactions in progress at the same time, responses received in the reverse order */
+  @Test
+  public void responsesAreDispatchedById() throws Exception {
+    RecordingDtoSender sender = new RecordingDtoSender();
+    final RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, 2000, executorService);
+
+    EchoTx firstTx = new EchoTx();
+    EchoTx secondTx = new EchoTx();
+    Future<String> first = executeInBackground(engine, firstTx);
+    Future<String> second = executeInBackground(engine, secondTx);
+
+    List<KeypleDto> requests = sender.waitForRequests(2);
+    Assert.assertEquals(2, engine.getPendingTxCount());
+
+    engine.onResponseDto(response(requests.get(1)));
+    engine.onResponseDto(response(requests.get(0)));
+
+    // each transaction gets the response carrying its own id
+    Assert.assertEquals(firstTx.getId(), first.get());
+    Assert.assertEquals(secondTx.getId(), second.get());
+    Assert.assertEquals(0, engine.getPendingTxCount());
+  }
+
+  /** A transaction that timed out is removed, its late response is ignored */
+  @Test
+  public void lateResponseIsIgnored() throws Exception {
+    RecordingDtoSender sender = new RecordingDtoSender();
+    RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, 100, executorService);
+
+    EchoTx tx = new EchoTx();
+    try {
+      tx.execute(engine);
+      Assert.fail("a timeout exception is expected");
+    } catch (KeypleRemoteException e) {
+      // expected
+    }
+    Assert.assertEquals(0, engine.getPendingTxCount());
+
+    TransportDto out = engine.onResponseDto(response(sender.waitForRequests(1).get(0)));
+
+    Assert.assertTrue(KeypleDtoHelper.isNoResponse(out.getKeypleDTO()));
+  }
+
+  /** Asynchronous call: the result is provided to the callback, no thread waits for it */
+  @Test
+  public void executeAsync_response() throws Exception {
+    RecordingDtoSender sender = new RecordingDtoSender();
+    RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, 2000, executorService);
+    RecordingCallback callback = new RecordingCallback();
+
+    EchoTx tx = new EchoTx();
+    tx.executeAsync(engine, callback);
+    engine.onResponseDto(response(sender.waitForRequests(1).get(0)));
+
+    Assert.assertTrue(callback.latch.await(1, TimeUnit.SECONDS));
+    Assert.assertEquals(tx.getId(), callback.response);
+    Assert.assertNull(callback.exception);
+    Assert.assertEquals(0, engine.getPendingTxCount());
+  }
+
+  /** Two asynchronous calls in progress, responses received in the reverse order */
+  @Test
+  public void executeAsync_responsesAreDispatchedById() throws Exception {
+    RecordingDtoSender sender = new RecordingDtoSender();
+    RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, 2000, executorService);
+    RecordingCallback firstCallback = new RecordingCallback();
+    RecordingCallback secondCallback = new RecordingCallback();
+
+    EchoTx firstTx = new EchoTx();
+    EchoTx secondTx = new EchoTx();
+    firstTx.executeAsync(engine, firstCallback);
+    secondTx.executeAsync(engine, secondCallback);
+
+    List<KeypleDto> requests = sender.waitForRequests(2);
+    Assert.assertEquals(2, engine.getPendingTxCount());
+
+    engine.onResponseDto(response(requests.get(1)));
+    engine.onResponseDto(response(requests.get(0)));
+
+    Assert.assertTrue(firstCallback.latch.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue(secondCallback.latch.await(1, TimeUnit.SECONDS));
+    Assert.assertEquals(firstTx.getId(), firstCallback.response);
+    Assert.assertEquals(secondTx.getId(), secondCallback.response);
+    Assert.assertEquals(0, engine.getPendingTxCount());
+  }
+
+  /** Asynchronous call without response: the callback receives a timeout exception */
+  @Test
+  public void executeAsync_timeout() throws Exception {
+    RecordingDtoSender sender = new RecordingDtoSender();
+    RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, 100, executorService);
+    RecordingCallback callback = new RecordingCallback();
+
+    new EchoTx().executeAsync(engine, callback);
+
+    Assert.assertTrue(callback.latch.await(1, TimeUnit.SECONDS));
+    Assert.assertNull(callback.response);
+    Assert.assertNotNull(callback.exception);
+    Assert.assertEquals(0, engine.getPendingTxCount());
+
+    // the late response is ignored and the callback is not invoked again
+    engine.onResponseDto(response(sender.waitForRequests(1).get(0)));
+    Assert.assertNull(callback.response);
+  }
+
+  /*
+   * Helpers
+   */
+
+  /** Blocking execution of the transaction, in a thread of the executor service */
+  private Future<String> executeInBackground(final RemoteMethodTxEngine engine, final EchoTx tx) {
+    return executorService.submit(
+        new Callable<String>() {
+          @Override
+          public String call() {
+            return tx.execute(engine);
+          }
+        });
+  }
+
+  private static TransportDto response(KeypleDto request) {
+    return new DefaultTransportDto(
+        KeypleDtoHelper.buildResponse(
+            request.getAction(),
+            request.getId(),
+            request.getSessionId(),
+            request.getNativeReaderName(),
+            request.getVirtualReaderName(),
+            request.getTargetNodeId(),
+            request.getRequesterNodeId(),
+            request.getId()));
+  }
+
+  /** Remote method whose response body is the request id */
+  private static class EchoTx extends AbstractRemoteMethodTx<String> {
+
+    EchoTx() {
+      super("sessionId", "nativeReaderName", "virtualReaderName", "slaveNodeId", "masterNodeId");
+    }
+
+    @Override
+    protected String parseResponse(KeypleDto keypleDto) {
+      return keypleDto.getBody();
+    }
+
+    @Override
+    public RemoteMethodName getMethodName() {
+      return RemoteMethodName.READER_TRANSMIT;
+    }
+
+    @Override
+    protected KeypleDto dto() {
+      return KeypleDtoHelper.buildRequest(
+          getMethodName().getName(),
+          "{}",
+          sessionId,
+          nativeReaderName,
+          virtualReaderName,
+          requesterNodeId,
+          targetNodeId,
+          id);
+    }
+  }
+
+  /** Callback keeping the result of an asynchronous call */
+  private static class RecordingCallback implements IRemoteMethodTxCallback<String> {
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private volatile String response;
+    private volatile KeypleRemoteException exception;
+
+    @Override
+    public void get(String response, KeypleRemoteException exception) {
+      this.response = response;
+      this.exception = exception;
+      latch.countDown();
+    }
+  }
+
+  /** DtoSender keeping the sent requests */
+  private static class RecordingDtoSender implements DtoSender {
+    private final List<KeypleDto> requests = new ArrayList<KeypleDto>();
+
+    @Override
+    public void sendDTO(TransportDto message) {
+      sendDTO(message.getKeypleDTO());
+    }
+
+    @Override
+    public synchronized void sendDTO(KeypleDto message) {
+      requests.add(message);
+      notifyAll();
+    }
+
+    @Override
+    public String getNodeId() {
+      return "masterNodeId";
+    }
+
+    synchronized List<KeypleDto> waitForRequests(int count) throws InterruptedException {
+      while (requests.size() < count) {
+        wait(1000);
+      }
+      return new ArrayList<KeypleDto>(requests);
+    }
+  }
+}
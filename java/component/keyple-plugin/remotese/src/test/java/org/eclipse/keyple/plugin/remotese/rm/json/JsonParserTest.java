@@ -12,17 +12,22 @@
 package org.eclipse.keyple.plugin.remotese.rm.json;
 
 import com.google.gson.Gson;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsResponse;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -95,6 +100,38 @@ public class JsonParserTest {
     testSerializeDeserializeObj(readerEvent, ReaderEvent.class);
   }
 
+  @Test
+  public void testApduRequest() {
+    Set<Integer> successfulStatusCodes = new HashSet<Integer>();
+    successfulStatusCodes.add(0x6283);
+    ApduRequest apduRequest =
+        new ApduRequest("name", ByteArrayUtil.fromHex("00B2014400"), true, successfulStatusCodes);
+    ApduRequest deserialized =
+        (ApduRequest) testSerializeDeserializeObj(apduRequest, ApduRequest.class);
+    Assert.assertArrayEquals(apduRequest.getBytes(), deserialized.getBytes());
+    Assert.assertTrue(deserialized.isCase4());
+    Assert.assertEquals(successfulStatusCodes, deserialized.getSuccessfulStatusCodes());
+    Assert.assertEquals("name", deserialized.getName());
+  }
+
+  @Test
+  public void testApduResponse() {
+    // successful thanks to an additional successful status code
+    Set<Integer> successfulStatusCodes = new HashSet<Integer>();
+    successfulStatusCodes.add(0x6283);
+    ApduResponse apduResponse =
+        new ApduResponse(ByteArrayUtil.fromHex("11226283"), successfulStatusCodes);
+    ApduResponse deserialized =
+        (ApduResponse) testSerializeDeserializeObj(apduResponse, ApduResponse.class);
+    Assert.assertEquals(apduResponse, deserialized);
+    Assert.assertTrue(deserialized.isSuccessful());
+  }
+
+  @Test
+  public void testSharedGson() {
+    Assert.assertSame(JsonParser.getGson(), JsonParser.getGson());
+  }
+
   /*
    * Utility Method
    */
@@ -0,0 +1,114 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.rm.json.SampleFactory;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinarySeMessageCodecTest {
+
+  private final SeMessageCodec binaryCodec = new BinarySeMessageCodec();
+  private final SeMessageCodec jsonCodec = new JsonSeMessageCodec();
+
+  @Test
+  public void testSeRequest() {
+    SeRequest seRequest = SampleFactory.getASeRequest_ISO14443_4();
+
+    SeRequest decoded = binaryCodec.decodeSeRequest(binaryCodec.encodeSeRequest(seRequest));
+
+    Assert.assertEquals(toJson(seRequest), toJson(decoded));
+  }
+
+  @Test
+  public void testSeRequests() {
+    List<SeRequest> seRequests = SampleFactory.getCompleteRequestList();
+
+    List<SeRequest> decoded =
+        binaryCodec.decodeSeRequests(binaryCodec.encodeSeRequests(seRequests));
+
+    Assert.assertEquals(toJson(seRequests), toJson(decoded));
+  }
+
+  @Test
+  public void testSeResponses() {
+    List<SeResponse> seResponses = SampleFactory.getCompleteResponseSet();
+
+    String encoded = binaryCodec.encodeSeResponses(seResponses);
+
+    Assert.assertEquals(seResponses, binaryCodec.decodeSeResponses(encoded));
+    Assert.assertTrue(encoded.length() < jsonCodec.encodeSeResponses(seResponses).length());
+  }
+
+  @Test
+  public void testNullValues() {
+    List<SeResponse> seResponses = new ArrayList<SeResponse>();
+    seResponses.add(null);
+    seResponses.add(new SeResponse(true, false, null, null));
+
+    Assert.assertNull(binaryCodec.decodeSeRequests(binaryCodec.encodeSeRequests(null)));
+    Assert.assertEquals(
+        toJson(seResponses),
+        toJson(binaryCodec.decodeSeResponses(binaryCodec.encodeSeResponses(seResponses))));
+  }
+
+  /** The successful status of an APDU response is kept, even with additional status codes */
+  @Test
+  public void testApduSuccessfulStatus() {
+    List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+    apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex("6283"), null));
+    apduResponses.add(
+        new ApduResponse(ByteArrayUtil.fromHex("6283"), Collections.singleton(0x6283)));
+    SeResponse seResponse = new SeResponse(true, true, null, apduResponses);
+
+    SeResponse decoded = binaryCodec.decodeSeResponse(binaryCodec.encodeSeResponse(seResponse));
+
+    Assert.assertFalse(decoded.getApduResponses().get(0).isSuccessful());
+    Assert.assertTrue(decoded.getApduResponses().get(1).isSuccessful());
+  }
+
+  /** APDU bytes of all lengths are transmitted as is */
+  @Test
+  public void testApduLengths() {
+    for (int length = 0; length < 300; length++) {
+      List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+      byte[] apdu = new byte[length];
+      for (int i = 0; i < length; i++) {
+        apdu[i] = (byte) i;
+      }
+      apduRequests.add(new ApduRequest(apdu, false));
+
+      SeRequest decoded =
+          binaryCodec.decodeSeRequest(binaryCodec.encodeSeRequest(new SeRequest(apduRequests)));
+
+      Assert.assertArrayEquals(apdu, decoded.getApduRequests().get(0).getBytes());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedFormatVersion() {
+    binaryCodec.decodeSeRequest("AgA=");
+  }
+
+  private static String toJson(Object object) {
+    return JsonParser.getGson().toJson(object);
+  }
+}
@@ -13,8 +13,8 @@ package org.eclipse.keyple.plugin.stub;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
@@ -22,6 +22,7 @@ import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableLocalReader;
 import org.eclipse.keyple.core.seproxy.plugin.reader.AbstractObservableState;
 import org.eclipse.keyple.core.seproxy.plugin.reader.ObservableReaderStateService;
+import org.eclipse.keyple.core.seproxy.plugin.reader.ReaderMonitoringScheduler;
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartInsertionMonitoringJob;
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartInsertionReader;
 import org.eclipse.keyple.core.seproxy.plugin.reader.SmartRemovalMonitoringJob;
@@ -32,7 +33,6 @@ import org.eclipse.keyple.core.seproxy.plugin.reader.WaitForSeRemoval;
 import org.eclipse.keyple.core.seproxy.plugin.reader.WaitForStartDetect;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
-import org.eclipse.keyple.core.util.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +56,10 @@ class StubReaderImpl extends AbstractObservableLocalReader
   private final AtomicBoolean loopWaitSe = new AtomicBoolean();
   private final AtomicBoolean loopWaitSeRemoval = new AtomicBoolean();
 
+  // protocol rules of the protocol settings, compiled when the settings are defined
+  private final Map<SeProtocol, Pattern> protocolPatterns =
+      new ConcurrentHashMap<SeProtocol, Pattern>();
+
   /**
    * Do not use directly
    *
@@ -64,9 +68,8 @@ class StubReaderImpl extends AbstractObservableLocalReader
   StubReaderImpl(String pluginName, String readerName) {
     super(pluginName, readerName);
 
-    // create a executor service with one thread whose name is customized
-    executorService =
-        Executors.newSingleThreadExecutor(new NamedThreadFactory("MonitoringThread-" + readerName));
+    // use the executor service shared by all readers
+    executorService = ReaderMonitoringScheduler.getDefault().getExecutorService();
 
     stateService = initStateService();
   }
@@ -119,6 +122,30 @@ class StubReaderImpl extends AbstractObservableLocalReader
     return se.processApdu(apduIn);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The protocol rule is compiled once here.
+   */
+  @Override
+  public void addSeProtocolSetting(SeProtocol seProtocol, String protocolRule) {
+    super.addSeProtocolSetting(seProtocol, protocolRule);
+    protocolPatterns.put(seProtocol, Pattern.compile(protocolRule));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The protocol rules are compiled once here.
+   */
+  @Override
+  public void setSeProtocolSetting(Map<SeProtocol, String> protocolSetting) {
+    super.setSeProtocolSetting(protocolSetting);
+    for (Map.Entry<SeProtocol, String> entry : protocolSetting.entrySet()) {
+      protocolPatterns.put(entry.getKey(), Pattern.compile(entry.getValue()));
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   protected boolean protocolFlagMatches(SeProtocol protocolFlag) {
@@ -132,13 +159,12 @@ class StubReaderImpl extends AbstractObservableLocalReader
         openPhysicalChannel();
       }
       // the request will be executed only if the protocol match the requestElement
-      String selectionMask = getProtocolsMap().get(protocolFlag);
+      Pattern selectionMask = protocolPatterns.get(protocolFlag);
       if (selectionMask == null) {
         throw new KeypleReaderIOException("Target selector mask not found!", null);
       }
-      Pattern p = Pattern.compile(selectionMask);
       String protocol = se.getSeProcotol();
-      if (!p.matcher(protocol).matches()) {
+      if (!selectionMask.matcher(protocol).matches()) {
         logger.trace(
             "[{}] protocolFlagMatches => unmatching SE. PROTOCOLFLAG = {}",
             this.getName(),
@@ -197,6 +223,8 @@ class StubReaderImpl extends AbstractObservableLocalReader
     }
     if (_se != null) {
       se = _se;
+      // wake up the monitoring thread waiting for the insertion
+      notifyAll();
     }
   }
 
@@ -204,6 +232,8 @@ class StubReaderImpl extends AbstractObservableLocalReader
     logger.debug("Remove SE {}", se != null ? se : "none");
 
     se = null;
+    // wake up the monitoring thread waiting for the removal
+    notifyAll();
   }
 
   public StubSecureElement getSe() {
@@ -213,39 +243,47 @@ class StubReaderImpl extends AbstractObservableLocalReader
   /**
    * This method is called by the monitoring thread to check SE presence
    *
-   * @return true if the SE is present
+   * <p>The thread waits on the reader monitor until it is notified by insertSe or
+   * stopWaitForCard.
+   *
+   * @return true if the SE is present, false if the wait has been stopped or interrupted
    */
   @Override
-  public boolean waitForCardPresent() {
+  public synchronized boolean waitForCardPresent() {
     loopWaitSe.set(true);
     while (loopWaitSe.get()) {
       if (checkSePresence()) {
         return true;
       }
       try {
-        Thread.sleep(10);
+        wait();
       } catch (InterruptedException e) {
-        logger.debug("Sleep was interrupted");
+        logger.debug("Wait was interrupted");
         // Restore interrupted state...
         Thread.currentThread().interrupt();
+        return false;
       }
     }
     return false;
   }
 
   @Override
-  public void stopWaitForCard() {
+  public synchronized void stopWaitForCard() {
     loopWaitSe.set(false);
+    notifyAll();
   }
 
   /**
    * Defined in the {@link SmartRemovalReader} interface, this method is called by the monitoring
    * thread to check SE absence
    *
-   * @return true if the SE is absent
+   * <p>The thread waits on the reader monitor until it is notified by removeSe or
+   * stopWaitForCardRemoval.
+   *
+   * @return true if the SE is absent, false if the wait has been stopped or interrupted
    */
   @Override
-  public boolean waitForCardAbsentNative() {
+  public synchronized boolean waitForCardAbsentNative() {
     loopWaitSeRemoval.set(true);
     while (loopWaitSeRemoval.get()) {
       if (!checkSePresence()) {
@@ -253,19 +291,21 @@ class StubReaderImpl extends AbstractObservableLocalReader
         return true;
       }
       try {
-        Thread.sleep(10);
+        wait();
       } catch (InterruptedException e) {
-        logger.debug("Sleep was interrupted");
+        logger.debug("Wait was interrupted");
         // Restore interrupted state...
         Thread.currentThread().interrupt();
+        return false;
       }
     }
     return false;
   }
 
   @Override
-  public void stopWaitForCardRemoval() {
+  public synchronized void stopWaitForCardRemoval() {
     loopWaitSeRemoval.set(false);
+    notifyAll();
   }
 
   @Override
@@ -11,10 +11,13 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.stub;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.core.util.HexRegexMatcher;
 
 public abstract class StubSecureElement {
 
@@ -42,32 +45,64 @@ public abstract class StubSecureElement {
   /** @return SE protocol supported by the SE */
   public abstract String getSeProcotol();
 
-  Map<String, String> hexCommands = new HashMap<String, String>();
+  /* simulated commands, indexed by their bytes, with their decoded responses */
+  private final Map<ByteBuffer, byte[]> commands = new HashMap<ByteBuffer, byte[]>();
+
+  /* simulated commands defined by a pattern, by pattern in the insertion order */
+  private final Map<String, CommandPattern> commandPatterns =
+      new LinkedHashMap<String, CommandPattern>();
 
   /**
    * Add more simulated commands to the Stub SE
    *
    * @param command : hexadecimal command to react to
    * @param response : hexadecimal response to be sent in reaction to command
+   * @throws IllegalArgumentException if the command or the response is null or has an odd number
+   *     of hexadecimal digits
    */
   public void addHexCommand(String command, String response) {
     if (command == null || response == null) {
       throw new IllegalArgumentException("Command and Response should not be null");
     }
-    // add commands without space
-    hexCommands.put(command.replace(" ", ""), response.replace(" ", ""));
+    // the command and the response are decoded once here
+    commands.put(ByteBuffer.wrap(ByteArrayUtil.fromHex(command)), ByteArrayUtil.fromHex(response));
+  }
+
+  /**
+   * Add a simulated command whose variable fields (e.g. a challenge) are not known in advance
+   *
+   * <p>The command is defined by an uppercase hexadecimal regular expression in which each '.'
+   * stands for any hexadecimal digit (e.g. "0088 0000 08 ................" for any 8-byte
+   * challenge). The commands defined with {@link #addHexCommand(String, String)} take precedence,
+   * the patterns are then tried in the order in which they were added.
+   *
+   * @param commandPattern : hexadecimal regular expression matching the commands to react to
+   * @param response : hexadecimal response to be sent in reaction to the matching commands
+   * @throws IllegalArgumentException if the command pattern or the response is null or if the
+   *     response has an odd number of hexadecimal digits
+   */
+  public void addHexCommandPattern(String commandPattern, String response) {
+    if (commandPattern == null || response == null) {
+      throw new IllegalArgumentException("Command pattern and Response should not be null");
+    }
+    String regex = commandPattern.replace(" ", "");
+    commandPatterns.put(
+        regex, new CommandPattern(HexRegexMatcher.compile(regex), ByteArrayUtil.fromHex(response)));
   }
 
   /**
    * Remove simulated commands from the Stub SE
    *
-   * @param command : hexadecimal command to be removed
+   * @param command : hexadecimal command or command pattern to be removed
    */
   public void removeHexCommand(String command) {
     if (command == null) {
       throw new IllegalArgumentException("Command should not be null");
     }
-    hexCommands.remove(command.trim());
+    String hexCommand = command.replace(" ", "");
+    if (commandPatterns.remove(hexCommand) == null) {
+      commands.remove(ByteBuffer.wrap(ByteArrayUtil.fromHex(hexCommand)));
+    }
   }
 
   /**
@@ -83,15 +118,29 @@ public abstract class StubSecureElement {
       return null;
     }
 
-    // convert apduIn to hexa
-    String hexApdu = ByteArrayUtil.toHex(apduIn);
-
-    // return matching hexa response if found
-    if (hexCommands.containsKey(hexApdu)) {
-      return ByteArrayUtil.fromHex(hexCommands.get(hexApdu));
+    // return matching response if found, the caller gets its own copy
+    byte[] response = commands.get(ByteBuffer.wrap(apduIn));
+    if (response != null) {
+      return response.clone();
+    }
+    for (CommandPattern commandPattern : commandPatterns.values()) {
+      if (commandPattern.matcher.matches(apduIn)) {
+        return commandPattern.response.clone();
+      }
     }
 
     // throw a KeypleReaderIOException if not found
     throw new KeypleReaderIOException("No response available for this request.");
   }
+
+  /** Simulated command defined by a pattern */
+  private static final class CommandPattern {
+    private final HexRegexMatcher matcher;
+    private final byte[] response;
+
+    private CommandPattern(HexRegexMatcher matcher, byte[] response) {
+      this.matcher = matcher;
+      this.response = response;
+    }
+  }
 }
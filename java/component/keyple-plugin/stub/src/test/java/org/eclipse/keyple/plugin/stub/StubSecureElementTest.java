@@ -0,0 +1,100 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.stub;
+
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderIOException;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StubSecureElementTest {
+
+  private StubSecureElement se;
+
+  @Before
+  public void setUp() {
+    se =
+        new StubSecureElement() {
+          @Override
+          public byte[] getATR() {
+            return ByteArrayUtil.fromHex("3B8880010000000000718100F9");
+          }
+
+          @Override
+          public String getSeProcotol() {
+            return "PROTOCOL_ISO14443_4";
+          }
+        };
+  }
+
+  @Test
+  public void processApdu_command() {
+    se.addHexCommand("00 B2 01 44 00", "0011 9000h");
+
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex("00119000"), se.processApdu(ByteArrayUtil.fromHex("00B2014400")));
+  }
+
+  @Test
+  public void processApdu_responseIsACopy() {
+    se.addHexCommand("00B2014400", "00119000");
+
+    byte[] response = se.processApdu(ByteArrayUtil.fromHex("00B2014400"));
+    response[0] = (byte) 0xFF;
+
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex("00119000"), se.processApdu(ByteArrayUtil.fromHex("00B2014400")));
+  }
+
+  @Test
+  public void processApdu_commandPattern() {
+    se.addHexCommandPattern("008A 0B41 04 ........ 00", "01029000");
+    se.addHexCommand("008A0B4104C1C2C3C400", "03049000");
+
+    // the exact command takes precedence
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex("03049000"),
+        se.processApdu(ByteArrayUtil.fromHex("008A0B4104C1C2C3C400")));
+    Assert.assertArrayEquals(
+        ByteArrayUtil.fromHex("01029000"),
+        se.processApdu(ByteArrayUtil.fromHex("008A0B4104A1A2A3A400")));
+  }
+
+  @Test(expected = KeypleReaderIOException.class)
+  public void processApdu_commandPattern_lengthMismatch() {
+    se.addHexCommandPattern("008A0B4104........00", "01029000");
+
+    se.processApdu(ByteArrayUtil.fromHex("008A0B4104C1C2C3C4"));
+  }
+
+  @Test(expected = KeypleReaderIOException.class)
+  public void processApdu_removedCommand() {
+    se.addHexCommand("00B2014400", "00119000");
+    se.removeHexCommand("00 B2 01 44 00");
+
+    se.processApdu(ByteArrayUtil.fromHex("00B2014400"));
+  }
+
+  @Test(expected = KeypleReaderIOException.class)
+  public void processApdu_removedCommandPattern() {
+    se.addHexCommandPattern("008A0B4104........00", "01029000");
+    se.removeHexCommand("008A0B4104........00");
+
+    se.processApdu(ByteArrayUtil.fromHex("008A0B4104C1C2C3C400"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addHexCommand_null() {
+    se.addHexCommand(null, "9000");
+  }
+}
@@ -0,0 +1,93 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.command.PoClass;
+import org.eclipse.keyple.calypso.command.po.builder.ReadRecordsCmdBuild;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** APDU build and parse: Read Records command builder and response parser */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ApduBenchmark {
+
+  private final byte[] oneRecordResponse =
+      ByteArrayUtil.fromHex("00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000");
+  private final byte[] multipleRecordsResponse =
+      ByteArrayUtil.fromHex(
+          "011D00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC"
+              + "021D00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC"
+              + "031D00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000");
+
+  private final ReadRecordsCmdBuild oneRecordBuilder =
+      new ReadRecordsCmdBuild(
+          PoClass.ISO,
+          CalypsoStubEnvironment.SFI_EVENT_LOG,
+          1,
+          ReadRecordsCmdBuild.ReadMode.ONE_RECORD,
+          0);
+  private final ReadRecordsCmdBuild multipleRecordsBuilder =
+      new ReadRecordsCmdBuild(
+          PoClass.ISO,
+          CalypsoStubEnvironment.SFI_EVENT_LOG,
+          1,
+          ReadRecordsCmdBuild.ReadMode.MULTIPLE_RECORD,
+          0);
+
+  @Benchmark
+  public ApduRequest buildReadRecords() {
+    return new ReadRecordsCmdBuild(
+            PoClass.ISO,
+            CalypsoStubEnvironment.SFI_EVENT_LOG,
+            1,
+            ReadRecordsCmdBuild.ReadMode.ONE_RECORD,
+            0)
+        .getApduRequest();
+  }
+
+  @Benchmark
+  public SortedMap<Integer, byte[]> parseReadRecords_oneRecord() {
+    return oneRecordBuilder
+        .createResponseParser(new ApduResponse(oneRecordResponse, null))
+        .getRecords();
+  }
+
+  @Benchmark
+  public SortedMap<Integer, byte[]> parseReadRecords_multipleRecords() {
+    return multipleRecordsBuilder
+        .createResponseParser(new ApduResponse(multipleRecordsResponse, null))
+        .getRecords();
+  }
+
+  @Benchmark
+  public int apduResponse_statusCode() {
+    ApduResponse apduResponse = new ApduResponse(oneRecordResponse, null);
+    return apduResponse.getStatusCode() + apduResponse.getDataOutLength();
+  }
+}
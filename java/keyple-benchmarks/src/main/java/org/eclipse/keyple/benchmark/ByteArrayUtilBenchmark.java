@@ -0,0 +1,54 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Hex conversions of a 29-byte record, as done for each logged or stubbed APDU */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ByteArrayUtilBenchmark {
+
+  private final byte[] record = CalypsoStubEnvironment.EVENT_LOG_DATA;
+  private final String recordHex = ByteArrayUtil.toHex(record);
+  private final String spacedRecordHex =
+      "00112233 44556677 8899AABB CCDDEEFF 00112233 44556677 8899AABB CCh";
+
+  @Benchmark
+  public String toHex() {
+    return ByteArrayUtil.toHex(record);
+  }
+
+  @Benchmark
+  public byte[] fromHex() {
+    return ByteArrayUtil.fromHex(recordHex);
+  }
+
+  @Benchmark
+  public byte[] fromHex_spaced() {
+    return ByteArrayUtil.fromHex(spacedRecordHex);
+  }
+}
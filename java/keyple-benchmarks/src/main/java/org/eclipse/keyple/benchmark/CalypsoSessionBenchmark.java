@@ -0,0 +1,56 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.transaction.CalypsoPo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full Calypso transaction on stub SEs: PO selection then debit secure session (opening with
+ * reading, append record, closing with the release of the PO channel)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalypsoSessionBenchmark {
+
+  private CalypsoStubEnvironment environment;
+
+  @Setup
+  public void setUp() {
+    environment = new CalypsoStubEnvironment("CalypsoSessionBenchmark");
+  }
+
+  @TearDown
+  public void tearDown() {
+    environment.close();
+  }
+
+  @Benchmark
+  public CalypsoPo selectionAndSession() {
+    return environment.processSession(environment.selectPo(environment.preparePoSelection()));
+  }
+}
@@ -0,0 +1,158 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import org.eclipse.keyple.benchmark.stub.StubCalypsoClassicPo;
+import org.eclipse.keyple.benchmark.stub.StubCalypsoClassicSam;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
+import org.eclipse.keyple.calypso.transaction.CalypsoPo;
+import org.eclipse.keyple.calypso.transaction.CalypsoSam;
+import org.eclipse.keyple.calypso.transaction.PoSecuritySettings;
+import org.eclipse.keyple.calypso.transaction.PoSelectionRequest;
+import org.eclipse.keyple.calypso.transaction.PoSelector;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.PoTransaction.SessionSetting.AccessLevel;
+import org.eclipse.keyple.calypso.transaction.SamSelectionRequest;
+import org.eclipse.keyple.calypso.transaction.SamSelector;
+import org.eclipse.keyple.core.selection.SeResource;
+import org.eclipse.keyple.core.selection.SeSelection;
+import org.eclipse.keyple.core.selection.SelectionsResult;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.stub.StubPlugin;
+import org.eclipse.keyple.plugin.stub.StubPluginFactory;
+import org.eclipse.keyple.plugin.stub.StubProtocolSetting;
+import org.eclipse.keyple.plugin.stub.StubReader;
+
+/**
+ * Stub plugin environment shared by the benchmarks: a PO reader holding a CalypsoClassic-like PO
+ * and a SAM reader holding a C1 SAM, already selected.
+ *
+ * <p>The environment registers its own stub plugin in the {@link SeProxyService}, {@link #close()}
+ * must be called to unregister it.
+ */
+public final class CalypsoStubEnvironment {
+
+  public static final String AID = "315449432E49434131";
+  public static final byte SFI_EVENT_LOG = (byte) 0x08;
+  public static final byte RECORD_NUMBER_1 = 1;
+  public static final byte[] EVENT_LOG_DATA =
+      ByteArrayUtil.fromHex("00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC");
+
+  private static final byte KIF_DEBIT = (byte) 0x30;
+  private static final byte KEY_RECORD_NUMBER_DEBIT = (byte) 0x03;
+
+  private final String pluginName;
+  private final StubReader poReader;
+  private final StubReader samReader;
+  private final PoSecuritySettings poSecuritySettings;
+
+  /**
+   * Registers the stub plugin, plugs the readers, inserts the SEs and selects the SAM.
+   *
+   * @param pluginName the name of the stub plugin, unique in the JVM
+   */
+  public CalypsoStubEnvironment(String pluginName) {
+    this.pluginName = pluginName;
+    StubPlugin stubPlugin =
+        (StubPlugin) SeProxyService.getInstance().registerPlugin(new StubPluginFactory(pluginName));
+    stubPlugin.plugStubReader("poReader", true);
+    stubPlugin.plugStubReader("samReader", true);
+    poReader = (StubReader) stubPlugin.getReader("poReader");
+    samReader = (StubReader) stubPlugin.getReader("samReader");
+
+    poReader.addSeProtocolSetting(
+        SeCommonProtocols.PROTOCOL_ISO14443_4,
+        StubProtocolSetting.STUB_PROTOCOL_SETTING.get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+    samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3, ".*");
+
+    poReader.insertSe(new StubCalypsoClassicPo());
+    samReader.insertSe(new StubCalypsoClassicSam());
+
+    poSecuritySettings =
+        new PoSecuritySettings.PoSecuritySettingsBuilder(selectSam())
+            .sessionDefaultKif(AccessLevel.SESSION_LVL_DEBIT, KIF_DEBIT)
+            .sessionDefaultKeyRecordNumber(AccessLevel.SESSION_LVL_DEBIT, KEY_RECORD_NUMBER_DEBIT)
+            .build();
+  }
+
+  private SeResource<CalypsoSam> selectSam() {
+    SeSelection samSelection = new SeSelection();
+    samSelection.prepareSelection(
+        new SamSelectionRequest(
+            SamSelector.builder().samRevision(SamRevision.C1).serialNumber(".*").build()));
+    SelectionsResult selectionsResult = samSelection.processExplicitSelection(samReader);
+    if (!selectionsResult.hasActiveSelection()) {
+      throw new IllegalStateException("Unable to select the stub SAM");
+    }
+    return new SeResource<CalypsoSam>(
+        samReader, (CalypsoSam) selectionsResult.getActiveMatchingSe());
+  }
+
+  /**
+   * Prepares the selection of the Calypso application of the PO.
+   *
+   * @return a selection ready to be processed
+   */
+  public SeSelection preparePoSelection() {
+    SeSelection seSelection = new SeSelection();
+    seSelection.prepareSelection(
+        new PoSelectionRequest(
+            PoSelector.builder()
+                .seProtocol(SeCommonProtocols.PROTOCOL_ISO14443_4)
+                .aidSelector(SeSelector.AidSelector.builder().aidToSelect(AID).build())
+                .invalidatedPo(PoSelector.InvalidatedPo.REJECT)
+                .build()));
+    return seSelection;
+  }
+
+  /**
+   * Processes the provided selection on the PO reader.
+   *
+   * @param seSelection the prepared selection
+   * @return the selected PO
+   */
+  public CalypsoPo selectPo(SeSelection seSelection) {
+    SelectionsResult selectionsResult = seSelection.processExplicitSelection(poReader);
+    if (!selectionsResult.hasActiveSelection()) {
+      throw new IllegalStateException("Unable to select the stub PO");
+    }
+    return (CalypsoPo) selectionsResult.getActiveMatchingSe();
+  }
+
+  /**
+   * Runs a debit secure session on the selected PO: the event log is read at the session opening, a
+   * new event is appended and the session is closed with the release of the PO channel.
+   *
+   * @param calypsoPo the selected PO
+   * @return the PO updated by the session
+   */
+  public CalypsoPo processSession(CalypsoPo calypsoPo) {
+    PoTransaction poTransaction =
+        new PoTransaction(new SeResource<CalypsoPo>(poReader, calypsoPo), poSecuritySettings);
+    poTransaction.prepareReadRecordFile(SFI_EVENT_LOG, RECORD_NUMBER_1);
+    poTransaction.processOpening(AccessLevel.SESSION_LVL_DEBIT);
+    poTransaction.prepareAppendRecord(SFI_EVENT_LOG, EVENT_LOG_DATA);
+    poTransaction.prepareReleasePoChannel();
+    poTransaction.processClosing();
+    return calypsoPo;
+  }
+
+  /** Removes the SEs and unregisters the stub plugin. */
+  public void close() {
+    poReader.removeSe();
+    samReader.removeSe();
+    SeProxyService.getInstance().unregisterPlugin(pluginName);
+  }
+}
@@ -0,0 +1,139 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.AnswerToReset;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinarySeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonSeMessageCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.SeMessageCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Encoding and decoding of the SE messages exchanged by the remote SE plugin */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RemoteSeCodecBenchmark {
+
+  @Param({JsonSeMessageCodec.NAME, BinarySeMessageCodec.NAME})
+  public String codecName;
+
+  private SeMessageCodec codec;
+  private List<SeRequest> seRequests;
+  private List<SeResponse> seResponses;
+  private String encodedSeRequests;
+  private String encodedSeResponses;
+
+  @Setup
+  public void setUp() {
+    codec =
+        JsonSeMessageCodec.NAME.equals(codecName)
+            ? new JsonSeMessageCodec()
+            : new BinarySeMessageCodec();
+
+    /* a selection request followed by a request of two commands, and their responses */
+    List<ApduRequest> selectionApdus = new ArrayList<ApduRequest>();
+    selectionApdus.add(new ApduRequest(ByteArrayUtil.fromHex("00B2014400"), false));
+    List<ApduRequest> apdus = new ArrayList<ApduRequest>();
+    apdus.add(new ApduRequest(ByteArrayUtil.fromHex("008A0B4104C1C2C3C400"), true));
+    apdus.add(
+        new ApduRequest(
+            ByteArrayUtil.fromHex(
+                "00E200401D00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC"),
+            false));
+    seRequests = new ArrayList<SeRequest>();
+    seRequests.add(
+        new SeRequest(
+            SeSelector.builder()
+                .aidSelector(
+                    SeSelector.AidSelector.builder()
+                        .aidToSelect(CalypsoStubEnvironment.AID)
+                        .build())
+                .build(),
+            selectionApdus));
+    seRequests.add(new SeRequest(apdus));
+
+    List<ApduResponse> selectionApduResponses = new ArrayList<ApduResponse>();
+    selectionApduResponses.add(
+        new ApduResponse(
+            ByteArrayUtil.fromHex(
+                "00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000"),
+            null));
+    List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+    apduResponses.add(
+        new ApduResponse(
+            ByteArrayUtil.fromHex(
+                "030490980030791D01112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000"),
+            null));
+    apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex("9000"), null));
+    seResponses = new ArrayList<SeResponse>();
+    seResponses.add(
+        new SeResponse(
+            true,
+            false,
+            new SelectionStatus(
+                new AnswerToReset(ByteArrayUtil.fromHex("3B8880010000000000718100F9")),
+                new ApduResponse(
+                    ByteArrayUtil.fromHex(
+                        "6F238409315449432E49434131A516BF0C13C7080000000011223344"
+                            + "53070A3C23121410019000"),
+                    null),
+                true),
+            selectionApduResponses));
+    seResponses.add(new SeResponse(true, true, null, apduResponses));
+
+    encodedSeRequests = codec.encodeSeRequests(seRequests);
+    encodedSeResponses = codec.encodeSeResponses(seResponses);
+  }
+
+  @Benchmark
+  public String encodeSeRequests() {
+    return codec.encodeSeRequests(seRequests);
+  }
+
+  @Benchmark
+  public List<SeRequest> decodeSeRequests() {
+    return codec.decodeSeRequests(encodedSeRequests);
+  }
+
+  @Benchmark
+  public String encodeSeResponses() {
+    return codec.encodeSeResponses(seResponses);
+  }
+
+  @Benchmark
+  public List<SeResponse> decodeSeResponses() {
+    return codec.decodeSeResponses(encodedSeResponses);
+  }
+}
@@ -0,0 +1,56 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.benchmark.stub;
+
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.stub.StubSecureElement;
+
+/**
+ * Stub of a Calypso rev 3.1 PO answering the commands of the benchmarked selection and secure
+ * session (CalypsoClassic-like file structure)
+ */
+public final class StubCalypsoClassicPo extends StubSecureElement {
+
+  private static final String SE_PROTOCOL = "PROTOCOL_ISO14443_4";
+  private static final String ATR_HEX = "3B8880010000000000718100F9";
+
+  public StubCalypsoClassicPo() {
+    /* Select Application */
+    addHexCommand(
+        "00A4 0400 09 315449432E49434131 00",
+        "6F238409315449432E49434131A516BF0C13C708 0000000011223344 53070A3C23121410019000");
+    /* Read Records - EventLog (SFI=08, recnbr=1)) */
+    addHexCommand("00B2014400", "00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000");
+    /* Open Secure Session V3.1 - Debit key, read EventLog */
+    addHexCommand(
+        "008A0B4104C1C2C3C400",
+        "030490980030791D01112233445566778899AABBCCDDEEFF00112233445566778899AABBCC9000");
+    /* Append Record - EventLog */
+    addHexCommand("00E200401D00112233445566778899AABBCCDDEEFF00112233445566778899AABBCC", "9000");
+    /* Close Secure Session - no ratification asked */
+    addHexCommand("008E0000040506070800", "010203049000");
+    /* Close Secure Session - ratification asked */
+    addHexCommand("008E8000040506070800", "010203049000");
+    /* Ratification */
+    addHexCommand("00B2000000", "6B00");
+  }
+
+  @Override
+  public byte[] getATR() {
+    return ByteArrayUtil.fromHex(ATR_HEX);
+  }
+
+  @Override
+  public String getSeProcotol() {
+    return SE_PROTOCOL;
+  }
+}
@@ -0,0 +1,145 @@
+/* **************************************************************************************
+ * Copyright (c) 2020 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.remotese.pluginse;
+
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.DtoHandler;
+import org.eclipse.keyple.plugin.remotese.transport.DtoNode;
+import org.eclipse.keyple.plugin.remotese.transport.model.DefaultTransportDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Routing of the slave responses to the virtual readers of the master, depending on the number of
+ * connected readers.
+ *
+ * <p>The benchmark is in the package of the plugin to reach {@link
+ * RemoteSePluginImpl#getReaderBySessionId(String)}. The routed responses match no pending
+ * transaction and are ignored by the reader once routed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VirtualReaderRoutingBenchmark {
+
+  private static final String PLUGIN_NAME = "VirtualReaderRoutingBenchmark";
+  private static final String SLAVE_NODE_ID = "slaveNodeId";
+
+  @Param({"10", "100", "1000", "10000"})
+  public int readerCount;
+
+  private ExecutorService executorService;
+  private MasterAPI masterAPI;
+  private RemoteSePluginImpl plugin;
+  private String[] sessionIds;
+  private TransportDto[] responses;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    executorService = Executors.newCachedThreadPool();
+    DtoNode dtoNode = new NoOpDtoNode();
+    masterAPI =
+        new MasterAPI(
+            SeProxyService.getInstance(),
+            dtoNode,
+            MasterAPI.DEFAULT_RPC_TIMEOUT,
+            MasterAPI.PLUGIN_TYPE_DEFAULT,
+            PLUGIN_NAME,
+            executorService);
+    plugin = (RemoteSePluginImpl) masterAPI.getPlugin();
+
+    sessionIds = new String[readerCount];
+    responses = new TransportDto[readerCount];
+    for (int i = 0; i < readerCount; i++) {
+      String nativeReaderName = "nativeReader" + i;
+      VirtualReaderImpl virtualReader =
+          (VirtualReaderImpl)
+              plugin.createVirtualReader(
+                  SLAVE_NODE_ID,
+                  nativeReaderName,
+                  dtoNode,
+                  TransmissionMode.CONTACTLESS,
+                  false,
+                  new HashMap<String, String>());
+      sessionIds[i] = virtualReader.getSession().getSessionId();
+      KeypleDto response =
+          KeypleDtoHelper.buildResponse(
+              RemoteMethodName.READER_TRANSMIT.getName(),
+              "{}",
+              sessionIds[i],
+              nativeReaderName,
+              virtualReader.getName(),
+              SLAVE_NODE_ID,
+              dtoNode.getNodeId(),
+              "unknownTransactionId");
+      responses[i] = new DefaultTransportDto(response);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    SeProxyService.getInstance().unregisterPlugin(PLUGIN_NAME);
+    executorService.shutdownNow();
+  }
+
+  @Benchmark
+  public VirtualReaderImpl getReaderBySessionId() {
+    next = (next + 1) % readerCount;
+    return plugin.getReaderBySessionId(sessionIds[next]);
+  }
+
+  @Benchmark
+  public TransportDto onResponseDto() {
+    next = (next + 1) % readerCount;
+    return masterAPI.onDTO(responses[next]);
+  }
+
+  /** Node of the master, nothing is sent to the slave by the benchmarked operations */
+  private static class NoOpDtoNode implements DtoNode {
+    @Override
+    public void setDtoHandler(DtoHandler handler) {}
+
+    @Override
+    public void sendDTO(TransportDto message) {}
+
+    @Override
+    public void sendDTO(KeypleDto message) {}
+
+    @Override
+    public String getNodeId() {
+      return "masterNodeId";
+    }
+  }
+}